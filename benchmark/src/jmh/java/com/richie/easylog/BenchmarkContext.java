@@ -0,0 +1,54 @@
+package com.richie.easylog;
+
+import android.content.Context;
+import android.content.pm.PackageInfo;
+import android.content.pm.PackageManager;
+
+import java.io.File;
+
+/**
+ * 基准测试使用的 Context，缓存目录在系统临时目录下
+ * Context of benchmarks, the cache directory is under the system temp directory
+ *
+ * @author Richie on 2026.10.17
+ */
+final class BenchmarkContext extends Context {
+    private final File mCacheDir;
+
+    BenchmarkContext(String name) {
+        mCacheDir = new File(System.getProperty("java.io.tmpdir"), "easylog-benchmark/" + name);
+    }
+
+    @Override
+    public Context getApplicationContext() {
+        return this;
+    }
+
+    @Override
+    public File getCacheDir() {
+        return mCacheDir;
+    }
+
+    @Override
+    public File getExternalCacheDir() {
+        return mCacheDir;
+    }
+
+    @Override
+    public PackageManager getPackageManager() {
+        return new PackageManager() {
+            @Override
+            public PackageInfo getPackageInfo(String packageName, int flags) {
+                PackageInfo packageInfo = new PackageInfo();
+                packageInfo.versionName = "benchmark";
+                packageInfo.versionCode = 1;
+                return packageInfo;
+            }
+        };
+    }
+
+    @Override
+    public String getPackageName() {
+        return "com.richie.easylog.benchmark";
+    }
+}
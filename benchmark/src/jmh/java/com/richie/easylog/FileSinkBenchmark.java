@@ -0,0 +1,68 @@
+package com.richie.easylog;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 多个线程写文件日志的吞吐量。队列满时阻塞，稳定后的吞吐量即写线程落盘的速度。
+ * 日志目录使用默认的大小上限，旧文件会被清理
+ * Throughput of file logging from several threads. Producers block when the queue is full, so the steady
+ * throughput is how fast the writer thread drains to disk. The log directory uses the default quota and old
+ * files are evicted
+ *
+ * @author Richie on 2026.10.17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FileSinkBenchmark {
+    private static final String TAG = "FileSinkBenchmark";
+    @Param({"stream", "mmap"})
+    public String mode;
+    @Param({"text", "binary"})
+    public String format;
+
+    @Setup
+    public void setUp() {
+        LoggerFactory.init(new LoggerConfig.Builder()
+                .context(new BenchmarkContext("file-" + mode + "-" + format))
+                .logLevel(LoggerConfig.VERBOSE)
+                .logFileEnabled(true)
+                .callerInfoEnabled(false)
+                .fileMode("mmap".equals(mode) ? LoggerConfig.FILE_MODE_MMAP : LoggerConfig.FILE_MODE_STREAM)
+                .fileFormat("binary".equals(format) ? LoggerConfig.FILE_FORMAT_BINARY : LoggerConfig.FILE_FORMAT_TEXT)
+                .queuePolicy(LoggerConfig.QUEUE_POLICY_BLOCK)
+                .build());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void producers1() {
+        log();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void producers4() {
+        log();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void producers16() {
+        log();
+    }
+
+    private static void log() {
+        LoggerUtils.log(LoggerConfig.INFO, TAG, "order {} paid by {}, amount {}", null, 10086, "alice", 99.5);
+    }
+}
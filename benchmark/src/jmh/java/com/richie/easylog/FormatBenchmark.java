@@ -0,0 +1,76 @@
+package com.richie.easylog;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 格式化 JSON 和 XML 的耗时，输出超过 {@link LoggerConfig#getFormatMaxLength()} 时截断
+ * Time to format JSON and XML, output is truncated beyond {@link LoggerConfig#getFormatMaxLength()}
+ *
+ * @author Richie on 2026.10.17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FormatBenchmark {
+    /**
+     * 输入的字符数
+     * chars of the input
+     */
+    @Param({"1024", "65536", "1048576"})
+    public int size;
+    private LoggerConfig mLoggerConfig;
+    private String mJson;
+    private String mXml;
+
+    @Setup
+    public void setUp() {
+        mLoggerConfig = new LoggerConfig.Builder()
+                .context(new BenchmarkContext("format"))
+                .build();
+        StringBuilder json = new StringBuilder(size + 256);
+        json.append('[');
+        for (int i = 0; json.length() < size; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i)
+                    .append(",\"name\":\"user ").append(i).append("\\t\\\"quoted\\\"\"")
+                    .append(",\"score\":").append(i * 1.5)
+                    .append(",\"active\":").append(i % 2 == 0)
+                    .append(",\"tags\":[\"a\",\"b\",null]")
+                    .append(",\"address\":{\"city\":\"Shanghai\",\"zip\":\"2000").append(i % 100).append("\"}}");
+        }
+        json.append(']');
+        mJson = json.toString();
+        StringBuilder xml = new StringBuilder(size + 256);
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?><users>");
+        for (int i = 0; xml.length() < size; i++) {
+            xml.append("<user id=\"").append(i).append("\" active=\"").append(i % 2 == 0).append("\">")
+                    .append("<name>user ").append(i).append(" &amp; co</name>")
+                    .append("<tags><tag>a</tag><tag>b</tag><empty/></tags>")
+                    .append("<address city=\"Shanghai\"><zip>2000").append(i % 100).append("</zip></address>")
+                    .append("</user>");
+        }
+        xml.append("</users>");
+        mXml = xml.toString();
+    }
+
+    @Benchmark
+    public String json() {
+        return LoggerUtils.formatJson(mLoggerConfig, mJson);
+    }
+
+    @Benchmark
+    public String xml() {
+        return LoggerUtils.formatXml(mLoggerConfig, mXml);
+    }
+}
@@ -0,0 +1,47 @@
+package com.richie.easylog;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LoggerUtils#log} 输出到 logcat 的单条耗时，对比是否查找调用行号
+ * Time per record of {@link LoggerUtils#log} to logcat, with and without the caller line lookup
+ *
+ * @author Richie on 2026.10.17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LogBenchmark {
+    private static final String TAG = "LogBenchmark";
+    @Param({"true", "false"})
+    public boolean callerInfo;
+
+    @Setup
+    public void setUp() {
+        LoggerFactory.init(new LoggerConfig.Builder()
+                .context(new BenchmarkContext("log"))
+                .logLevel(LoggerConfig.VERBOSE)
+                .logcatEnabled(true)
+                .callerInfoEnabled(callerInfo)
+                .build());
+    }
+
+    @Benchmark
+    public void noParams() {
+        LoggerUtils.log(LoggerConfig.DEBUG, TAG, "request finished", null);
+    }
+
+    @Benchmark
+    public void twoParams() {
+        LoggerUtils.log(LoggerConfig.DEBUG, TAG, "request {} finished in {} ms", null, "GET /api/user", 42);
+    }
+}
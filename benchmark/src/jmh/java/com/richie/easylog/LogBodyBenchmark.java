@@ -0,0 +1,86 @@
+package com.richie.easylog;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 渲染日志正文的耗时，0 到 5 个参数以及数组参数，与 {@link LoggerUtils} 渲染正文的方式相同
+ * Time to render the log body with 0 to 5 params and array params, the same way {@link LoggerUtils} does
+ *
+ * @author Richie on 2026.10.17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LogBodyBenchmark {
+    private static final Object[] VALUES = {"alice", 42, 3.14, true, 1234567890123L};
+    /**
+     * 参数个数，或单个数组参数的类型
+     * number of params, or type of a single array param
+     */
+    @Param({"0", "1", "2", "3", "4", "5", "int[]", "byte[]", "Object[]"})
+    public String params;
+    private final StringBuilder mBuilder = new StringBuilder(1024);
+    private ObjectFormatter mFormatter;
+    private String mMessage;
+    private Object[] mParams;
+
+    @Setup
+    public void setUp() {
+        LoggerConfig loggerConfig = new LoggerConfig.Builder()
+                .context(new BenchmarkContext("body"))
+                .build();
+        mFormatter = loggerConfig.getObjectFormatter();
+        switch (params) {
+            case "int[]":
+                int[] ints = new int[64];
+                for (int i = 0; i < ints.length; i++) {
+                    ints[i] = i * 31;
+                }
+                mMessage = "values {}";
+                mParams = new Object[]{ints};
+                break;
+            case "byte[]":
+                byte[] bytes = new byte[256];
+                for (int i = 0; i < bytes.length; i++) {
+                    bytes[i] = (byte) i;
+                }
+                mMessage = "payload {}";
+                mParams = new Object[]{bytes};
+                break;
+            case "Object[]":
+                Object[] objects = new Object[16];
+                for (int i = 0; i < objects.length; i++) {
+                    objects[i] = VALUES[i % VALUES.length];
+                }
+                mMessage = "row {}";
+                mParams = new Object[]{objects};
+                break;
+            default:
+                int count = Integer.parseInt(params);
+                StringBuilder message = new StringBuilder("request");
+                mParams = new Object[count];
+                for (int i = 0; i < count; i++) {
+                    message.append(" field").append(i).append(" {}");
+                    mParams[i] = VALUES[i];
+                }
+                mMessage = message.toString();
+        }
+    }
+
+    @Benchmark
+    public StringBuilder render() {
+        StringBuilder sb = mBuilder;
+        sb.setLength(0);
+        MessageTemplate.get(mMessage).render(sb, mParams, mFormatter);
+        return sb;
+    }
+}
@@ -0,0 +1,59 @@
+package com.richie.easylog;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 长日志按 logcat 字节上限分段输出的耗时，ASCII 和中文字符的 UTF-8 长度不同
+ * Time to print long records to logcat in chunks under the byte limit, ASCII and CJK text differ in UTF-8 length
+ *
+ * @author Richie on 2026.10.17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LogcatChunkBenchmark {
+    private static final String TAG = "LogcatChunkBenchmark";
+    /**
+     * 消息的字符数
+     * chars of the message
+     */
+    @Param({"1000", "8000", "64000"})
+    public int length;
+    @Param({"ascii", "cjk"})
+    public String text;
+    private String mMessage;
+
+    @Setup
+    public void setUp() {
+        LoggerFactory.init(new LoggerConfig.Builder()
+                .context(new BenchmarkContext("logcat"))
+                .logLevel(LoggerConfig.VERBOSE)
+                .logcatEnabled(true)
+                .callerInfoEnabled(false)
+                .build());
+        String line = "ascii".equals(text) ? "The quick brown fox jumps over the lazy dog. " : "敏捷的棕色狐狸跳过了懒狗。";
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; sb.length() < length; i++) {
+            sb.append(line);
+            if (i % 4 == 3) {
+                sb.append('\n');
+            }
+        }
+        sb.setLength(length);
+        mMessage = sb.toString();
+    }
+
+    @Benchmark
+    public void print() {
+        LoggerUtils.log(LoggerConfig.DEBUG, TAG, mMessage, null);
+    }
+}
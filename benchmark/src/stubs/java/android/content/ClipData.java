@@ -0,0 +1,66 @@
+package android.content;
+
+import android.net.Uri;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * android.content.ClipData 的替身
+ * Stand-in of android.content.ClipData
+ *
+ * @author Richie on 2026.10.17
+ */
+public class ClipData {
+    private final List<Item> mItems = new ArrayList<>();
+
+    public ClipData(Item item) {
+        mItems.add(item);
+    }
+
+    public void addItem(Item item) {
+        mItems.add(item);
+    }
+
+    public int getItemCount() {
+        return mItems.size();
+    }
+
+    public Item getItemAt(int index) {
+        return mItems.get(index);
+    }
+
+    public static class Item {
+        private final CharSequence mText;
+        private final String mHtmlText;
+        private final Intent mIntent;
+        private final Uri mUri;
+
+        public Item(CharSequence text) {
+            this(text, null, null, null);
+        }
+
+        public Item(CharSequence text, String htmlText, Intent intent, Uri uri) {
+            mText = text;
+            mHtmlText = htmlText;
+            mIntent = intent;
+            mUri = uri;
+        }
+
+        public CharSequence getText() {
+            return mText;
+        }
+
+        public String getHtmlText() {
+            return mHtmlText;
+        }
+
+        public Intent getIntent() {
+            return mIntent;
+        }
+
+        public Uri getUri() {
+            return mUri;
+        }
+    }
+}
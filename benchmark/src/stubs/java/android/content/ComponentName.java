@@ -0,0 +1,22 @@
+package android.content;
+
+/**
+ * android.content.ComponentName 的替身
+ * Stand-in of android.content.ComponentName
+ *
+ * @author Richie on 2026.10.17
+ */
+public final class ComponentName {
+    private final String mPackage;
+    private final String mClass;
+
+    public ComponentName(String pkg, String cls) {
+        mPackage = pkg;
+        mClass = cls;
+    }
+
+    public String flattenToShortString() {
+        return mClass.startsWith(mPackage + ".")
+                ? mPackage + "/" + mClass.substring(mPackage.length()) : mPackage + "/" + mClass;
+    }
+}
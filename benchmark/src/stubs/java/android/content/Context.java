@@ -0,0 +1,23 @@
+package android.content;
+
+import android.content.pm.PackageManager;
+
+import java.io.File;
+
+/**
+ * android.content.Context 的替身，只包含日志用到的方法
+ * Stand-in of android.content.Context, holds the methods used by the logger only
+ *
+ * @author Richie on 2026.10.17
+ */
+public abstract class Context {
+    public abstract Context getApplicationContext();
+
+    public abstract File getCacheDir();
+
+    public abstract File getExternalCacheDir();
+
+    public abstract PackageManager getPackageManager();
+
+    public abstract String getPackageName();
+}
@@ -0,0 +1,137 @@
+package android.content;
+
+import android.graphics.Rect;
+import android.net.Uri;
+import android.os.Bundle;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * android.content.Intent 的替身，只包含日志读取的字段
+ * Stand-in of android.content.Intent, holds the fields read by the logger only
+ *
+ * @author Richie on 2026.10.17
+ */
+public class Intent {
+    private String mAction;
+    private Set<String> mCategories;
+    private Uri mData;
+    private String mType;
+    private int mFlags;
+    private String mPackage;
+    private ComponentName mComponent;
+    private Rect mSourceBounds;
+    private ClipData mClipData;
+    private Bundle mExtras;
+    private Intent mSelector;
+
+    public Intent() {
+    }
+
+    public Intent(String action) {
+        mAction = action;
+    }
+
+    public Intent(Intent o) {
+        mAction = o.mAction;
+        mCategories = o.mCategories != null ? new LinkedHashSet<>(o.mCategories) : null;
+        mData = o.mData;
+        mType = o.mType;
+        mFlags = o.mFlags;
+        mPackage = o.mPackage;
+        mComponent = o.mComponent;
+        mSourceBounds = o.mSourceBounds;
+        mClipData = o.mClipData;
+        mExtras = o.mExtras != null ? new Bundle(o.mExtras) : null;
+        mSelector = o.mSelector != null ? new Intent(o.mSelector) : null;
+    }
+
+    public String getAction() {
+        return mAction;
+    }
+
+    public Set<String> getCategories() {
+        return mCategories;
+    }
+
+    public Intent addCategory(String category) {
+        if (mCategories == null) {
+            mCategories = new LinkedHashSet<>();
+        }
+        mCategories.add(category);
+        return this;
+    }
+
+    public Uri getData() {
+        return mData;
+    }
+
+    public Intent setData(Uri data) {
+        mData = data;
+        return this;
+    }
+
+    public String getType() {
+        return mType;
+    }
+
+    public int getFlags() {
+        return mFlags;
+    }
+
+    public Intent setFlags(int flags) {
+        mFlags = flags;
+        return this;
+    }
+
+    public String getPackage() {
+        return mPackage;
+    }
+
+    public Intent setPackage(String packageName) {
+        mPackage = packageName;
+        return this;
+    }
+
+    public ComponentName getComponent() {
+        return mComponent;
+    }
+
+    public Intent setComponent(ComponentName component) {
+        mComponent = component;
+        return this;
+    }
+
+    public Rect getSourceBounds() {
+        return mSourceBounds;
+    }
+
+    public ClipData getClipData() {
+        return mClipData;
+    }
+
+    public void setClipData(ClipData clip) {
+        mClipData = clip;
+    }
+
+    public Bundle getExtras() {
+        return mExtras != null ? new Bundle(mExtras) : null;
+    }
+
+    public Intent putExtras(Bundle extras) {
+        if (mExtras == null) {
+            mExtras = new Bundle();
+        }
+        mExtras.putAll(extras);
+        return this;
+    }
+
+    public Intent getSelector() {
+        return mSelector;
+    }
+
+    public void setSelector(Intent selector) {
+        mSelector = selector;
+    }
+}
@@ -0,0 +1,12 @@
+package android.content.pm;
+
+/**
+ * android.content.pm.PackageInfo 的替身
+ * Stand-in of android.content.pm.PackageInfo
+ *
+ * @author Richie on 2026.10.17
+ */
+public class PackageInfo {
+    public String versionName;
+    public int versionCode;
+}
@@ -0,0 +1,17 @@
+package android.content.pm;
+
+/**
+ * android.content.pm.PackageManager 的替身
+ * Stand-in of android.content.pm.PackageManager
+ *
+ * @author Richie on 2026.10.17
+ */
+public abstract class PackageManager {
+    public abstract PackageInfo getPackageInfo(String packageName, int flags) throws NameNotFoundException;
+
+    public static class NameNotFoundException extends Exception {
+        public NameNotFoundException(String name) {
+            super(name);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package android.graphics;
+
+/**
+ * android.graphics.Rect 的替身
+ * Stand-in of android.graphics.Rect
+ *
+ * @author Richie on 2026.10.17
+ */
+public final class Rect {
+    public int left;
+    public int top;
+    public int right;
+    public int bottom;
+
+    public String toShortString() {
+        return "[" + left + "," + top + "][" + right + "," + bottom + "]";
+    }
+}
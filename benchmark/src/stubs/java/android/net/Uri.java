@@ -0,0 +1,24 @@
+package android.net;
+
+/**
+ * android.net.Uri 的替身
+ * Stand-in of android.net.Uri
+ *
+ * @author Richie on 2026.10.17
+ */
+public final class Uri {
+    private final String mString;
+
+    private Uri(String string) {
+        mString = string;
+    }
+
+    public static Uri parse(String uriString) {
+        return new Uri(uriString);
+    }
+
+    @Override
+    public String toString() {
+        return mString;
+    }
+}
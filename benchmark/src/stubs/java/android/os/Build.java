@@ -0,0 +1,25 @@
+package android.os;
+
+/**
+ * android.os.Build 的替身，取值来自 JVM
+ * Stand-in of android.os.Build, values come from the JVM
+ *
+ * @author Richie on 2026.10.17
+ */
+public final class Build {
+    public static final String MANUFACTURER = System.getProperty("java.vendor");
+    public static final String MODEL = System.getProperty("os.name") + " " + System.getProperty("os.arch");
+
+    private Build() {
+    }
+
+    public static class VERSION {
+        public static final String RELEASE = System.getProperty("java.version");
+        public static final int SDK_INT = 28;
+    }
+
+    public static class VERSION_CODES {
+        public static final int ICE_CREAM_SANDWICH_MR1 = 15;
+        public static final int JELLY_BEAN = 16;
+    }
+}
@@ -0,0 +1,67 @@
+package android.os;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * android.os.Bundle 的替身，按插入顺序保存
+ * Stand-in of android.os.Bundle, keeps insertion order
+ *
+ * @author Richie on 2026.10.17
+ */
+public final class Bundle {
+    private final Map<String, Object> mMap;
+
+    public Bundle() {
+        mMap = new LinkedHashMap<>();
+    }
+
+    public Bundle(Bundle b) {
+        mMap = new LinkedHashMap<>(b.mMap);
+    }
+
+    public int size() {
+        return mMap.size();
+    }
+
+    public Set<String> keySet() {
+        return mMap.keySet();
+    }
+
+    public Object get(String key) {
+        return mMap.get(key);
+    }
+
+    public void putAll(Bundle bundle) {
+        mMap.putAll(bundle.mMap);
+    }
+
+    public void putString(String key, String value) {
+        mMap.put(key, value);
+    }
+
+    public void putInt(String key, int value) {
+        mMap.put(key, value);
+    }
+
+    public void putLong(String key, long value) {
+        mMap.put(key, value);
+    }
+
+    public void putBoolean(String key, boolean value) {
+        mMap.put(key, value);
+    }
+
+    public void putIntArray(String key, int[] value) {
+        mMap.put(key, value);
+    }
+
+    public void putByteArray(String key, byte[] value) {
+        mMap.put(key, value);
+    }
+
+    public void putBundle(String key, Bundle value) {
+        mMap.put(key, value);
+    }
+}
@@ -0,0 +1,18 @@
+package android.os;
+
+/**
+ * android.os.Process 的替身，线程优先级不生效
+ * Stand-in of android.os.Process, thread priority has no effect
+ *
+ * @author Richie on 2026.10.17
+ */
+public final class Process {
+    public static final int THREAD_PRIORITY_BACKGROUND = 10;
+    public static final int THREAD_PRIORITY_LOWEST = 19;
+
+    private Process() {
+    }
+
+    public static void setThreadPriority(int priority) {
+    }
+}
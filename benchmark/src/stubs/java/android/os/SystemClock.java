@@ -0,0 +1,18 @@
+package android.os;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * android.os.SystemClock 的替身
+ * Stand-in of android.os.SystemClock
+ *
+ * @author Richie on 2026.10.17
+ */
+public final class SystemClock {
+    private SystemClock() {
+    }
+
+    public static long elapsedRealtime() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    }
+}
@@ -0,0 +1,32 @@
+package android.util;
+
+import org.kxml2.io.KXmlParser;
+import org.xmlpull.v1.XmlPullParser;
+import org.xmlpull.v1.XmlPullParserException;
+
+/**
+ * android.util.Xml 的替身，与 Android 一样使用 kXML2
+ * Stand-in of android.util.Xml, backed by kXML2 like Android
+ *
+ * @author Richie on 2026.10.17
+ */
+public final class Xml {
+    private Xml() {
+    }
+
+    public static XmlPullParser newPullParser() {
+        KXmlParser parser = new KXmlParser();
+        try {
+            // kXML2 2.3.0 不支持该特性，Android 内置的 kXML 支持
+            // not supported by kXML2 2.3.0, only by the kXML built into Android
+            parser.setFeature(XmlPullParser.FEATURE_PROCESS_DOCDECL, true);
+        } catch (XmlPullParserException ignored) {
+        }
+        try {
+            parser.setFeature(XmlPullParser.FEATURE_PROCESS_NAMESPACES, true);
+        } catch (XmlPullParserException e) {
+            throw new AssertionError(e);
+        }
+        return parser;
+    }
+}
@@ -12,24 +12,297 @@ final class AndroidLogger implements ILogger {
      * Log tag
      */
     private final String mTag;
+    /**
+     * 绑定的配置，重新初始化时更新
+     * bound config, updated when LoggerFactory is initialized again
+     */
+    private volatile LoggerConfig mLoggerConfig;
+    /**
+     * 缓存的生效级别，高 32 位为级别表版本号，低 32 位为级别，版本号变化后重新计算
+     * cached effective level, high 32 bits are the level table version and low 32 bits the level,
+     * resolved again once the version changes
+     */
+    private volatile long mLevelState;
 
-    AndroidLogger(String tag) {
+    AndroidLogger(String tag, LoggerConfig loggerConfig) {
         mTag = tag;
+        mLoggerConfig = loggerConfig;
+    }
+
+    void bind(LoggerConfig loggerConfig) {
+        mLoggerConfig = loggerConfig;
+    }
+
+    LoggerConfig getLoggerConfig() {
+        return mLoggerConfig;
+    }
+
+    private boolean isLoggable(int level) {
+        LoggerConfig loggerConfig = mLoggerConfig;
+        // 先读版本号再读级别表，版本号在每次修改后唯一，不会把旧级别当作新版本缓存
+        int generation = loggerConfig.getLevelGeneration();
+        long levelState = mLevelState;
+        if ((int) (levelState >>> 32) != generation) {
+            levelState = ((long) generation << 32) | (loggerConfig.getLogLevel(mTag) & 0xFFFFFFFFL);
+            mLevelState = levelState;
+        }
+        return level >= (int) levelState;
+    }
+
+    @Override
+    public boolean isVerboseEnabled() {
+        return isLoggable(LoggerConfig.VERBOSE);
+    }
+
+    @Override
+    public boolean isDebugEnabled() {
+        return isLoggable(LoggerConfig.DEBUG);
+    }
+
+    @Override
+    public boolean isInfoEnabled() {
+        return isLoggable(LoggerConfig.INFO);
+    }
+
+    @Override
+    public boolean isWarnEnabled() {
+        return isLoggable(LoggerConfig.WARN);
+    }
+
+    @Override
+    public boolean isErrorEnabled() {
+        return isLoggable(LoggerConfig.ERROR);
     }
 
     @Override
     public void verbose(String message, Object... params) {
-        LoggerUtils.log(LoggerConfig.VERBOSE, mTag, message, null, params);
+        if (isLoggable(LoggerConfig.VERBOSE)) {
+            LoggerUtils.log(LoggerConfig.VERBOSE, mTag, message, null, params);
+        }
+    }
+
+    @Override
+    public void verbose(String message, Object param) {
+        if (isVerboseEnabled()) {
+            LoggerUtils.log(LoggerConfig.VERBOSE, mTag, message, null, param);
+        }
+    }
+
+    @Override
+    public void verbose(String message, Object param1, Object param2) {
+        if (isVerboseEnabled()) {
+            LoggerUtils.log(LoggerConfig.VERBOSE, mTag, message, null, param1, param2);
+        }
+    }
+
+    @Override
+    public void verbose(String message, Object param1, Object param2, Object param3) {
+        if (isVerboseEnabled()) {
+            LoggerUtils.log(LoggerConfig.VERBOSE, mTag, message, null, param1, param2, param3);
+        }
+    }
+
+    @Override
+    public void verbose(String message, int value) {
+        if (isVerboseEnabled()) {
+            LoggerUtils.logPrimitive(LoggerConfig.VERBOSE, mTag, message, PrimitiveParam.TYPE_INT, value);
+        }
+    }
+
+    @Override
+    public void verbose(String message, long value) {
+        if (isVerboseEnabled()) {
+            LoggerUtils.logPrimitive(LoggerConfig.VERBOSE, mTag, message, PrimitiveParam.TYPE_LONG, value);
+        }
+    }
+
+    @Override
+    public void verbose(String message, float value) {
+        if (isVerboseEnabled()) {
+            LoggerUtils.logPrimitive(LoggerConfig.VERBOSE, mTag, message, PrimitiveParam.TYPE_FLOAT, Double.doubleToRawLongBits(value));
+        }
+    }
+
+    @Override
+    public void verbose(String message, double value) {
+        if (isVerboseEnabled()) {
+            LoggerUtils.logPrimitive(LoggerConfig.VERBOSE, mTag, message, PrimitiveParam.TYPE_DOUBLE, Double.doubleToRawLongBits(value));
+        }
+    }
+
+    @Override
+    public void verbose(String message, boolean value) {
+        if (isVerboseEnabled()) {
+            LoggerUtils.logPrimitive(LoggerConfig.VERBOSE, mTag, message, PrimitiveParam.TYPE_BOOLEAN, value ? 1 : 0);
+        }
+    }
+
+    @Override
+    public void verbose(String message, char value) {
+        if (isVerboseEnabled()) {
+            LoggerUtils.logPrimitive(LoggerConfig.VERBOSE, mTag, message, PrimitiveParam.TYPE_CHAR, value);
+        }
+    }
+
+    @Override
+    public void verbose(MessageSupplier supplier) {
+        if (isVerboseEnabled()) {
+            LoggerUtils.log(LoggerConfig.VERBOSE, mTag, supplier != null ? supplier.get() : null, null);
+        }
     }
 
     @Override
     public void debug(String message, Object... params) {
-        LoggerUtils.log(LoggerConfig.DEBUG, mTag, message, null, params);
+        if (isLoggable(LoggerConfig.DEBUG)) {
+            LoggerUtils.log(LoggerConfig.DEBUG, mTag, message, null, params);
+        }
+    }
+
+    @Override
+    public void debug(String message, Object param) {
+        if (isDebugEnabled()) {
+            LoggerUtils.log(LoggerConfig.DEBUG, mTag, message, null, param);
+        }
+    }
+
+    @Override
+    public void debug(String message, Object param1, Object param2) {
+        if (isDebugEnabled()) {
+            LoggerUtils.log(LoggerConfig.DEBUG, mTag, message, null, param1, param2);
+        }
+    }
+
+    @Override
+    public void debug(String message, Object param1, Object param2, Object param3) {
+        if (isDebugEnabled()) {
+            LoggerUtils.log(LoggerConfig.DEBUG, mTag, message, null, param1, param2, param3);
+        }
+    }
+
+    @Override
+    public void debug(String message, int value) {
+        if (isDebugEnabled()) {
+            LoggerUtils.logPrimitive(LoggerConfig.DEBUG, mTag, message, PrimitiveParam.TYPE_INT, value);
+        }
+    }
+
+    @Override
+    public void debug(String message, long value) {
+        if (isDebugEnabled()) {
+            LoggerUtils.logPrimitive(LoggerConfig.DEBUG, mTag, message, PrimitiveParam.TYPE_LONG, value);
+        }
+    }
+
+    @Override
+    public void debug(String message, float value) {
+        if (isDebugEnabled()) {
+            LoggerUtils.logPrimitive(LoggerConfig.DEBUG, mTag, message, PrimitiveParam.TYPE_FLOAT, Double.doubleToRawLongBits(value));
+        }
+    }
+
+    @Override
+    public void debug(String message, double value) {
+        if (isDebugEnabled()) {
+            LoggerUtils.logPrimitive(LoggerConfig.DEBUG, mTag, message, PrimitiveParam.TYPE_DOUBLE, Double.doubleToRawLongBits(value));
+        }
+    }
+
+    @Override
+    public void debug(String message, boolean value) {
+        if (isDebugEnabled()) {
+            LoggerUtils.logPrimitive(LoggerConfig.DEBUG, mTag, message, PrimitiveParam.TYPE_BOOLEAN, value ? 1 : 0);
+        }
+    }
+
+    @Override
+    public void debug(String message, char value) {
+        if (isDebugEnabled()) {
+            LoggerUtils.logPrimitive(LoggerConfig.DEBUG, mTag, message, PrimitiveParam.TYPE_CHAR, value);
+        }
+    }
+
+    @Override
+    public void debug(MessageSupplier supplier) {
+        if (isDebugEnabled()) {
+            LoggerUtils.log(LoggerConfig.DEBUG, mTag, supplier != null ? supplier.get() : null, null);
+        }
     }
 
     @Override
     public void info(String message, Object... params) {
-        LoggerUtils.log(LoggerConfig.INFO, mTag, message, null, params);
+        if (isLoggable(LoggerConfig.INFO)) {
+            LoggerUtils.log(LoggerConfig.INFO, mTag, message, null, params);
+        }
+    }
+
+    @Override
+    public void info(String message, Object param) {
+        if (isInfoEnabled()) {
+            LoggerUtils.log(LoggerConfig.INFO, mTag, message, null, param);
+        }
+    }
+
+    @Override
+    public void info(String message, Object param1, Object param2) {
+        if (isInfoEnabled()) {
+            LoggerUtils.log(LoggerConfig.INFO, mTag, message, null, param1, param2);
+        }
+    }
+
+    @Override
+    public void info(String message, Object param1, Object param2, Object param3) {
+        if (isInfoEnabled()) {
+            LoggerUtils.log(LoggerConfig.INFO, mTag, message, null, param1, param2, param3);
+        }
+    }
+
+    @Override
+    public void info(String message, int value) {
+        if (isInfoEnabled()) {
+            LoggerUtils.logPrimitive(LoggerConfig.INFO, mTag, message, PrimitiveParam.TYPE_INT, value);
+        }
+    }
+
+    @Override
+    public void info(String message, long value) {
+        if (isInfoEnabled()) {
+            LoggerUtils.logPrimitive(LoggerConfig.INFO, mTag, message, PrimitiveParam.TYPE_LONG, value);
+        }
+    }
+
+    @Override
+    public void info(String message, float value) {
+        if (isInfoEnabled()) {
+            LoggerUtils.logPrimitive(LoggerConfig.INFO, mTag, message, PrimitiveParam.TYPE_FLOAT, Double.doubleToRawLongBits(value));
+        }
+    }
+
+    @Override
+    public void info(String message, double value) {
+        if (isInfoEnabled()) {
+            LoggerUtils.logPrimitive(LoggerConfig.INFO, mTag, message, PrimitiveParam.TYPE_DOUBLE, Double.doubleToRawLongBits(value));
+        }
+    }
+
+    @Override
+    public void info(String message, boolean value) {
+        if (isInfoEnabled()) {
+            LoggerUtils.logPrimitive(LoggerConfig.INFO, mTag, message, PrimitiveParam.TYPE_BOOLEAN, value ? 1 : 0);
+        }
+    }
+
+    @Override
+    public void info(String message, char value) {
+        if (isInfoEnabled()) {
+            LoggerUtils.logPrimitive(LoggerConfig.INFO, mTag, message, PrimitiveParam.TYPE_CHAR, value);
+        }
+    }
+
+    @Override
+    public void info(MessageSupplier supplier) {
+        if (isInfoEnabled()) {
+            LoggerUtils.log(LoggerConfig.INFO, mTag, supplier != null ? supplier.get() : null, null);
+        }
     }
 
     @Override
@@ -39,12 +312,86 @@ final class AndroidLogger implements ILogger {
 
     @Override
     public void warn(String message, Throwable throwable) {
-        LoggerUtils.log(LoggerConfig.WARN, mTag, message, throwable);
+        if (isLoggable(LoggerConfig.WARN)) {
+            LoggerUtils.log(LoggerConfig.WARN, mTag, message, throwable);
+        }
     }
 
     @Override
     public void warn(String message, Object... params) {
-        LoggerUtils.log(LoggerConfig.WARN, mTag, message, null, params);
+        if (isLoggable(LoggerConfig.WARN)) {
+            LoggerUtils.log(LoggerConfig.WARN, mTag, message, null, params);
+        }
+    }
+
+    @Override
+    public void warn(String message, Object param) {
+        if (isWarnEnabled()) {
+            LoggerUtils.log(LoggerConfig.WARN, mTag, message, null, param);
+        }
+    }
+
+    @Override
+    public void warn(String message, Object param1, Object param2) {
+        if (isWarnEnabled()) {
+            LoggerUtils.log(LoggerConfig.WARN, mTag, message, null, param1, param2);
+        }
+    }
+
+    @Override
+    public void warn(String message, Object param1, Object param2, Object param3) {
+        if (isWarnEnabled()) {
+            LoggerUtils.log(LoggerConfig.WARN, mTag, message, null, param1, param2, param3);
+        }
+    }
+
+    @Override
+    public void warn(String message, int value) {
+        if (isWarnEnabled()) {
+            LoggerUtils.logPrimitive(LoggerConfig.WARN, mTag, message, PrimitiveParam.TYPE_INT, value);
+        }
+    }
+
+    @Override
+    public void warn(String message, long value) {
+        if (isWarnEnabled()) {
+            LoggerUtils.logPrimitive(LoggerConfig.WARN, mTag, message, PrimitiveParam.TYPE_LONG, value);
+        }
+    }
+
+    @Override
+    public void warn(String message, float value) {
+        if (isWarnEnabled()) {
+            LoggerUtils.logPrimitive(LoggerConfig.WARN, mTag, message, PrimitiveParam.TYPE_FLOAT, Double.doubleToRawLongBits(value));
+        }
+    }
+
+    @Override
+    public void warn(String message, double value) {
+        if (isWarnEnabled()) {
+            LoggerUtils.logPrimitive(LoggerConfig.WARN, mTag, message, PrimitiveParam.TYPE_DOUBLE, Double.doubleToRawLongBits(value));
+        }
+    }
+
+    @Override
+    public void warn(String message, boolean value) {
+        if (isWarnEnabled()) {
+            LoggerUtils.logPrimitive(LoggerConfig.WARN, mTag, message, PrimitiveParam.TYPE_BOOLEAN, value ? 1 : 0);
+        }
+    }
+
+    @Override
+    public void warn(String message, char value) {
+        if (isWarnEnabled()) {
+            LoggerUtils.logPrimitive(LoggerConfig.WARN, mTag, message, PrimitiveParam.TYPE_CHAR, value);
+        }
+    }
+
+    @Override
+    public void warn(MessageSupplier supplier) {
+        if (isWarnEnabled()) {
+            LoggerUtils.log(LoggerConfig.WARN, mTag, supplier != null ? supplier.get() : null, null);
+        }
     }
 
     @Override
@@ -54,26 +401,100 @@ final class AndroidLogger implements ILogger {
 
     @Override
     public void error(String message, Throwable throwable) {
-        LoggerUtils.log(LoggerConfig.ERROR, mTag, message, throwable);
+        if (isLoggable(LoggerConfig.ERROR)) {
+            LoggerUtils.log(LoggerConfig.ERROR, mTag, message, throwable);
+        }
     }
 
     @Override
     public void error(String message, Object... params) {
-        LoggerUtils.log(LoggerConfig.ERROR, mTag, message, null, params);
+        if (isLoggable(LoggerConfig.ERROR)) {
+            LoggerUtils.log(LoggerConfig.ERROR, mTag, message, null, params);
+        }
+    }
+
+    @Override
+    public void error(String message, Object param) {
+        if (isErrorEnabled()) {
+            LoggerUtils.log(LoggerConfig.ERROR, mTag, message, null, param);
+        }
+    }
+
+    @Override
+    public void error(String message, Object param1, Object param2) {
+        if (isErrorEnabled()) {
+            LoggerUtils.log(LoggerConfig.ERROR, mTag, message, null, param1, param2);
+        }
+    }
+
+    @Override
+    public void error(String message, Object param1, Object param2, Object param3) {
+        if (isErrorEnabled()) {
+            LoggerUtils.log(LoggerConfig.ERROR, mTag, message, null, param1, param2, param3);
+        }
+    }
+
+    @Override
+    public void error(String message, int value) {
+        if (isErrorEnabled()) {
+            LoggerUtils.logPrimitive(LoggerConfig.ERROR, mTag, message, PrimitiveParam.TYPE_INT, value);
+        }
+    }
+
+    @Override
+    public void error(String message, long value) {
+        if (isErrorEnabled()) {
+            LoggerUtils.logPrimitive(LoggerConfig.ERROR, mTag, message, PrimitiveParam.TYPE_LONG, value);
+        }
+    }
+
+    @Override
+    public void error(String message, float value) {
+        if (isErrorEnabled()) {
+            LoggerUtils.logPrimitive(LoggerConfig.ERROR, mTag, message, PrimitiveParam.TYPE_FLOAT, Double.doubleToRawLongBits(value));
+        }
+    }
+
+    @Override
+    public void error(String message, double value) {
+        if (isErrorEnabled()) {
+            LoggerUtils.logPrimitive(LoggerConfig.ERROR, mTag, message, PrimitiveParam.TYPE_DOUBLE, Double.doubleToRawLongBits(value));
+        }
+    }
+
+    @Override
+    public void error(String message, boolean value) {
+        if (isErrorEnabled()) {
+            LoggerUtils.logPrimitive(LoggerConfig.ERROR, mTag, message, PrimitiveParam.TYPE_BOOLEAN, value ? 1 : 0);
+        }
+    }
+
+    @Override
+    public void error(String message, char value) {
+        if (isErrorEnabled()) {
+            LoggerUtils.logPrimitive(LoggerConfig.ERROR, mTag, message, PrimitiveParam.TYPE_CHAR, value);
+        }
+    }
+
+    @Override
+    public void error(MessageSupplier supplier) {
+        if (isErrorEnabled()) {
+            LoggerUtils.log(LoggerConfig.ERROR, mTag, supplier != null ? supplier.get() : null, null);
+        }
     }
 
     @Override
     public String json(String json) {
-        return LoggerUtils.formatJson(json);
+        return LoggerUtils.formatJson(mLoggerConfig, json);
     }
 
     @Override
     public String xml(String xml) {
-        return LoggerUtils.formatXml(xml);
+        return LoggerUtils.formatXml(mLoggerConfig, xml);
     }
 
     @Override
     public String stackTrack(Throwable throwable) {
-        return LoggerUtils.getStackTraceString(throwable);
+        return throwable != null ? LoggerUtils.renderThrowable(mLoggerConfig, throwable).text : "";
     }
 }
\ No newline at end of file
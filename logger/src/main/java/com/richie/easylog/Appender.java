@@ -0,0 +1,31 @@
+package com.richie.easylog;
+
+import java.io.IOException;
+
+/**
+ * 日志输出目标，通过 {@link AppenderConfig} 注册。每个 appender 有独立的队列和工作线程，慢的输出不会阻塞调用方和 logcat
+ * Log output target registered by {@link AppenderConfig}. Each appender has its own queue and worker thread,
+ * so a slow target never blocks the caller or logcat
+ *
+ * @author Richie on 2026.10.17
+ */
+public interface Appender {
+
+    /**
+     * 输出一条日志，在 appender 的工作线程调用
+     * Output a record, called on the worker thread of the appender
+     *
+     * @param event   日志
+     * @param content 按 {@link LogFormatter} 格式化的文本，只在本次调用内有效
+     * @throws IOException 输出失败，记录后继续处理下一条
+     */
+    void append(LogEvent event, CharSequence content) throws IOException;
+
+    /**
+     * 队列空闲时调用，刷出缓冲的内容
+     * Called when the queue is idle, flush buffered content
+     *
+     * @throws IOException 刷出失败
+     */
+    void flush() throws IOException;
+}
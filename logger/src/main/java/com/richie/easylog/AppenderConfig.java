@@ -0,0 +1,131 @@
+package com.richie.easylog;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * appender 的配置，包含级别和 tag 过滤、格式和队列。通过 {@link LoggerConfig.Builder#appender(AppenderConfig)} 注册
+ * Config of an appender, holds the level and tag filter, formatter and queue.
+ * Registered by {@link LoggerConfig.Builder#appender(AppenderConfig)}
+ *
+ * @author Richie on 2026.10.17
+ */
+public final class AppenderConfig {
+    /**
+     * 队列默认容量
+     * Default queue capacity
+     */
+    private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    private Appender mAppender;
+    /**
+     * 级别表，tag 低于对应级别的日志不交给 appender
+     * level table, records below the level of their tag are not handed to the appender
+     */
+    private LogLevelTable mLevelTable;
+    private LogFormatter mFormatter;
+    private int mQueueCapacity;
+    private int mQueuePolicy;
+    private int mQueueDropLevel;
+
+    private AppenderConfig() {
+    }
+
+    public Appender getAppender() {
+        return mAppender;
+    }
+
+    public boolean isLoggable(String tag, int level) {
+        return level >= mLevelTable.getLevel(tag);
+    }
+
+    public LogFormatter getFormatter() {
+        return mFormatter;
+    }
+
+    public int getQueueCapacity() {
+        return mQueueCapacity;
+    }
+
+    public int getQueuePolicy() {
+        return mQueuePolicy;
+    }
+
+    public int getQueueDropLevel() {
+        return mQueueDropLevel;
+    }
+
+    public static class Builder {
+        private final Appender mAppender;
+        private int mLogLevel = LoggerConfig.VERBOSE;
+        private final Map<String, Integer> mTagLevels = new LinkedHashMap<>();
+        private LogFormatter mFormatter = LogFormatter.TEXT;
+        private int mQueueCapacity = DEFAULT_QUEUE_CAPACITY;
+        private int mQueuePolicy = LoggerConfig.QUEUE_POLICY_DROP_NEWEST;
+        private int mQueueDropLevel = LoggerConfig.WARN;
+
+        public Builder(Appender appender) {
+            if (appender == null) {
+                throw new NullPointerException("Appender can't be null");
+            }
+            mAppender = appender;
+        }
+
+        public AppenderConfig build() {
+            AppenderConfig appenderConfig = new AppenderConfig();
+            appenderConfig.mAppender = mAppender;
+            appenderConfig.mLevelTable = new LogLevelTable(mLogLevel, mTagLevels);
+            appenderConfig.mFormatter = mFormatter != null ? mFormatter : LogFormatter.TEXT;
+            appenderConfig.mQueueCapacity = mQueueCapacity > 0 ? mQueueCapacity : DEFAULT_QUEUE_CAPACITY;
+            appenderConfig.mQueuePolicy = mQueuePolicy;
+            appenderConfig.mQueueDropLevel = mQueueDropLevel;
+            return appenderConfig;
+        }
+
+        /**
+         * 默认级别，设为 {@link LoggerConfig#OFF} 时只输出 {@link #tagLevel(String, int)} 指定的 tag
+         * Default level, only tags given by {@link #tagLevel(String, int)} are output when it's
+         * {@link LoggerConfig#OFF}
+         */
+        public Builder logLevel(int logLevel) {
+            mLogLevel = logLevel;
+            return this;
+        }
+
+        /**
+         * 设置 tag 的级别，以 * 结尾时按前缀匹配
+         * Set level of a tag, a tag ending with * matches by prefix
+         */
+        public Builder tagLevel(String tag, int level) {
+            if (tag != null) {
+                mTagLevels.put(tag, level);
+            }
+            return this;
+        }
+
+        public Builder formatter(LogFormatter formatter) {
+            mFormatter = formatter;
+            return this;
+        }
+
+        public Builder queueCapacity(int queueCapacity) {
+            mQueueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * 队列满时的处理，默认丢弃新日志，不阻塞调用方
+         * Policy when the queue is full, the new record is dropped by default so the caller never blocks
+         *
+         * @param queuePolicy {@link LoggerConfig#QUEUE_POLICY_BLOCK} 等
+         */
+        public Builder queuePolicy(int queuePolicy) {
+            mQueuePolicy = queuePolicy;
+            return this;
+        }
+
+        public Builder queueDropLevel(int queueDropLevel) {
+            mQueueDropLevel = queueDropLevel;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.richie.easylog;
+
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * appender 的工作线程，有独立的有界队列，第一次入队时启动，队列空闲时刷出
+ * Worker thread of an appender with its own bounded queue, started on first enqueue and flushed when idle
+ *
+ * @author Richie on 2026.10.17
+ */
+final class AppenderWorker implements Runnable {
+    /**
+     * 单批次最多处理的日志条数
+     * max records handled per batch
+     */
+    private static final int MAX_BATCH_SIZE = 256;
+    private static final int INITIAL_BUILDER_SIZE = 1024;
+    private static final int MAX_RETAINED_BUILDER_SIZE = 64 * 1024;
+    /**
+     * 停止标记，不中断线程，避免关闭 appender 中可中断的通道
+     * stop marker, the thread is not interrupted so interruptible channels of the appender stay open
+     */
+    private static final LogEvent STOP = new LogEvent(0, null, 0, null, 0, null, null);
+    private final AppenderConfig mConfig;
+    /**
+     * 直接记录的 appender，不需要队列和工作线程
+     * appender recording directly, needs no queue and worker thread
+     */
+    private final EventRecorder mRecorder;
+    /**
+     * 日志队列，直接记录的 appender 没有队列
+     * record queue, null for appenders recording directly
+     */
+    private final BlockingQueue<LogEvent> mQueue;
+    /**
+     * 队列满时丢弃的日志条数，下一批次开始时输出
+     * records dropped since the queue is full, reported at the start of next batch
+     */
+    private final AtomicLong mDroppedCount = new AtomicLong();
+    private final List<LogEvent> mBatch = new ArrayList<>(MAX_BATCH_SIZE);
+    private final LogMetrics.Sink mMetrics = new LogMetrics.Sink();
+    /**
+     * 当前批次是否记录统计，只在工作线程访问
+     * whether the current batch records statistics, accessed by worker thread only
+     */
+    private boolean mStatsEnabled;
+    private StringBuilder mContentBuilder = new StringBuilder(INITIAL_BUILDER_SIZE);
+    private volatile Thread mThread;
+    private volatile boolean mStopped;
+
+    AppenderWorker(AppenderConfig config) {
+        mConfig = config;
+        Appender appender = config.getAppender();
+        mRecorder = appender instanceof EventRecorder ? (EventRecorder) appender : null;
+        mQueue = mRecorder != null ? null : new ArrayBlockingQueue<LogEvent>(config.getQueueCapacity());
+    }
+
+    boolean isLoggable(String tag, int level) {
+        return mConfig.isLoggable(tag, level);
+    }
+
+    /**
+     * appender 的类名，用于线程名和统计
+     * class name of the appender, used by thread name and statistics
+     */
+    String getName() {
+        String name = mConfig.getAppender().getClass().getSimpleName();
+        return name.length() != 0 ? name : "Appender";
+    }
+
+    LogMetrics.Sink getMetrics() {
+        return mMetrics;
+    }
+
+    int getQueueSize() {
+        return mRecorder != null ? 0 : mQueue.size();
+    }
+
+    int getQueueCapacity() {
+        return mRecorder != null ? 0 : mQueue.size() + mQueue.remainingCapacity();
+    }
+
+    void enqueue(LogEvent event) {
+        if (mRecorder != null) {
+            mRecorder.record(event);
+            return;
+        }
+        if ((mThread == null && !start()) || mStopped) {
+            return;
+        }
+        if (mQueue.offer(event)) {
+            return;
+        }
+        boolean stats = LoggerFactory.getLoggerConfig().isStatsEnabled();
+        if (stats) {
+            mMetrics.recordQueueDepth(getQueueCapacity());
+        }
+        switch (mConfig.getQueuePolicy()) {
+            case LoggerConfig.QUEUE_POLICY_BLOCK:
+                put(event, stats);
+                break;
+            case LoggerConfig.QUEUE_POLICY_DROP_OLDEST:
+                while (!mQueue.offer(event)) {
+                    if (mQueue.poll() != null) {
+                        drop(stats);
+                    }
+                }
+                break;
+            case LoggerConfig.QUEUE_POLICY_DROP_BELOW_LEVEL:
+                if (event.getLevel() >= mConfig.getQueueDropLevel()) {
+                    put(event, stats);
+                } else {
+                    drop(stats);
+                }
+                break;
+            case LoggerConfig.QUEUE_POLICY_DROP_NEWEST:
+            default:
+                drop(stats);
+        }
+    }
+
+    private void put(LogEvent event, boolean stats) {
+        try {
+            mQueue.put(event);
+        } catch (InterruptedException e) {
+            drop(stats);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drop(boolean stats) {
+        mDroppedCount.incrementAndGet();
+        if (stats) {
+            mMetrics.recordDropped();
+        }
+    }
+
+    /**
+     * 启动工作线程，已停止时返回 false
+     * Start the worker thread, returns false if it's stopped
+     */
+    private synchronized boolean start() {
+        if (mStopped) {
+            return false;
+        }
+        if (mThread == null) {
+            mThread = new Thread(this, "EasyLog-Appender-" + getName());
+            mThread.setDaemon(true);
+            mThread.start();
+        }
+        return true;
+    }
+
+    /**
+     * 停止工作线程，队列中剩余的日志输出后退出
+     * Stop the worker thread, it exits after the remaining records are output
+     */
+    synchronized void stop() {
+        mStopped = true;
+        if (mThread != null) {
+            // 队列满时无法放入标记，工作线程处理完当前批次后检查停止状态
+            mQueue.offer(STOP);
+        }
+    }
+
+    @Override
+    public void run() {
+        while (true) {
+            LogEvent first;
+            try {
+                first = mQueue.take();
+            } catch (InterruptedException e) {
+                first = STOP;
+            }
+            boolean stop = first == STOP;
+            mStatsEnabled = LoggerFactory.getLoggerConfig().isStatsEnabled();
+            if (!stop) {
+                if (mStatsEnabled) {
+                    mMetrics.recordQueueDepth(mQueue.size());
+                }
+                mBatch.add(first);
+                mQueue.drainTo(mBatch, MAX_BATCH_SIZE - 1);
+            }
+            writeBatch();
+            if (stop || (mStopped && mQueue.isEmpty())) {
+                flush();
+                return;
+            }
+            if (mQueue.isEmpty()) {
+                flush();
+            }
+        }
+    }
+
+    private void writeBatch() {
+        long droppedCount = mDroppedCount.getAndSet(0);
+        if (droppedCount > 0) {
+            // 与 LogFileWriter 的丢弃记录相同
+            write(new LogEvent(LoggerConfig.WARN, LoggerFactory.DEFAULT_TAG, System.currentTimeMillis(),
+                    Thread.currentThread().getName(), LoggerUtils.NO_LINE_NUMBER,
+                    "********(" + droppedCount + " records dropped, log queue is full)********", null));
+        }
+        for (int i = 0; i < mBatch.size(); i++) {
+            if (mBatch.get(i) != STOP) {
+                write(mBatch.get(i));
+            }
+        }
+        mBatch.clear();
+    }
+
+    private void write(LogEvent event) {
+        StringBuilder sb = mContentBuilder;
+        sb.setLength(0);
+        try {
+            mConfig.getFormatter().format(event, sb);
+            long start = mStatsEnabled ? System.nanoTime() : 0;
+            mConfig.getAppender().append(event, sb);
+            if (mStatsEnabled) {
+                mMetrics.recordWrite(System.nanoTime() - start);
+                mMetrics.recordBytes(LoggerUtils.utf8Length(sb));
+            }
+        } catch (Exception e) {
+            Log.e(LoggerFactory.DEFAULT_TAG, "append", e);
+        }
+        if (sb.capacity() > MAX_RETAINED_BUILDER_SIZE) {
+            mContentBuilder = new StringBuilder(INITIAL_BUILDER_SIZE);
+        }
+    }
+
+    private void flush() {
+        try {
+            long start = mStatsEnabled ? System.nanoTime() : 0;
+            mConfig.getAppender().flush();
+            if (mStatsEnabled) {
+                mMetrics.recordFlush(System.nanoTime() - start);
+            }
+        } catch (Exception e) {
+            Log.e(LoggerFactory.DEFAULT_TAG, "flush", e);
+        }
+    }
+}
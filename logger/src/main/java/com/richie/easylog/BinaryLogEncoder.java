@@ -0,0 +1,282 @@
+package com.richie.easylog;
+
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 二进制日志编码，只在写线程使用，每个日志文件有独立的字典
+ * Binary log encoder, used by writer thread only, each log file has its own dictionary
+ *
+ * @author Richie on 2026.10.17
+ * @see BinaryLogFormat
+ */
+final class BinaryLogEncoder {
+    /**
+     * 单个文件字典最大条数，超过后字符串直接内联
+     * max dictionary entries per file, strings are written inline after that
+     */
+    private static final int MAX_DICTIONARY_SIZE = 8192;
+    /**
+     * 超过该长度的字符串不进入字典，通常是动态拼接的消息
+     * strings longer than this are not put into dictionary, they are mostly built dynamically
+     */
+    private static final int MAX_DICTIONARY_STRING_LENGTH = 256;
+    private final Map<String, Integer> mDictionary = new HashMap<>(256);
+    /**
+     * 当前事件新加入字典的字符串，事件丢弃时撤销
+     * strings added to dictionary by current event, removed if the event is discarded
+     */
+    private final List<String> mEventDefines = new ArrayList<>();
+    /**
+     * 当前事件之前的时间戳，事件丢弃时恢复
+     * timestamp before current event, restored if the event is discarded
+     */
+    private long mEventBaseTimeMillis;
+    private byte[] mBuffer = new byte[1024];
+    private int mLength;
+    private long mLastTimeMillis;
+    private final StringBuilder mParamBuilder = new StringBuilder(256);
+
+    /**
+     * 开始新文件，写入文件头
+     * Start a new file and write file header
+     *
+     * @param utcOffsetMillis 设备当前时区相对 UTC 的偏移
+     */
+    void startFile(String deviceInfo, int utcOffsetMillis) {
+        mDictionary.clear();
+        mLastTimeMillis = 0;
+        mLength = 0;
+        writeBytes(BinaryLogFormat.MAGIC);
+        writeByte(BinaryLogFormat.VERSION);
+        writeVarLong(BinaryLogFormat.zigZagEncode(utcOffsetMillis));
+        writeByte(BinaryLogFormat.RECORD_DEVICE_INFO);
+        writeString(deviceInfo);
+    }
+
+    void encodeText(CharSequence content) {
+        mLength = 0;
+        writeByte(BinaryLogFormat.RECORD_TEXT);
+        writeString(content);
+    }
+
+    /**
+     * 编码原始事件
+     * Encode raw event
+     *
+     * @param traceReference 堆栈已写入当前文件，只写入引用
+     */
+    void encodeEvent(LogRecord record, ObjectFormatter formatter, boolean traceReference) {
+        mLength = 0;
+        mEventDefines.clear();
+        mEventBaseTimeMillis = mLastTimeMillis;
+        int tagRef = ref(record.tag);
+        int threadRef = ref(record.threadName);
+        int messageRef = ref(record.message);
+        writeByte(BinaryLogFormat.RECORD_EVENT);
+        writeByte(record.level);
+        writeVarLong(BinaryLogFormat.zigZagEncode(record.timeMillis - mLastTimeMillis));
+        mLastTimeMillis = record.timeMillis;
+        writeRef(tagRef, record.tag);
+        writeRef(threadRef, record.threadName);
+        writeVarLong(record.lineNumber);
+        writeRef(messageRef, record.message);
+        Object[] params = record.params;
+        if (params == null) {
+            writeVarLong(0);
+        } else {
+            writeVarLong(params.length + 1);
+            for (Object param : params) {
+                writeParam(formatter, param);
+            }
+        }
+        if (record.stackTrace != null && !record.stackTrace.isEmpty()) {
+            writeByte(1);
+            mParamBuilder.setLength(0);
+            record.stackTrace.appendTo(mParamBuilder, traceReference);
+            writeString(mParamBuilder);
+        } else {
+            writeByte(0);
+        }
+    }
+
+    /**
+     * 丢弃编码失败的事件，撤销其字典项和时间戳，保证后续事件引用的定义都已写入文件
+     * Discard an event whose encoding failed, its dictionary entries and timestamp are rolled back so that later
+     * events only refer to definitions written to the file
+     */
+    void discardEvent() {
+        for (int i = mEventDefines.size() - 1; i >= 0; i--) {
+            mDictionary.remove(mEventDefines.get(i));
+        }
+        mEventDefines.clear();
+        mLastTimeMillis = mEventBaseTimeMillis;
+        mLength = 0;
+    }
+
+    byte[] getBuffer() {
+        return mBuffer;
+    }
+
+    int getLength() {
+        return mLength;
+    }
+
+    /**
+     * 解析字符串引用，首次出现的字典项先写入定义记录
+     * Resolve string ref, a define record is written before the first use of a dictionary entry
+     */
+    private int ref(String value) {
+        if (value == null) {
+            return BinaryLogFormat.REF_NULL;
+        }
+        Integer id = mDictionary.get(value);
+        if (id != null) {
+            return id;
+        }
+        if (value.length() > MAX_DICTIONARY_STRING_LENGTH || mDictionary.size() >= MAX_DICTIONARY_SIZE) {
+            return BinaryLogFormat.REF_INLINE;
+        }
+        int newId = mDictionary.size() + BinaryLogFormat.FIRST_DICTIONARY_ID;
+        mDictionary.put(value, newId);
+        mEventDefines.add(value);
+        writeByte(BinaryLogFormat.RECORD_DEFINE);
+        writeVarLong(newId);
+        writeString(value);
+        return newId;
+    }
+
+    private void writeRef(int ref, String value) {
+        writeVarLong(ref);
+        if (ref == BinaryLogFormat.REF_INLINE) {
+            writeString(value);
+        }
+    }
+
+    private void writeParam(ObjectFormatter formatter, Object param) {
+        if (param == null) {
+            writeByte(BinaryLogFormat.PARAM_NULL);
+        } else if (param instanceof Integer || param instanceof Short || param instanceof Byte) {
+            writeByte(BinaryLogFormat.PARAM_INT);
+            writeVarLong(BinaryLogFormat.zigZagEncode(((Number) param).intValue()));
+        } else if (param instanceof Long) {
+            writeByte(BinaryLogFormat.PARAM_LONG);
+            writeVarLong(BinaryLogFormat.zigZagEncode((Long) param));
+        } else if (param instanceof Double) {
+            writeByte(BinaryLogFormat.PARAM_DOUBLE);
+            writeFixed(Double.doubleToRawLongBits((Double) param), 8);
+        } else if (param instanceof Float) {
+            writeByte(BinaryLogFormat.PARAM_FLOAT);
+            writeFixed(Float.floatToRawIntBits((Float) param), 4);
+        } else if (param instanceof Boolean) {
+            writeByte((Boolean) param ? BinaryLogFormat.PARAM_TRUE : BinaryLogFormat.PARAM_FALSE);
+        } else if (param instanceof Character) {
+            writeByte(BinaryLogFormat.PARAM_CHAR);
+            writeVarLong((Character) param);
+        } else if (param instanceof String) {
+            writeByte(BinaryLogFormat.PARAM_STRING);
+            writeString((String) param);
+        } else {
+            // 基本类型数组的快照在写线程渲染
+            mParamBuilder.setLength(0);
+            try {
+                formatter.append(mParamBuilder, param);
+            } catch (Exception e) {
+                Log.e(LoggerFactory.DEFAULT_TAG, "writeParam: ", e);
+                mParamBuilder.setLength(0);
+                mParamBuilder.append(LoggerUtils.getStackTraceString(e));
+            }
+            writeByte(BinaryLogFormat.PARAM_STRING);
+            writeString(mParamBuilder);
+        }
+    }
+
+    private void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            mBuffer[mLength++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        mBuffer[mLength++] = (byte) value;
+    }
+
+    private void writeFixed(long value, int bytes) {
+        ensureCapacity(bytes);
+        for (int i = 0; i < bytes; i++) {
+            mBuffer[mLength++] = (byte) (value >>> (i * 8));
+        }
+    }
+
+    private void writeByte(int value) {
+        ensureCapacity(1);
+        mBuffer[mLength++] = (byte) value;
+    }
+
+    private void writeBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, mBuffer, mLength, bytes.length);
+        mLength += bytes.length;
+    }
+
+    /**
+     * 直接编码 UTF-8 到缓冲区，不产生临时数组
+     * Encode UTF-8 into buffer directly without temporary array
+     */
+    private void writeString(CharSequence value) {
+        int length = value.length();
+        int utf8Length = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                utf8Length++;
+            } else if (c < 0x800) {
+                utf8Length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                utf8Length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                utf8Length++;
+            } else {
+                utf8Length += 3;
+            }
+        }
+        writeVarLong(utf8Length);
+        ensureCapacity(utf8Length);
+        byte[] buffer = mBuffer;
+        int position = mLength;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer[position++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xC0 | (c >> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buffer[position++] = '?';
+            } else {
+                buffer[position++] = (byte) (0xE0 | (c >> 12));
+                buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        mLength = position;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (mLength + extra > mBuffer.length) {
+            byte[] buffer = new byte[Math.max(mBuffer.length * 2, mLength + extra)];
+            System.arraycopy(mBuffer, 0, buffer, 0, mLength);
+            mBuffer = buffer;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.richie.easylog;
+
+/**
+ * 二进制日志文件格式，编码和解码共用，不依赖 Android
+ * Binary log file format shared by encoder and decoder, no Android dependency
+ * <p>
+ * 文件 / file: MAGIC | VERSION | UTC offset(zigzag varint, millis) | record...
+ * <p>
+ * UTC 偏移是写入设备创建文件时的时区偏移，解码时按它还原设备本地时间。版本 1 没有该字段
+ * UTC offset is the time zone offset of the device when the file is created, decoder restores device local
+ * time with it. Version 1 has no such field
+ * <p>
+ * 记录 / records:
+ * <ul>
+ * <li>DEFINE: id(varint) | string，字典项，格式、标签和线程名只写一次 / dictionary entry, formats, tags and
+ * thread names are written once per file</li>
+ * <li>DEVICE_INFO: string</li>
+ * <li>TEXT: string，原样输出的文本 / text output as is</li>
+ * <li>EVENT: level(1) | time delta(zigzag varint) | tag ref | thread ref | line(varint) | format ref |
+ * param count + 1(varint, 0 means null params) | params | has throwable(1) | [stack trace string]</li>
+ * </ul>
+ * 字符串 / string: UTF-8 byte length(varint) | bytes
+ * <br>
+ * 字符串引用 / string ref: 0 null, 1 inline string follows, others dictionary id
+ *
+ * @author Richie on 2026.10.17
+ */
+final class BinaryLogFormat {
+    static final byte[] MAGIC = {'E', 'L', 'O', 'G'};
+    static final int VERSION = 2;
+    /**
+     * 文件头没有 UTC 偏移的版本，按解码机器的时区输出
+     * version without UTC offset in header, decoded in the time zone of the decoding machine
+     */
+    static final int VERSION_NO_OFFSET = 1;
+
+    static final int RECORD_DEFINE = 1;
+    static final int RECORD_DEVICE_INFO = 2;
+    static final int RECORD_TEXT = 3;
+    static final int RECORD_EVENT = 4;
+
+    static final int REF_NULL = 0;
+    static final int REF_INLINE = 1;
+    static final int FIRST_DICTIONARY_ID = 2;
+
+    static final int PARAM_NULL = 0;
+    static final int PARAM_STRING = 1;
+    static final int PARAM_INT = 2;
+    static final int PARAM_LONG = 3;
+    static final int PARAM_DOUBLE = 4;
+    static final int PARAM_FLOAT = 5;
+    static final int PARAM_TRUE = 6;
+    static final int PARAM_FALSE = 7;
+    static final int PARAM_CHAR = 8;
+
+    private BinaryLogFormat() {
+    }
+
+    static long zigZagEncode(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long zigZagDecode(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
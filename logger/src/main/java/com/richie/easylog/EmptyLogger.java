@@ -8,21 +8,196 @@ package com.richie.easylog;
  */
 final class EmptyLogger implements ILogger {
 
+    @Override
+    public boolean isVerboseEnabled() {
+        return false;
+    }
+
+    @Override
+    public boolean isDebugEnabled() {
+        return false;
+    }
+
+    @Override
+    public boolean isInfoEnabled() {
+        return false;
+    }
+
+    @Override
+    public boolean isWarnEnabled() {
+        return false;
+    }
+
+    @Override
+    public boolean isErrorEnabled() {
+        return false;
+    }
+
     @Override
     public void verbose(String message, Object... params) {
 
     }
 
+    @Override
+    public void verbose(String message, Object param) {
+
+    }
+
+    @Override
+    public void verbose(String message, Object param1, Object param2) {
+
+    }
+
+    @Override
+    public void verbose(String message, Object param1, Object param2, Object param3) {
+
+    }
+
+    @Override
+    public void verbose(String message, int value) {
+
+    }
+
+    @Override
+    public void verbose(String message, long value) {
+
+    }
+
+    @Override
+    public void verbose(String message, float value) {
+
+    }
+
+    @Override
+    public void verbose(String message, double value) {
+
+    }
+
+    @Override
+    public void verbose(String message, boolean value) {
+
+    }
+
+    @Override
+    public void verbose(String message, char value) {
+
+    }
+
+    @Override
+    public void verbose(MessageSupplier supplier) {
+
+    }
+
     @Override
     public void debug(String message, Object... params) {
 
     }
 
+    @Override
+    public void debug(String message, Object param) {
+
+    }
+
+    @Override
+    public void debug(String message, Object param1, Object param2) {
+
+    }
+
+    @Override
+    public void debug(String message, Object param1, Object param2, Object param3) {
+
+    }
+
+    @Override
+    public void debug(String message, int value) {
+
+    }
+
+    @Override
+    public void debug(String message, long value) {
+
+    }
+
+    @Override
+    public void debug(String message, float value) {
+
+    }
+
+    @Override
+    public void debug(String message, double value) {
+
+    }
+
+    @Override
+    public void debug(String message, boolean value) {
+
+    }
+
+    @Override
+    public void debug(String message, char value) {
+
+    }
+
+    @Override
+    public void debug(MessageSupplier supplier) {
+
+    }
+
     @Override
     public void info(String message, Object... params) {
 
     }
 
+    @Override
+    public void info(String message, Object param) {
+
+    }
+
+    @Override
+    public void info(String message, Object param1, Object param2) {
+
+    }
+
+    @Override
+    public void info(String message, Object param1, Object param2, Object param3) {
+
+    }
+
+    @Override
+    public void info(String message, int value) {
+
+    }
+
+    @Override
+    public void info(String message, long value) {
+
+    }
+
+    @Override
+    public void info(String message, float value) {
+
+    }
+
+    @Override
+    public void info(String message, double value) {
+
+    }
+
+    @Override
+    public void info(String message, boolean value) {
+
+    }
+
+    @Override
+    public void info(String message, char value) {
+
+    }
+
+    @Override
+    public void info(MessageSupplier supplier) {
+
+    }
+
     @Override
     public void warn(Throwable throwable) {
 
@@ -38,6 +213,56 @@ final class EmptyLogger implements ILogger {
 
     }
 
+    @Override
+    public void warn(String message, Object param) {
+
+    }
+
+    @Override
+    public void warn(String message, Object param1, Object param2) {
+
+    }
+
+    @Override
+    public void warn(String message, Object param1, Object param2, Object param3) {
+
+    }
+
+    @Override
+    public void warn(String message, int value) {
+
+    }
+
+    @Override
+    public void warn(String message, long value) {
+
+    }
+
+    @Override
+    public void warn(String message, float value) {
+
+    }
+
+    @Override
+    public void warn(String message, double value) {
+
+    }
+
+    @Override
+    public void warn(String message, boolean value) {
+
+    }
+
+    @Override
+    public void warn(String message, char value) {
+
+    }
+
+    @Override
+    public void warn(MessageSupplier supplier) {
+
+    }
+
     @Override
     public void error(Throwable throwable) {
 
@@ -53,6 +278,56 @@ final class EmptyLogger implements ILogger {
 
     }
 
+    @Override
+    public void error(String message, Object param) {
+
+    }
+
+    @Override
+    public void error(String message, Object param1, Object param2) {
+
+    }
+
+    @Override
+    public void error(String message, Object param1, Object param2, Object param3) {
+
+    }
+
+    @Override
+    public void error(String message, int value) {
+
+    }
+
+    @Override
+    public void error(String message, long value) {
+
+    }
+
+    @Override
+    public void error(String message, float value) {
+
+    }
+
+    @Override
+    public void error(String message, double value) {
+
+    }
+
+    @Override
+    public void error(String message, boolean value) {
+
+    }
+
+    @Override
+    public void error(String message, char value) {
+
+    }
+
+    @Override
+    public void error(MessageSupplier supplier) {
+
+    }
+
     @Override
     public String json(String json) {
         return null;
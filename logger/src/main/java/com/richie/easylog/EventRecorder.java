@@ -0,0 +1,16 @@
+package com.richie.easylog;
+
+/**
+ * 在调用线程直接记录日志的 appender，不经过队列和格式化，只用于没有 I/O 的内存输出
+ * Appender recording events on the caller thread without queue and formatting, for in-memory outputs without I/O
+ *
+ * @author Richie on 2026.10.17
+ */
+interface EventRecorder {
+
+    /**
+     * 记录日志，可能被多个线程并发调用
+     * Record an event, may be called by multiple threads concurrently
+     */
+    void record(LogEvent event);
+}
@@ -0,0 +1,103 @@
+package com.richie.easylog;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * 写入指定文件的 appender，配合 {@link AppenderConfig.Builder#tagLevel(String, int)} 可以把不同 tag 的日志写到不同文件。
+ * 超过最大大小时当前文件重命名为 .1 备份，再写新文件
+ * Appender writing into the given file, together with {@link AppenderConfig.Builder#tagLevel(String, int)} it
+ * routes records of different tags into different files. Once the max size is exceeded the file is renamed to
+ * a .1 backup and a new file is started
+ *
+ * @author Richie on 2026.10.17
+ */
+public final class FileAppender implements Appender {
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final String BACKUP_SUFFIX = ".1";
+    private final File mFile;
+    private final long mMaxFileSize;
+    private StreamFileSink mSink;
+    /**
+     * 当前文件的大小，按字符数估算
+     * size of the current file, estimated by chars
+     */
+    private long mFileSize;
+
+    public FileAppender(File file) {
+        this(file, 0);
+    }
+
+    /**
+     * @param file        日志文件
+     * @param maxFileSize 单个文件最大字节数，小于等于 0 时不限制
+     */
+    public FileAppender(File file, long maxFileSize) {
+        if (file == null) {
+            throw new NullPointerException("File can't be null");
+        }
+        mFile = file;
+        mMaxFileSize = maxFileSize;
+    }
+
+    @Override
+    public synchronized void append(LogEvent event, CharSequence content) throws IOException {
+        if (mSink == null) {
+            open();
+        }
+        try {
+            mSink.write(content);
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+        // 按字符数估算，缓冲区内的内容也计入
+        mFileSize += content.length();
+        if (mMaxFileSize > 0 && mFileSize >= mMaxFileSize) {
+            roll();
+        }
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        if (mSink == null) {
+            return;
+        }
+        try {
+            mSink.flush();
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    private void open() throws IOException {
+        File dir = mFile.getParentFile();
+        if (dir != null && !dir.exists() && !dir.mkdirs()) {
+            throw new IOException("Can't create directory " + dir);
+        }
+        mSink = new StreamFileSink(mFile, BUFFER_SIZE);
+        mFileSize = mFile.length();
+    }
+
+    private void roll() throws IOException {
+        close();
+        File backup = new File(mFile.getPath() + BACKUP_SUFFIX);
+        if (backup.exists() && !backup.delete()) {
+            throw new IOException("Can't delete " + backup);
+        }
+        if (!mFile.renameTo(backup)) {
+            throw new IOException("Can't rename " + mFile);
+        }
+    }
+
+    private void close() {
+        if (mSink != null) {
+            try {
+                mSink.close();
+            } catch (IOException ignored) {
+            }
+            mSink = null;
+        }
+    }
+}
@@ -8,6 +8,46 @@ package com.richie.easylog;
  */
 public interface ILogger {
 
+    /**
+     * 啰嗦级别是否开启
+     * Whether verbose level is enabled
+     *
+     * @return true if enabled
+     */
+    boolean isVerboseEnabled();
+
+    /**
+     * 调试级别是否开启
+     * Whether debug level is enabled
+     *
+     * @return true if enabled
+     */
+    boolean isDebugEnabled();
+
+    /**
+     * 信息级别是否开启
+     * Whether info level is enabled
+     *
+     * @return true if enabled
+     */
+    boolean isInfoEnabled();
+
+    /**
+     * 警告级别是否开启
+     * Whether warn level is enabled
+     *
+     * @return true if enabled
+     */
+    boolean isWarnEnabled();
+
+    /**
+     * 错误级别是否开启
+     * Whether error level is enabled
+     *
+     * @return true if enabled
+     */
+    boolean isErrorEnabled();
+
     /**
      * 啰嗦级别的输出
      * verbose print
@@ -17,6 +57,98 @@ public interface ILogger {
      */
     void verbose(String message, Object... params);
 
+    /**
+     * 啰嗦级别的输出，固定参数个数，级别关闭时不创建参数数组
+     * verbose print with fixed params, no params array is created when the level is disabled
+     *
+     * @param message 消息
+     * @param param   参数
+     */
+    void verbose(String message, Object param);
+
+    /**
+     * 啰嗦级别的输出，固定参数个数，级别关闭时不创建参数数组
+     * verbose print with fixed params, no params array is created when the level is disabled
+     *
+     * @param message 消息
+     * @param param1  参数
+     * @param param2  参数
+     */
+    void verbose(String message, Object param1, Object param2);
+
+    /**
+     * 啰嗦级别的输出，固定参数个数，级别关闭时不创建参数数组
+     * verbose print with fixed params, no params array is created when the level is disabled
+     *
+     * @param message 消息
+     * @param param1  参数
+     * @param param2  参数
+     * @param param3  参数
+     */
+    void verbose(String message, Object param1, Object param2, Object param3);
+
+    /**
+     * 啰嗦级别的输出，基本类型参数不装箱
+     * verbose print, the primitive param is not boxed
+     *
+     * @param message 消息
+     * @param value   参数
+     */
+    void verbose(String message, int value);
+
+    /**
+     * 啰嗦级别的输出，基本类型参数不装箱
+     * verbose print, the primitive param is not boxed
+     *
+     * @param message 消息
+     * @param value   参数
+     */
+    void verbose(String message, long value);
+
+    /**
+     * 啰嗦级别的输出，基本类型参数不装箱
+     * verbose print, the primitive param is not boxed
+     *
+     * @param message 消息
+     * @param value   参数
+     */
+    void verbose(String message, float value);
+
+    /**
+     * 啰嗦级别的输出，基本类型参数不装箱
+     * verbose print, the primitive param is not boxed
+     *
+     * @param message 消息
+     * @param value   参数
+     */
+    void verbose(String message, double value);
+
+    /**
+     * 啰嗦级别的输出，基本类型参数不装箱
+     * verbose print, the primitive param is not boxed
+     *
+     * @param message 消息
+     * @param value   参数
+     */
+    void verbose(String message, boolean value);
+
+    /**
+     * 啰嗦级别的输出，基本类型参数不装箱
+     * verbose print, the primitive param is not boxed
+     *
+     * @param message 消息
+     * @param value   参数
+     */
+    void verbose(String message, char value);
+
+    /**
+     * 啰嗦级别的输出，只有级别开启时才生成消息
+     * verbose print, the message is only built when the level is enabled
+     *
+     * @param supplier 消息
+     */
+    void verbose(MessageSupplier supplier);
+
     /**
      * 调试级别的输出
      * debug print
@@ -26,6 +158,98 @@ public interface ILogger {
      */
     void debug(String message, Object... params);
 
+    /**
+     * 调试级别的输出，固定参数个数，级别关闭时不创建参数数组
+     * debug print with fixed params, no params array is created when the level is disabled
+     *
+     * @param message 消息
+     * @param param   参数
+     */
+    void debug(String message, Object param);
+
+    /**
+     * 调试级别的输出，固定参数个数，级别关闭时不创建参数数组
+     * debug print with fixed params, no params array is created when the level is disabled
+     *
+     * @param message 消息
+     * @param param1  参数
+     * @param param2  参数
+     */
+    void debug(String message, Object param1, Object param2);
+
+    /**
+     * 调试级别的输出，固定参数个数，级别关闭时不创建参数数组
+     * debug print with fixed params, no params array is created when the level is disabled
+     *
+     * @param message 消息
+     * @param param1  参数
+     * @param param2  参数
+     * @param param3  参数
+     */
+    void debug(String message, Object param1, Object param2, Object param3);
+
+    /**
+     * 调试级别的输出，基本类型参数不装箱
+     * debug print, the primitive param is not boxed
+     *
+     * @param message 消息
+     * @param value   参数
+     */
+    void debug(String message, int value);
+
+    /**
+     * 调试级别的输出，基本类型参数不装箱
+     * debug print, the primitive param is not boxed
+     *
+     * @param message 消息
+     * @param value   参数
+     */
+    void debug(String message, long value);
+
+    /**
+     * 调试级别的输出，基本类型参数不装箱
+     * debug print, the primitive param is not boxed
+     *
+     * @param message 消息
+     * @param value   参数
+     */
+    void debug(String message, float value);
+
+    /**
+     * 调试级别的输出，基本类型参数不装箱
+     * debug print, the primitive param is not boxed
+     *
+     * @param message 消息
+     * @param value   参数
+     */
+    void debug(String message, double value);
+
+    /**
+     * 调试级别的输出，基本类型参数不装箱
+     * debug print, the primitive param is not boxed
+     *
+     * @param message 消息
+     * @param value   参数
+     */
+    void debug(String message, boolean value);
+
+    /**
+     * 调试级别的输出，基本类型参数不装箱
+     * debug print, the primitive param is not boxed
+     *
+     * @param message 消息
+     * @param value   参数
+     */
+    void debug(String message, char value);
+
+    /**
+     * 调试级别的输出，只有级别开启时才生成消息
+     * debug print, the message is only built when the level is enabled
+     *
+     * @param supplier 消息
+     */
+    void debug(MessageSupplier supplier);
+
     /**
      * 信息级别的输出
      * info print
@@ -35,6 +259,98 @@ public interface ILogger {
      */
     void info(String message, Object... params);
 
+    /**
+     * 信息级别的输出，固定参数个数，级别关闭时不创建参数数组
+     * info print with fixed params, no params array is created when the level is disabled
+     *
+     * @param message 消息
+     * @param param   参数
+     */
+    void info(String message, Object param);
+
+    /**
+     * 信息级别的输出，固定参数个数，级别关闭时不创建参数数组
+     * info print with fixed params, no params array is created when the level is disabled
+     *
+     * @param message 消息
+     * @param param1  参数
+     * @param param2  参数
+     */
+    void info(String message, Object param1, Object param2);
+
+    /**
+     * 信息级别的输出，固定参数个数，级别关闭时不创建参数数组
+     * info print with fixed params, no params array is created when the level is disabled
+     *
+     * @param message 消息
+     * @param param1  参数
+     * @param param2  参数
+     * @param param3  参数
+     */
+    void info(String message, Object param1, Object param2, Object param3);
+
+    /**
+     * 信息级别的输出，基本类型参数不装箱
+     * info print, the primitive param is not boxed
+     *
+     * @param message 消息
+     * @param value   参数
+     */
+    void info(String message, int value);
+
+    /**
+     * 信息级别的输出，基本类型参数不装箱
+     * info print, the primitive param is not boxed
+     *
+     * @param message 消息
+     * @param value   参数
+     */
+    void info(String message, long value);
+
+    /**
+     * 信息级别的输出，基本类型参数不装箱
+     * info print, the primitive param is not boxed
+     *
+     * @param message 消息
+     * @param value   参数
+     */
+    void info(String message, float value);
+
+    /**
+     * 信息级别的输出，基本类型参数不装箱
+     * info print, the primitive param is not boxed
+     *
+     * @param message 消息
+     * @param value   参数
+     */
+    void info(String message, double value);
+
+    /**
+     * 信息级别的输出，基本类型参数不装箱
+     * info print, the primitive param is not boxed
+     *
+     * @param message 消息
+     * @param value   参数
+     */
+    void info(String message, boolean value);
+
+    /**
+     * 信息级别的输出，基本类型参数不装箱
+     * info print, the primitive param is not boxed
+     *
+     * @param message 消息
+     * @param value   参数
+     */
+    void info(String message, char value);
+
+    /**
+     * 信息级别的输出，只有级别开启时才生成消息
+     * info print, the message is only built when the level is enabled
+     *
+     * @param supplier 消息
+     */
+    void info(MessageSupplier supplier);
+
     /**
      * 警告级别的输出
      * warn print
@@ -61,6 +377,98 @@ public interface ILogger {
      */
     void warn(String message, Object... params);
 
+    /**
+     * 警告级别的输出，固定参数个数，级别关闭时不创建参数数组
+     * warn print with fixed params, no params array is created when the level is disabled
+     *
+     * @param message 消息
+     * @param param   参数
+     */
+    void warn(String message, Object param);
+
+    /**
+     * 警告级别的输出，固定参数个数，级别关闭时不创建参数数组
+     * warn print with fixed params, no params array is created when the level is disabled
+     *
+     * @param message 消息
+     * @param param1  参数
+     * @param param2  参数
+     */
+    void warn(String message, Object param1, Object param2);
+
+    /**
+     * 警告级别的输出，固定参数个数，级别关闭时不创建参数数组
+     * warn print with fixed params, no params array is created when the level is disabled
+     *
+     * @param message 消息
+     * @param param1  参数
+     * @param param2  参数
+     * @param param3  参数
+     */
+    void warn(String message, Object param1, Object param2, Object param3);
+
+    /**
+     * 警告级别的输出，基本类型参数不装箱
+     * warn print, the primitive param is not boxed
+     *
+     * @param message 消息
+     * @param value   参数
+     */
+    void warn(String message, int value);
+
+    /**
+     * 警告级别的输出，基本类型参数不装箱
+     * warn print, the primitive param is not boxed
+     *
+     * @param message 消息
+     * @param value   参数
+     */
+    void warn(String message, long value);
+
+    /**
+     * 警告级别的输出，基本类型参数不装箱
+     * warn print, the primitive param is not boxed
+     *
+     * @param message 消息
+     * @param value   参数
+     */
+    void warn(String message, float value);
+
+    /**
+     * 警告级别的输出，基本类型参数不装箱
+     * warn print, the primitive param is not boxed
+     *
+     * @param message 消息
+     * @param value   参数
+     */
+    void warn(String message, double value);
+
+    /**
+     * 警告级别的输出，基本类型参数不装箱
+     * warn print, the primitive param is not boxed
+     *
+     * @param message 消息
+     * @param value   参数
+     */
+    void warn(String message, boolean value);
+
+    /**
+     * 警告级别的输出，基本类型参数不装箱
+     * warn print, the primitive param is not boxed
+     *
+     * @param message 消息
+     * @param value   参数
+     */
+    void warn(String message, char value);
+
+    /**
+     * 警告级别的输出，只有级别开启时才生成消息
+     * warn print, the message is only built when the level is enabled
+     *
+     * @param supplier 消息
+     */
+    void warn(MessageSupplier supplier);
+
     /**
      * 错误级别的输出
      * error print
@@ -87,6 +495,98 @@ public interface ILogger {
      */
     void error(String message, Object... params);
 
+    /**
+     * 错误级别的输出，固定参数个数，级别关闭时不创建参数数组
+     * error print with fixed params, no params array is created when the level is disabled
+     *
+     * @param message 消息
+     * @param param   参数
+     */
+    void error(String message, Object param);
+
+    /**
+     * 错误级别的输出，固定参数个数，级别关闭时不创建参数数组
+     * error print with fixed params, no params array is created when the level is disabled
+     *
+     * @param message 消息
+     * @param param1  参数
+     * @param param2  参数
+     */
+    void error(String message, Object param1, Object param2);
+
+    /**
+     * 错误级别的输出，固定参数个数，级别关闭时不创建参数数组
+     * error print with fixed params, no params array is created when the level is disabled
+     *
+     * @param message 消息
+     * @param param1  参数
+     * @param param2  参数
+     * @param param3  参数
+     */
+    void error(String message, Object param1, Object param2, Object param3);
+
+    /**
+     * 错误级别的输出，基本类型参数不装箱
+     * error print, the primitive param is not boxed
+     *
+     * @param message 消息
+     * @param value   参数
+     */
+    void error(String message, int value);
+
+    /**
+     * 错误级别的输出，基本类型参数不装箱
+     * error print, the primitive param is not boxed
+     *
+     * @param message 消息
+     * @param value   参数
+     */
+    void error(String message, long value);
+
+    /**
+     * 错误级别的输出，基本类型参数不装箱
+     * error print, the primitive param is not boxed
+     *
+     * @param message 消息
+     * @param value   参数
+     */
+    void error(String message, float value);
+
+    /**
+     * 错误级别的输出，基本类型参数不装箱
+     * error print, the primitive param is not boxed
+     *
+     * @param message 消息
+     * @param value   参数
+     */
+    void error(String message, double value);
+
+    /**
+     * 错误级别的输出，基本类型参数不装箱
+     * error print, the primitive param is not boxed
+     *
+     * @param message 消息
+     * @param value   参数
+     */
+    void error(String message, boolean value);
+
+    /**
+     * 错误级别的输出，基本类型参数不装箱
+     * error print, the primitive param is not boxed
+     *
+     * @param message 消息
+     * @param value   参数
+     */
+    void error(String message, char value);
+
+    /**
+     * 错误级别的输出，只有级别开启时才生成消息
+     * error print, the message is only built when the level is enabled
+     *
+     * @param supplier 消息
+     */
+    void error(MessageSupplier supplier);
+
     /**
      * 格式化 JSON
      * JSON format
@@ -0,0 +1,422 @@
+package com.richie.easylog;
+
+/**
+ * 流式 JSON 缩进，逐字符扫描一遍输入，不构建对象树。超过最大深度的节点折叠为 {...} 或 [...]，
+ * 超过最大长度时截断，格式错误时返回错误位置
+ * Streaming JSON indenter, scans the input once char by char without building a tree. Nodes deeper than the
+ * max depth are collapsed to {...} or [...], output longer than the max length is truncated, and malformed
+ * input returns the error position
+ *
+ * @author Richie on 2026.10.17
+ */
+final class JsonFormatter {
+    private static final String INDENT = "  ";
+    private static final int EXPECT_VALUE = 0;
+    private static final int EXPECT_FIRST_KEY = 1;
+    private static final int EXPECT_KEY = 2;
+    private static final int EXPECT_FIRST_ELEMENT = 3;
+    private static final int AFTER_VALUE = 4;
+    private final String mJson;
+    private final int mMaxLength;
+    private final int mMaxDepth;
+    private final StringBuilder mOutput;
+    /**
+     * 容器栈，true 表示对象，false 表示数组
+     * stack of containers, true for object and false for array
+     */
+    private boolean[] mStack = new boolean[16];
+    private int mDepth;
+    /**
+     * 折叠开始的深度，0 表示没有折叠
+     * depth where collapsing starts, 0 means not collapsing
+     */
+    private int mCollapseDepth;
+    private boolean mTruncated;
+    private int mPosition;
+    /**
+     * 顶层对象的成员数
+     * member count of top level container
+     */
+    private int mLength;
+    private String mError;
+
+    private JsonFormatter(String json, int maxLength, int maxDepth) {
+        mJson = json;
+        mMaxLength = maxLength;
+        mMaxDepth = maxDepth;
+        mOutput = new StringBuilder(Math.min(json.length() * 2, maxLength) + 64);
+    }
+
+    /**
+     * 格式化 JSON
+     * Format JSON
+     *
+     * @param json      JSON 文本
+     * @param maxLength 输出的最大长度
+     * @param maxDepth  展开的最大深度
+     * @return 格式化的文本，格式错误时返回错误信息和原文
+     */
+    static String format(String json, int maxLength, int maxDepth) {
+        JsonFormatter formatter = new JsonFormatter(json, maxLength, maxDepth);
+        formatter.parse();
+        return formatter.result();
+    }
+
+    private String result() {
+        if (mError != null) {
+            StringBuilder sb = new StringBuilder(Math.min(mJson.length(), mMaxLength) + 64);
+            sb.append("Invalid JSON, ")
+                    .append(mError)
+                    .append(" at offset ")
+                    .append(mPosition)
+                    .append(":\n");
+            if (mJson.length() > mMaxLength) {
+                sb.append(mJson, 0, mMaxLength);
+                appendTruncated(sb);
+            } else {
+                sb.append(mJson);
+            }
+            return sb.toString();
+        }
+        if (mTruncated) {
+            appendTruncated(mOutput);
+        }
+        String header = (mStack[0] ? "JSONObject length:" : "JSONArray length:") + mLength + "\n";
+        mOutput.insert(0, header);
+        return mOutput.toString();
+    }
+
+    private void appendTruncated(StringBuilder sb) {
+        sb.append("\n********(truncated, max length ")
+                .append(mMaxLength)
+                .append(")********");
+    }
+
+    private void parse() {
+        String json = mJson;
+        int length = json.length();
+        skipWhitespace();
+        if (mPosition >= length || (json.charAt(mPosition) != '{' && json.charAt(mPosition) != '[')) {
+            mError = "expected '{' or '['";
+            return;
+        }
+        int state = EXPECT_VALUE;
+        while (true) {
+            skipWhitespace();
+            if (mPosition >= length) {
+                if (mDepth == 0 && state == AFTER_VALUE) {
+                    return;
+                }
+                mError = "unexpected end of input";
+                return;
+            }
+            char c = json.charAt(mPosition);
+            switch (state) {
+                case EXPECT_VALUE:
+                    if (!parseValue(c)) {
+                        return;
+                    }
+                    if (c == '{') {
+                        state = EXPECT_FIRST_KEY;
+                    } else if (c == '[') {
+                        state = EXPECT_FIRST_ELEMENT;
+                    } else {
+                        state = AFTER_VALUE;
+                    }
+                    break;
+                case EXPECT_FIRST_KEY:
+                    if (c == '}') {
+                        close();
+                        state = AFTER_VALUE;
+                        break;
+                    }
+                    if (!parseKey(c)) {
+                        return;
+                    }
+                    state = EXPECT_VALUE;
+                    break;
+                case EXPECT_KEY:
+                    if (!parseKey(c)) {
+                        return;
+                    }
+                    state = EXPECT_VALUE;
+                    break;
+                case EXPECT_FIRST_ELEMENT:
+                    if (c == ']') {
+                        close();
+                        state = AFTER_VALUE;
+                        break;
+                    }
+                    countMember();
+                    newLine(mDepth);
+                    state = EXPECT_VALUE;
+                    break;
+                case AFTER_VALUE:
+                    if (mDepth == 0) {
+                        mError = "unexpected character after end of JSON";
+                        return;
+                    }
+                    boolean isObject = mStack[mDepth - 1];
+                    if (c == ',') {
+                        mPosition++;
+                        append(",");
+                        if (isObject) {
+                            state = EXPECT_KEY;
+                        } else {
+                            countMember();
+                            newLine(mDepth);
+                            state = EXPECT_VALUE;
+                        }
+                    } else if (c == (isObject ? '}' : ']')) {
+                        newLine(mDepth - 1);
+                        close();
+                    } else {
+                        mError = isObject ? "expected ',' or '}'" : "expected ',' or ']'";
+                        return;
+                    }
+                    break;
+                default:
+                    return;
+            }
+        }
+    }
+
+    /**
+     * 解析键和冒号
+     * Parse a key and the colon after it
+     */
+    private boolean parseKey(char c) {
+        if (c != '"') {
+            mError = "expected string key";
+            return false;
+        }
+        countMember();
+        newLine(mDepth);
+        if (!copyString()) {
+            return false;
+        }
+        skipWhitespace();
+        if (mPosition >= mJson.length() || mJson.charAt(mPosition) != ':') {
+            mError = "expected ':'";
+            return false;
+        }
+        mPosition++;
+        append(": ");
+        return true;
+    }
+
+    /**
+     * 解析一个值，容器只处理开始符号
+     * Parse a value, only the opening char of containers is consumed
+     */
+    private boolean parseValue(char c) {
+        if (c == '{' || c == '[') {
+            open(c == '{');
+            return true;
+        } else if (c == '"') {
+            return copyString();
+        } else if (c == '-' || (c >= '0' && c <= '9')) {
+            return copyNumber();
+        } else if (c == 't') {
+            return copyLiteral("true");
+        } else if (c == 'f') {
+            return copyLiteral("false");
+        } else if (c == 'n') {
+            return copyLiteral("null");
+        }
+        mError = "expected value";
+        return false;
+    }
+
+    private void open(boolean isObject) {
+        mPosition++;
+        if (mDepth == mStack.length) {
+            boolean[] stack = new boolean[mDepth * 2];
+            System.arraycopy(mStack, 0, stack, 0, mDepth);
+            mStack = stack;
+        }
+        mStack[mDepth++] = isObject;
+        if (mCollapseDepth == 0 && mDepth > mMaxDepth) {
+            append(isObject ? "{...}" : "[...]");
+            mCollapseDepth = mDepth;
+        } else {
+            append(isObject ? "{" : "[");
+        }
+    }
+
+    private void close() {
+        mPosition++;
+        boolean isObject = mStack[mDepth - 1];
+        append(isObject ? "}" : "]");
+        if (mCollapseDepth == mDepth) {
+            mCollapseDepth = 0;
+        }
+        mDepth--;
+    }
+
+    private void countMember() {
+        if (mDepth == 1) {
+            mLength++;
+        }
+    }
+
+    private boolean copyString() {
+        String json = mJson;
+        int length = json.length();
+        int start = mPosition;
+        int index = start + 1;
+        while (index < length) {
+            char c = json.charAt(index);
+            if (c == '"') {
+                mPosition = index + 1;
+                append(json, start, mPosition);
+                return true;
+            }
+            if (c == '\\') {
+                if (index + 1 >= length) {
+                    break;
+                }
+                char escape = json.charAt(index + 1);
+                if (escape == 'u') {
+                    if (index + 6 > length || !isHex(json, index + 2, index + 6)) {
+                        mPosition = index;
+                        mError = "invalid unicode escape";
+                        return false;
+                    }
+                    index += 6;
+                    continue;
+                }
+                if ("\"\\/bfnrt".indexOf(escape) < 0) {
+                    mPosition = index;
+                    mError = "invalid escape";
+                    return false;
+                }
+                index += 2;
+                continue;
+            }
+            index++;
+        }
+        mPosition = start;
+        mError = "unterminated string";
+        return false;
+    }
+
+    private boolean copyNumber() {
+        String json = mJson;
+        int length = json.length();
+        int start = mPosition;
+        int index = start;
+        if (json.charAt(index) == '-') {
+            index++;
+        }
+        int digits = skipDigits(index);
+        if (digits == index || (json.charAt(index) == '0' && digits > index + 1)) {
+            mError = "invalid number";
+            return false;
+        }
+        index = digits;
+        if (index < length && json.charAt(index) == '.') {
+            digits = skipDigits(index + 1);
+            if (digits == index + 1) {
+                mPosition = index;
+                mError = "invalid number";
+                return false;
+            }
+            index = digits;
+        }
+        if (index < length && (json.charAt(index) == 'e' || json.charAt(index) == 'E')) {
+            index++;
+            if (index < length && (json.charAt(index) == '+' || json.charAt(index) == '-')) {
+                index++;
+            }
+            digits = skipDigits(index);
+            if (digits == index) {
+                mPosition = index;
+                mError = "invalid number";
+                return false;
+            }
+            index = digits;
+        }
+        mPosition = index;
+        append(json, start, index);
+        return true;
+    }
+
+    private boolean copyLiteral(String literal) {
+        if (!mJson.startsWith(literal, mPosition)) {
+            mError = "expected value";
+            return false;
+        }
+        mPosition += literal.length();
+        append(literal);
+        return true;
+    }
+
+    private int skipDigits(int index) {
+        String json = mJson;
+        while (index < json.length() && json.charAt(index) >= '0' && json.charAt(index) <= '9') {
+            index++;
+        }
+        return index;
+    }
+
+    private void skipWhitespace() {
+        String json = mJson;
+        while (mPosition < json.length()) {
+            char c = json.charAt(mPosition);
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                return;
+            }
+            mPosition++;
+        }
+    }
+
+    private static boolean isHex(String text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (Character.digit(text.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void newLine(int depth) {
+        if (!isWritable()) {
+            return;
+        }
+        mOutput.append('\n');
+        for (int i = 0; i < depth; i++) {
+            mOutput.append(INDENT);
+        }
+        checkLength();
+    }
+
+    private void append(String text) {
+        if (isWritable()) {
+            mOutput.append(text);
+            checkLength();
+        }
+    }
+
+    private void append(String text, int start, int end) {
+        if (isWritable()) {
+            mOutput.append(text, start, Math.min(end, start + mMaxLength - mOutput.length() + 1));
+            checkLength();
+        }
+    }
+
+    /**
+     * 折叠的节点和截断之后只校验格式，不输出
+     * Collapsed nodes and anything after truncation are validated only, not written
+     */
+    private boolean isWritable() {
+        return !mTruncated && (mCollapseDepth == 0 || mDepth < mCollapseDepth);
+    }
+
+    private void checkLength() {
+        if (mOutput.length() > mMaxLength) {
+            mOutput.setLength(mMaxLength);
+            mTruncated = true;
+        }
+    }
+}
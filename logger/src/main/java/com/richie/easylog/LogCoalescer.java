@@ -0,0 +1,163 @@
+package com.richie.easylog;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 合并同一 tag 下连续重复的日志，重复的日志只计数，在出现不同的日志或时间窗口结束时输出一条 "repeated N times"
+ * Coalesces consecutive identical records of a tag, repeats are only counted and one "repeated N times" record is
+ * reported when a different record arrives or the time window expires
+ *
+ * @author Richie on 2026.10.17
+ */
+final class LogCoalescer {
+    static final String REPEATED_MESSAGE = "********(last message repeated {} times)********";
+    /**
+     * 最短检查间隔
+     * min interval between sweeps
+     */
+    private static final long MIN_SWEEP_INTERVAL = 100L;
+
+    /**
+     * 输出重复次数
+     * Reports the repeat count of a run
+     */
+    interface Reporter {
+        void report(int level, String tag, String threadName, int lineNumber, long count);
+    }
+
+    private final long mWindowMillis;
+    private final long mSweepInterval;
+    private final ConcurrentMap<String, Run> mRuns = new ConcurrentHashMap<>();
+    private final AtomicLong mNextSweepTime;
+    /**
+     * 有未输出重复次数的 tag 数
+     * runs with unreported repeats
+     */
+    private final AtomicInteger mPendingRuns = new AtomicInteger();
+
+    LogCoalescer(long windowMillis) {
+        mWindowMillis = windowMillis;
+        mSweepInterval = Math.max(windowMillis / 4, MIN_SWEEP_INTERVAL);
+        mNextSweepTime = new AtomicLong(System.currentTimeMillis() + mSweepInterval);
+    }
+
+    long getSweepInterval() {
+        return mSweepInterval;
+    }
+
+    /**
+     * 提交一条日志，返回 false 表示与上一条重复，不需要输出。上一段重复结束时先通过 reporter 输出重复次数
+     * Offer a record, false means it repeats the previous one and should not be written. When the previous run
+     * ends, its repeat count is reported by reporter first
+     *
+     * @param hash 渲染后的消息的哈希
+     */
+    boolean offer(int level, String tag, String threadName, int lineNumber, int hash, long now, Reporter reporter) {
+        Run run = mRuns.get(tag);
+        if (run == null) {
+            Run newRun = new Run();
+            run = mRuns.putIfAbsent(tag, newRun);
+            if (run == null) {
+                run = newRun;
+            }
+        }
+        boolean isRepeat;
+        int reportLevel;
+        String reportThreadName;
+        int reportLineNumber;
+        long reportCount = 0;
+        synchronized (run) {
+            isRepeat = run.mActive && run.mHash == hash;
+            if (isRepeat) {
+                if (run.mCount++ == 0) {
+                    mPendingRuns.incrementAndGet();
+                }
+                if (now - run.mStartTime >= mWindowMillis) {
+                    // 窗口结束，输出已有的重复次数，当前这条同样计入
+                    reportCount = run.mCount;
+                    run.mCount = 0;
+                    run.mStartTime = now;
+                    mPendingRuns.decrementAndGet();
+                }
+            } else {
+                reportCount = run.mCount;
+                if (reportCount > 0) {
+                    mPendingRuns.decrementAndGet();
+                }
+            }
+            reportLevel = run.mLevel;
+            reportThreadName = run.mThreadName;
+            reportLineNumber = run.mLineNumber;
+            if (!isRepeat) {
+                run.mActive = true;
+                run.mHash = hash;
+                run.mLevel = level;
+                run.mThreadName = threadName;
+                run.mLineNumber = lineNumber;
+                run.mCount = 0;
+                run.mStartTime = now;
+            }
+        }
+        if (reportCount > 0) {
+            reporter.report(reportLevel, tag, reportThreadName, reportLineNumber, reportCount);
+        }
+        return !isRepeat;
+    }
+
+    boolean hasPending() {
+        return mPendingRuns.get() > 0;
+    }
+
+    /**
+     * 是否到了检查过期窗口的时间，只有一个线程会得到 true
+     * Whether expired windows should be swept, only one thread gets true
+     */
+    boolean isSweepDue(long now) {
+        long next = mNextSweepTime.get();
+        return now >= next && mNextSweepTime.compareAndSet(next, now + mSweepInterval);
+    }
+
+    /**
+     * 输出窗口已结束的重复次数，force 为 true 时输出全部
+     * Report runs whose window has expired, or all runs if force is true
+     */
+    void sweep(long now, boolean force, Reporter reporter) {
+        if (!hasPending()) {
+            return;
+        }
+        for (Map.Entry<String, Run> entry : mRuns.entrySet()) {
+            Run run = entry.getValue();
+            int level;
+            String threadName;
+            int lineNumber;
+            long count;
+            synchronized (run) {
+                if (run.mCount == 0 || (!force && now - run.mStartTime < mWindowMillis)) {
+                    continue;
+                }
+                count = run.mCount;
+                level = run.mLevel;
+                threadName = run.mThreadName;
+                lineNumber = run.mLineNumber;
+                run.mCount = 0;
+                run.mStartTime = now;
+                mPendingRuns.decrementAndGet();
+            }
+            reporter.report(level, entry.getKey(), threadName, lineNumber, count);
+        }
+    }
+
+    private static final class Run {
+        boolean mActive;
+        int mHash;
+        int mLevel;
+        String mThreadName;
+        int mLineNumber;
+        long mCount;
+        long mStartTime;
+    }
+}
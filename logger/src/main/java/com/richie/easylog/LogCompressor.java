@@ -0,0 +1,105 @@
+package com.richie.easylog;
+
+import android.os.Process;
+import android.util.Log;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 日志压缩线程，在低优先级线程把已关闭的日志文件压缩为 gzip，不影响写线程
+ * Log compressor, gzips closed log files on a low priority thread without delaying the writer
+ *
+ * @author Richie on 2026.10.17
+ */
+final class LogCompressor implements Runnable {
+    /**
+     * 压缩文件后缀
+     * suffix of compressed file
+     */
+    static final String GZIP_SUFFIX = ".gz";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private final BlockingQueue<File> mQueue = new LinkedBlockingQueue<>();
+    private final LogStorage mStorage;
+    private final byte[] mBuffer = new byte[8 * 1024];
+
+    LogCompressor(LogStorage storage) {
+        mStorage = storage;
+    }
+
+    void start() {
+        Thread thread = new Thread(this, "EasyLog-Compressor");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    void enqueue(File logFile) {
+        mQueue.offer(logFile);
+    }
+
+    @Override
+    public void run() {
+        Process.setThreadPriority(Process.THREAD_PRIORITY_LOWEST);
+        while (true) {
+            try {
+                compress(mQueue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void compress(File logFile) {
+        if (!logFile.exists()) {
+            return;
+        }
+        File tempFile = new File(logFile.getPath() + GZIP_SUFFIX + TEMP_SUFFIX);
+        File gzipFile = new File(logFile.getPath() + GZIP_SUFFIX);
+        InputStream in = null;
+        OutputStream out = null;
+        boolean success = false;
+        try {
+            in = new FileInputStream(logFile);
+            out = new GZIPOutputStream(new FileOutputStream(tempFile), mBuffer.length);
+            int count;
+            while ((count = in.read(mBuffer)) != -1) {
+                out.write(mBuffer, 0, count);
+            }
+            out.close();
+            out = null;
+            success = tempFile.renameTo(gzipFile);
+        } catch (IOException e) {
+            Log.e(LoggerFactory.DEFAULT_TAG, "compress", e);
+        } finally {
+            closeQuietly(in);
+            closeQuietly(out);
+        }
+        if (!success) {
+            tempFile.delete();
+            return;
+        }
+        if (!mStorage.replaceSegment(logFile, gzipFile)) {
+            // 压缩期间原文件已被清理
+            gzipFile.delete();
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                Log.e(LoggerFactory.DEFAULT_TAG, "close", e);
+            }
+        }
+    }
+}
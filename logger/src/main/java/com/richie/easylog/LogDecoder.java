@@ -0,0 +1,256 @@
+package com.richie.easylog;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SimpleTimeZone;
+import java.util.TimeZone;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 二进制日志解码，把二进制日志文件还原为文本格式，纯 Java 实现，可在桌面 JVM 运行。
+ * 时间按文件头记录的设备时区输出，与设备上的文本日志一致
+ * Binary log decoder, turns binary log files back into text layout, pure Java and runs on desktop JVM.
+ * Times are printed in the device time zone recorded in file header, same as text logs on the device
+ * <p>
+ * 用法 / usage: 解码器不依赖 Android 类，直接使用 aar 中的 classes.jar
+ * the decoder doesn't depend on Android classes, so the classes.jar inside the aar works as is
+ * <pre>
+ * unzip -o logger-release.aar classes.jar
+ * java -cp classes.jar com.richie.easylog.LogDecoder input.elog[.gz] [output.log]
+ * </pre>
+ *
+ * @author Richie on 2026.10.17
+ * @see BinaryLogFormat
+ */
+public final class LogDecoder {
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private final DataInputStream mInput;
+    private final Writer mOutput;
+    private final List<String> mDictionary = new ArrayList<>(256);
+    private final StringBuilder mBuilder = new StringBuilder(256);
+    private long mLastTimeMillis;
+    private TimestampFormatter mTimestampFormatter = TimestampFormatter.RECORD;
+
+    private LogDecoder(InputStream input, Writer output) {
+        mInput = new DataInputStream(input);
+        mOutput = output;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: LogDecoder <input.elog[.gz]> [output.log]");
+            System.exit(1);
+        }
+        InputStream in = new FileInputStream(args[0]);
+        OutputStream out = args.length > 1 ? new FileOutputStream(args[1]) : System.out;
+        try {
+            if (args[0].endsWith(".gz")) {
+                in = new GZIPInputStream(in);
+            }
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, "UTF-8"));
+            decode(in, writer);
+            writer.flush();
+        } finally {
+            in.close();
+            if (out != System.out) {
+                out.close();
+            }
+        }
+    }
+
+    /**
+     * 解码二进制日志，输出与文本日志相同的格式
+     * Decode binary log into the same layout as text log file
+     *
+     * @param input  二进制日志
+     * @param output 文本输出
+     * @throws IOException 读写失败或格式错误
+     */
+    public static void decode(InputStream input, Writer output) throws IOException {
+        new LogDecoder(new BufferedInputStream(input), output).decode();
+    }
+
+    private void decode() throws IOException {
+        byte[] magic = new byte[BinaryLogFormat.MAGIC.length];
+        mInput.readFully(magic);
+        if (!Arrays.equals(magic, BinaryLogFormat.MAGIC)) {
+            throw new IOException("Not a binary log file");
+        }
+        int version = mInput.readUnsignedByte();
+        if (version == BinaryLogFormat.VERSION) {
+            int utcOffset = (int) BinaryLogFormat.zigZagDecode(readVarLong());
+            mTimestampFormatter = TimestampFormatter.forRecord(getTimeZone(utcOffset));
+        } else if (version != BinaryLogFormat.VERSION_NO_OFFSET) {
+            throw new IOException("Unsupported version: " + version);
+        }
+        while (true) {
+            int type = mInput.read();
+            if (type == -1) {
+                return;
+            }
+            switch (type) {
+                case BinaryLogFormat.RECORD_DEFINE:
+                    int id = (int) readVarLong();
+                    String value = readString();
+                    int index = id - BinaryLogFormat.FIRST_DICTIONARY_ID;
+                    while (mDictionary.size() <= index) {
+                        mDictionary.add(null);
+                    }
+                    mDictionary.set(index, value);
+                    break;
+                case BinaryLogFormat.RECORD_DEVICE_INFO:
+                    mOutput.write(readString());
+                    mOutput.write("\n\n");
+                    break;
+                case BinaryLogFormat.RECORD_TEXT:
+                    mOutput.write(readString());
+                    break;
+                case BinaryLogFormat.RECORD_EVENT:
+                    decodeEvent();
+                    break;
+                default:
+                    throw new IOException("Unknown record type: " + type);
+            }
+        }
+    }
+
+    private void decodeEvent() throws IOException {
+        mInput.readUnsignedByte();
+        long timeMillis = mLastTimeMillis + BinaryLogFormat.zigZagDecode(readVarLong());
+        mLastTimeMillis = timeMillis;
+        String tag = readRef();
+        String threadName = readRef();
+        long lineNumber = readVarLong();
+        String message = readRef();
+        int count = (int) readVarLong();
+        Object[] params = null;
+        if (count > 0) {
+            params = new Object[count - 1];
+            for (int i = 0; i < params.length; i++) {
+                params[i] = readParam();
+            }
+        }
+        String stackTrace = mInput.readUnsignedByte() != 0 ? readString() : null;
+
+        mBuilder.setLength(0);
+        mBuilder.append('\n');
+        mTimestampFormatter.formatMillis(timeMillis, mBuilder);
+        mBuilder.append(" || ")
+                .append(tag)
+                .append(" || [")
+                .append(threadName);
+        if (lineNumber == LoggerUtils.NO_LINE_NUMBER) {
+            mBuilder.append("] ");
+        } else {
+            mBuilder.append("](").append(lineNumber).append(") ");
+        }
+        mOutput.append(mBuilder);
+        mOutput.write(renderBody(message, params));
+        if (stackTrace != null) {
+            mOutput.write(" || ");
+            mOutput.write(stackTrace);
+        }
+    }
+
+    /**
+     * 固定偏移的时区，名称形如 GMT+08:00
+     * Time zone of fixed offset, named like GMT+08:00
+     */
+    private static TimeZone getTimeZone(int utcOffsetMillis) {
+        int minutes = Math.abs(utcOffsetMillis) / 60000;
+        String id = String.format(Locale.US, "GMT%c%02d:%02d", utcOffsetMillis < 0 ? '-' : '+', minutes / 60,
+                minutes % 60);
+        return new SimpleTimeZone(utcOffsetMillis, id);
+    }
+
+    private static String renderBody(String message, Object[] params) {
+        if (message == null) {
+            return params != null && params.length != 0 ? "Log format error" : "Null";
+        }
+        StringBuilder sb = new StringBuilder(message.length() + (params != null ? params.length * 16 : 0));
+        MessageTemplate.get(message).render(sb, params, MessageTemplate.PLAIN_APPENDER);
+        return sb.length() == 0 ? "Empty/Null" : sb.toString();
+    }
+
+    private Object readParam() throws IOException {
+        int type = mInput.readUnsignedByte();
+        switch (type) {
+            case BinaryLogFormat.PARAM_NULL:
+                return null;
+            case BinaryLogFormat.PARAM_STRING:
+                return readString();
+            case BinaryLogFormat.PARAM_INT:
+                return (int) BinaryLogFormat.zigZagDecode(readVarLong());
+            case BinaryLogFormat.PARAM_LONG:
+                return BinaryLogFormat.zigZagDecode(readVarLong());
+            case BinaryLogFormat.PARAM_DOUBLE:
+                return Double.longBitsToDouble(readFixed(8));
+            case BinaryLogFormat.PARAM_FLOAT:
+                return Float.intBitsToFloat((int) readFixed(4));
+            case BinaryLogFormat.PARAM_TRUE:
+                return Boolean.TRUE;
+            case BinaryLogFormat.PARAM_FALSE:
+                return Boolean.FALSE;
+            case BinaryLogFormat.PARAM_CHAR:
+                return (char) readVarLong();
+            default:
+                throw new IOException("Unknown param type: " + type);
+        }
+    }
+
+    private String readRef() throws IOException {
+        int ref = (int) readVarLong();
+        if (ref == BinaryLogFormat.REF_NULL) {
+            return null;
+        }
+        if (ref == BinaryLogFormat.REF_INLINE) {
+            return readString();
+        }
+        int index = ref - BinaryLogFormat.FIRST_DICTIONARY_ID;
+        if (index >= mDictionary.size() || mDictionary.get(index) == null) {
+            throw new IOException("Undefined dictionary id: " + ref);
+        }
+        return mDictionary.get(index);
+    }
+
+    private String readString() throws IOException {
+        int length = (int) readVarLong();
+        byte[] bytes = new byte[length];
+        mInput.readFully(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    private long readFixed(int bytes) throws IOException {
+        long value = 0;
+        for (int i = 0; i < bytes; i++) {
+            value |= (long) mInput.readUnsignedByte() << (i * 8);
+        }
+        return value;
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = mInput.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new EOFException("Malformed varint");
+    }
+}
@@ -0,0 +1,68 @@
+package com.richie.easylog;
+
+/**
+ * 交给 appender 的日志，消息和堆栈已在调用线程渲染，不可变
+ * Record handed to appenders, message and stack trace are rendered on the caller thread, immutable
+ *
+ * @author Richie on 2026.10.17
+ */
+public final class LogEvent {
+    private final int mLevel;
+    private final String mTag;
+    private final long mTimeMillis;
+    private final String mThreadName;
+    private final int mLineNumber;
+    private final String mMessage;
+    private final String mStackTrace;
+
+    LogEvent(int level, String tag, long timeMillis, String threadName, int lineNumber, String message,
+             String stackTrace) {
+        mLevel = level;
+        mTag = tag;
+        mTimeMillis = timeMillis;
+        mThreadName = threadName;
+        mLineNumber = lineNumber;
+        mMessage = message;
+        mStackTrace = stackTrace;
+    }
+
+    public int getLevel() {
+        return mLevel;
+    }
+
+    public String getTag() {
+        return mTag;
+    }
+
+    public long getTimeMillis() {
+        return mTimeMillis;
+    }
+
+    public String getThreadName() {
+        return mThreadName;
+    }
+
+    /**
+     * 调用方行号，未知或关闭调用信息时为 0
+     * Caller line number, 0 if unknown or caller info is disabled
+     */
+    public int getLineNumber() {
+        return mLineNumber;
+    }
+
+    /**
+     * 参数已填充的消息
+     * Message with params filled in
+     */
+    public String getMessage() {
+        return mMessage;
+    }
+
+    /**
+     * 异常堆栈，没有异常时为空
+     * Stack trace of throwable, null if there is none
+     */
+    public String getStackTrace() {
+        return mStackTrace;
+    }
+}
@@ -0,0 +1,101 @@
+package com.richie.easylog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * 日志文件输出，负责把字符编码为 UTF-8 写入缓冲区，缓冲区满时由子类落盘
+ * Log file sink, encodes chars into a byte buffer as UTF-8 and lets subclasses drain the buffer when it's full
+ *
+ * @author Richie on 2026.10.17
+ */
+abstract class LogFileSink {
+    static final Charset UTF_8 = Charset.forName("UTF-8");
+    /**
+     * 缓冲区最小容量
+     * min capacity of buffer
+     */
+    static final int MIN_BUFFER_SIZE = 4 * 1024;
+    private final CharsetEncoder mEncoder = UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    /**
+     * 已写入文件但尚未统计的字节数
+     * bytes written to file and not taken yet
+     */
+    private long mDrainedBytes;
+
+    void write(CharSequence content) throws IOException {
+        ByteBuffer buffer = buffer();
+        CharBuffer in = CharBuffer.wrap(content);
+        mEncoder.reset();
+        while (mEncoder.encode(in, buffer, true).isOverflow()) {
+            drain();
+        }
+        CoderResult result;
+        while ((result = mEncoder.flush(buffer)).isOverflow()) {
+            drain();
+        }
+        if (result.isUnderflow()) {
+            onWritten();
+        }
+    }
+
+    void write(byte[] data, int offset, int length) throws IOException {
+        ByteBuffer buffer = buffer();
+        while (length > 0) {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.put(data, offset, count);
+            offset += count;
+            length -= count;
+        }
+        onWritten();
+    }
+
+    void flush() throws IOException {
+        drain();
+    }
+
+    /**
+     * 取出已写入文件的字节数并清零
+     * Take bytes written to file since last call
+     */
+    long takeDrainedBytes() {
+        long drainedBytes = mDrainedBytes;
+        mDrainedBytes = 0;
+        return drainedBytes;
+    }
+
+    void onDrained(long bytes) {
+        mDrainedBytes += bytes;
+    }
+
+    /**
+     * 写入后的回调
+     * Called after a record is encoded into buffer
+     */
+    void onWritten() {
+    }
+
+    /**
+     * 编码目标缓冲区
+     * Buffer to encode into
+     */
+    abstract ByteBuffer buffer();
+
+    /**
+     * 把缓冲区内容写入文件并清空缓冲区
+     * Write the buffer into file and clear it
+     */
+    abstract void drain() throws IOException;
+
+    abstract void close() throws IOException;
+}
@@ -0,0 +1,535 @@
+package com.richie.easylog;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 文件日志写入线程，会话期间保持文件打开，批量写入并按阈值刷盘
+ * File log writer, keeps the log file open for the session, writes queued records in batches
+ * and flushes on size, time or level thresholds
+ *
+ * @author Richie on 2026.10.17
+ */
+final class LogFileWriter implements Runnable {
+    /**
+     * 单批次最多写入的日志条数
+     * max records written per batch
+     */
+    private static final int MAX_BATCH_SIZE = 256;
+    private static final int INITIAL_BUILDER_SIZE = 1024;
+    private static final int MAX_RETAINED_BUILDER_SIZE = 64 * 1024;
+    /**
+     * 单个文件最多记录的堆栈指纹数，超过后清空重新记录
+     * max stack fingerprints tracked per file, cleared when exceeded
+     */
+    private static final int MAX_WRITTEN_TRACES = 1024;
+    /**
+     * 待写入的日志队列，有界
+     * bounded queue of pending records
+     */
+    private final BlockingQueue<LogRecord> mQueue;
+    /**
+     * 队列满时丢弃的日志条数
+     * records dropped since the queue is full
+     */
+    private final AtomicLong mDroppedCount = new AtomicLong();
+    /**
+     * 文件输出的运行统计
+     * runtime statistics of file output
+     */
+    private final LogMetrics.Sink mMetrics = new LogMetrics.Sink();
+    /**
+     * 复用的批次容器，只在写线程访问
+     * reusable batch, accessed by writer thread only
+     */
+    private final List<LogRecord> mBatch = new ArrayList<>(MAX_BATCH_SIZE);
+    /**
+     * 当前打开的日志文件
+     * current opened log file
+     */
+    private LogFileSink mSink;
+    /**
+     * 当前写入的日志文件
+     * active log file
+     */
+    private File mLogFile;
+    /**
+     * 日志目录空间统计
+     * log directory usage
+     */
+    private LogStorage mStorage;
+    /**
+     * 日志压缩线程，未开启压缩时为空
+     * log compressor, null if compression is disabled
+     */
+    private LogCompressor mCompressor;
+    /**
+     * 当前文件已写入的大小
+     * size of active log file
+     */
+    private long mSegmentSize;
+    /**
+     * 当前文件的创建时间
+     * time when active log file is created
+     */
+    private long mSegmentCreateTime;
+    /**
+     * 当前文件是否为二进制格式
+     * whether active log file is in binary format
+     */
+    private boolean mBinary;
+    private final BinaryLogEncoder mEncoder = new BinaryLogEncoder();
+    /**
+     * 复用的文本缓冲区，只在写线程访问
+     * reusable text builder, accessed by writer thread only
+     */
+    private StringBuilder mContentBuilder = new StringBuilder(INITIAL_BUILDER_SIZE);
+    /**
+     * 文件的重复日志合并，未开启时为空
+     * Coalescer of log file, null if disabled
+     */
+    private LogCoalescer mCoalescer;
+    /**
+     * 待写入的重复次数记录
+     * pending records of repeat counts
+     */
+    private final List<LogRecord> mRepeatRecords = new ArrayList<>();
+    /**
+     * 当前文件已写入的堆栈指纹，重复的堆栈只写引用
+     * fingerprints of stack traces in active log file, repeated ones are written as references
+     */
+    private final Set<Long> mWrittenTraces = new HashSet<>();
+    private final LogCoalescer.Reporter mRepeatReporter = new LogCoalescer.Reporter() {
+        @Override
+        public void report(int level, String tag, String threadName, int lineNumber, long count) {
+            mRepeatRecords.add(LogRecord.event(level, tag, System.currentTimeMillis(), threadName, lineNumber,
+                    LogCoalescer.REPEATED_MESSAGE, new Object[]{count}, null));
+        }
+    };
+    /**
+     * 尚未刷盘的字符数
+     * chars written but not flushed yet
+     */
+    private int mPendingChars;
+    /**
+     * 第一条未刷盘日志的写入时间
+     * time of the first unflushed write
+     */
+    private long mPendingSince;
+
+    LogFileWriter(int queueCapacity) {
+        mQueue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    LogMetrics.Sink getMetrics() {
+        return mMetrics;
+    }
+
+    int getQueueSize() {
+        return mQueue.size();
+    }
+
+    int getQueueCapacity() {
+        return mQueue.size() + mQueue.remainingCapacity();
+    }
+
+    void start() {
+        Thread thread = new Thread(this, "EasyLog-Writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void enqueue(LogRecord record) {
+        if (mQueue.offer(record)) {
+            return;
+        }
+        LoggerConfig loggerConfig = LoggerFactory.getLoggerConfig();
+        if (loggerConfig.isStatsEnabled()) {
+            mMetrics.recordQueueDepth(getQueueCapacity());
+        }
+        switch (loggerConfig.getQueuePolicy()) {
+            case LoggerConfig.QUEUE_POLICY_BLOCK:
+                put(loggerConfig, record);
+                break;
+            case LoggerConfig.QUEUE_POLICY_DROP_OLDEST:
+                while (!mQueue.offer(record)) {
+                    if (mQueue.poll() != null) {
+                        drop(loggerConfig);
+                    }
+                }
+                break;
+            case LoggerConfig.QUEUE_POLICY_DROP_BELOW_LEVEL:
+                if (record.level >= loggerConfig.getQueueDropLevel()) {
+                    put(loggerConfig, record);
+                } else {
+                    drop(loggerConfig);
+                }
+                break;
+            case LoggerConfig.QUEUE_POLICY_DROP_NEWEST:
+            default:
+                drop(loggerConfig);
+        }
+    }
+
+    private void put(LoggerConfig loggerConfig, LogRecord record) {
+        try {
+            mQueue.put(record);
+        } catch (InterruptedException e) {
+            drop(loggerConfig);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drop(LoggerConfig loggerConfig) {
+        mDroppedCount.incrementAndGet();
+        if (loggerConfig.isStatsEnabled()) {
+            mMetrics.recordDropped();
+        }
+    }
+
+    @Override
+    public void run() {
+        LoggerConfig startConfig = LoggerFactory.getLoggerConfig();
+        if (startConfig.getFileMode() == LoggerConfig.FILE_MODE_MMAP) {
+            MappedFileSink.recover(new File(startConfig.getLogFileDir(), MappedFileSink.BUFFER_FILE_NAME));
+        }
+        mStorage = new LogStorage(new File(startConfig.getLogFileDir()));
+        mStorage.scan();
+        if (startConfig.isCompressEnabled()) {
+            mCompressor = new LogCompressor(mStorage);
+            mCompressor.start();
+            for (File file : mStorage.getUncompressedSegments(null)) {
+                mCompressor.enqueue(file);
+            }
+        }
+        while (true) {
+            try {
+                LoggerConfig loggerConfig = LoggerFactory.getLoggerConfig();
+                long timeout = -1;
+                if (mPendingChars > 0) {
+                    timeout = Math.max(mPendingSince + loggerConfig.getFlushInterval() - SystemClock.elapsedRealtime(), 0);
+                }
+                if (mCoalescer != null && mCoalescer.hasPending()) {
+                    // 有未输出的重复次数时定期醒来检查窗口
+                    long sweepInterval = mCoalescer.getSweepInterval();
+                    timeout = timeout < 0 ? sweepInterval : Math.min(timeout, sweepInterval);
+                }
+                LogRecord first = timeout < 0 ? mQueue.take() : mQueue.poll(timeout, TimeUnit.MILLISECONDS);
+                boolean sweep = mCoalescer != null && mCoalescer.hasPending()
+                        && mCoalescer.isSweepDue(System.currentTimeMillis());
+                boolean flushNow = false;
+                if (first != null) {
+                    if (loggerConfig.isStatsEnabled()) {
+                        mMetrics.recordQueueDepth(mQueue.size());
+                    }
+                    mBatch.add(first);
+                    mQueue.drainTo(mBatch, MAX_BATCH_SIZE - 1);
+                }
+                if (first != null || sweep) {
+                    flushNow = writeBatch(loggerConfig, sweep);
+                }
+                // 映射缓冲写满时自行落盘，无需按大小刷盘
+                boolean sizeExceeded = loggerConfig.getFileMode() != LoggerConfig.FILE_MODE_MMAP
+                        && mPendingChars >= loggerConfig.getFlushSize();
+                if (mPendingChars > 0 && (flushNow || sizeExceeded
+                        || SystemClock.elapsedRealtime() - mPendingSince >= loggerConfig.getFlushInterval())) {
+                    flush();
+                }
+                if (shouldRoll(loggerConfig)) {
+                    roll();
+                }
+            } catch (InterruptedException e) {
+                flush();
+                close();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 写入一个批次，返回是否需要立即刷盘
+     * Write one batch, return true if it should be flushed immediately
+     */
+    private boolean writeBatch(LoggerConfig loggerConfig, boolean sweep) {
+        boolean flushNow = false;
+        try {
+            if (shouldRoll(loggerConfig)) {
+                roll();
+            }
+            if (mSink == null) {
+                open(loggerConfig);
+            }
+            if (mSink == null) {
+                return false;
+            }
+            updateCoalescer(loggerConfig);
+            writeRepeatRecords();
+            if (mPendingChars == 0) {
+                mPendingSince = SystemClock.elapsedRealtime();
+            }
+            long droppedCount = mDroppedCount.getAndSet(0);
+            if (droppedCount > 0) {
+                writeRecord(LogRecord.event(LoggerConfig.WARN, LoggerFactory.DEFAULT_TAG, System.currentTimeMillis(),
+                        Thread.currentThread().getName(), 0, "********({} records dropped, log queue is full)********",
+                        new Object[]{droppedCount}, null));
+            }
+            for (LogRecord record : mBatch) {
+                if (mCoalescer != null) {
+                    boolean isNew = mCoalescer.offer(record.level, record.tag, record.threadName, record.lineNumber,
+                            hashRecord(record), System.currentTimeMillis(), mRepeatReporter);
+                    writeRepeatRecords();
+                    if (!isNew) {
+                        continue;
+                    }
+                }
+                writeRecord(record);
+                if (record.level >= loggerConfig.getFlushLevel()) {
+                    flushNow = true;
+                }
+            }
+            if (sweep && mCoalescer != null) {
+                mCoalescer.sweep(System.currentTimeMillis(), false, mRepeatReporter);
+                writeRepeatRecords();
+            }
+        } catch (IOException e) {
+            Log.e(LoggerFactory.DEFAULT_TAG, "writeBatch", e);
+            close();
+        } finally {
+            mBatch.clear();
+            mRepeatRecords.clear();
+            updateStorage(loggerConfig);
+        }
+        return flushNow;
+    }
+
+    /**
+     * 按配置创建或关闭重复日志合并，关闭时输出全部未输出的重复次数
+     * Create or remove the coalescer as configured, all pending repeat counts are written on removal
+     */
+    private void updateCoalescer(LoggerConfig loggerConfig) {
+        if (loggerConfig.isCoalesceRepeatsEnabled()) {
+            if (mCoalescer == null) {
+                mCoalescer = new LogCoalescer(loggerConfig.getCoalesceWindow());
+            }
+        } else if (mCoalescer != null) {
+            mCoalescer.sweep(System.currentTimeMillis(), true, mRepeatReporter);
+            mCoalescer = null;
+        }
+    }
+
+    private void writeRepeatRecords() throws IOException {
+        for (int i = 0; i < mRepeatRecords.size(); i++) {
+            writeRecord(mRepeatRecords.get(i));
+        }
+        mRepeatRecords.clear();
+    }
+
+    /**
+     * 日志的哈希，格式化的日志按文本计算，原始事件按消息、参数和调用位置计算
+     * Hash of record, formatted records hash the text, raw events hash the message, params and call site
+     */
+    private static int hashRecord(LogRecord record) {
+        if (record.isFormatted()) {
+            return LoggerUtils.hashLog(record.content, record.stackTrace);
+        }
+        int hash = record.message != null ? record.message.hashCode() : 0;
+        hash = 31 * hash + Arrays.deepHashCode(record.params);
+        hash = 31 * hash + (record.threadName != null ? record.threadName.hashCode() : 0);
+        hash = 31 * hash + record.lineNumber;
+        if (record.stackTrace != null) {
+            hash = 31 * hash + LoggerUtils.hashLog("", record.stackTrace);
+        }
+        return hash;
+    }
+
+    private void writeRecord(LogRecord record) throws IOException {
+        LoggerConfig loggerConfig = LoggerFactory.getLoggerConfig();
+        boolean stats = loggerConfig.isStatsEnabled();
+        long start = stats ? System.nanoTime() : 0;
+        boolean traceReference = isTraceWritten(record.stackTrace);
+        ObjectFormatter formatter = loggerConfig.getObjectFormatter();
+        if (mBinary && !record.isFormatted()) {
+            try {
+                mEncoder.encodeEvent(record, formatter, traceReference);
+            } catch (RuntimeException e) {
+                // 丢弃该条，不让异常结束写线程，撤销的字典项会在下次使用时重新定义
+                mEncoder.discardEvent();
+                discard(record, traceReference, e);
+                return;
+            }
+            mSink.write(mEncoder.getBuffer(), 0, mEncoder.getLength());
+            mPendingChars += mEncoder.getLength();
+        } else {
+            StringBuilder sb = mContentBuilder;
+            sb.setLength(0);
+            try {
+                LoggerUtils.appendLogContent(sb, record, formatter, traceReference);
+            } catch (RuntimeException e) {
+                discard(record, traceReference, e);
+                return;
+            }
+            if (mBinary) {
+                mEncoder.encodeText(sb);
+                mSink.write(mEncoder.getBuffer(), 0, mEncoder.getLength());
+                mPendingChars += mEncoder.getLength();
+            } else {
+                mSink.write(sb);
+                mPendingChars += sb.length();
+            }
+            if (sb.capacity() > MAX_RETAINED_BUILDER_SIZE) {
+                mContentBuilder = new StringBuilder(INITIAL_BUILDER_SIZE);
+            }
+        }
+        if (stats) {
+            mMetrics.recordWrite(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * 丢弃无法编码的日志，未写入的堆栈指纹一并移除
+     * Drop a record which can't be encoded, the fingerprint of its unwritten stack trace is removed as well
+     */
+    private void discard(LogRecord record, boolean traceReference, RuntimeException e) {
+        Log.e(LoggerFactory.DEFAULT_TAG, "writeRecord: drop record of " + record.tag, e);
+        if (!traceReference && record.stackTrace != null) {
+            mWrittenTraces.remove(record.stackTrace.fingerprint);
+        }
+        if (LoggerFactory.getLoggerConfig().isStatsEnabled()) {
+            mMetrics.recordDropped();
+        }
+    }
+
+    /**
+     * 堆栈是否已写入当前文件，未写入时记录指纹
+     * Whether the stack trace is already in active log file, its fingerprint is recorded if not
+     */
+    private boolean isTraceWritten(ThrowableRenderer.Trace stackTrace) {
+        if (stackTrace == null || stackTrace.isEmpty()) {
+            return false;
+        }
+        if (mWrittenTraces.size() >= MAX_WRITTEN_TRACES) {
+            mWrittenTraces.clear();
+        }
+        return !mWrittenTraces.add(stackTrace.fingerprint);
+    }
+
+    private void open(LoggerConfig loggerConfig) throws IOException {
+        boolean binary = loggerConfig.getFileFormat() == LoggerConfig.FILE_FORMAT_BINARY;
+        File logFile = LoggerUtils.createLogFile(binary ? LogStorage.BINARY_LOG_FILE_SUFFIX : LogStorage.LOG_FILE_SUFFIX);
+        if (logFile == null) {
+            Log.e(LoggerFactory.DEFAULT_TAG, "open: can't create log file, drop " + mBatch.size() + " records");
+            return;
+        }
+        if (loggerConfig.getFileMode() == LoggerConfig.FILE_MODE_MMAP) {
+            File bufferFile = new File(logFile.getParentFile(), MappedFileSink.BUFFER_FILE_NAME);
+            mSink = new MappedFileSink(bufferFile, logFile, loggerConfig.getMmapBufferSize());
+        } else {
+            mSink = new StreamFileSink(logFile, loggerConfig.getFlushSize());
+        }
+        mBinary = binary;
+        mWrittenTraces.clear();
+        String deviceInfo = LoggerUtils.getDeviceInfo();
+        if (binary) {
+            mEncoder.startFile(deviceInfo, TimeZone.getDefault().getOffset(System.currentTimeMillis()));
+            mSink.write(mEncoder.getBuffer(), 0, mEncoder.getLength());
+        } else {
+            mSink.write(deviceInfo + "\n\n");
+        }
+        mLogFile = logFile;
+        mSegmentSize = logFile.length();
+        mSegmentCreateTime = SystemClock.elapsedRealtime();
+        mStorage.addSegment(logFile);
+        updateStorage(loggerConfig);
+    }
+
+    /**
+     * 当前文件是否达到滚动的大小或时间
+     * Whether the active log file reaches the rolling size or interval
+     */
+    private boolean shouldRoll(LoggerConfig loggerConfig) {
+        if (mSink == null) {
+            return false;
+        }
+        long maxSegmentSize = loggerConfig.getMaxSegmentSize();
+        long rollInterval = loggerConfig.getRollInterval();
+        return (maxSegmentSize > 0 && mSegmentSize >= maxSegmentSize)
+                || (rollInterval > 0 && SystemClock.elapsedRealtime() - mSegmentCreateTime >= rollInterval);
+    }
+
+    /**
+     * 关闭当前文件，下次写入时创建新文件，开启压缩时交给压缩线程
+     * Close the active log file, a new one is created on next write, and compress the closed one if enabled
+     */
+    private void roll() {
+        close();
+        if (mCompressor != null && mLogFile != null) {
+            mCompressor.enqueue(mLogFile);
+        }
+        mLogFile = null;
+    }
+
+    /**
+     * 统计写入文件的字节数，超过上限时清理旧文件
+     * Account bytes written to file and evict old files when the quota is exceeded
+     */
+    private void updateStorage(LoggerConfig loggerConfig) {
+        if (mSink != null) {
+            addDrainedBytes(mSink.takeDrainedBytes());
+        }
+        mStorage.trim(loggerConfig.getMaxFileSize(), loggerConfig.getTrimFileSize(), mLogFile);
+    }
+
+    private void addDrainedBytes(long drainedBytes) {
+        mStorage.addSize(drainedBytes);
+        mSegmentSize += drainedBytes;
+        if (LoggerFactory.getLoggerConfig().isStatsEnabled()) {
+            mMetrics.recordBytes(drainedBytes);
+        }
+    }
+
+    private void flush() {
+        if (mSink == null) {
+            mPendingChars = 0;
+            return;
+        }
+        boolean stats = LoggerFactory.getLoggerConfig().isStatsEnabled();
+        long start = stats ? System.nanoTime() : 0;
+        try {
+            mSink.flush();
+            if (stats) {
+                mMetrics.recordFlush(System.nanoTime() - start);
+            }
+        } catch (IOException e) {
+            Log.e(LoggerFactory.DEFAULT_TAG, "flush", e);
+            close();
+        }
+        mPendingChars = 0;
+        updateStorage(LoggerFactory.getLoggerConfig());
+    }
+
+    private void close() {
+        if (mSink != null) {
+            try {
+                mSink.close();
+            } catch (IOException e) {
+                Log.e(LoggerFactory.DEFAULT_TAG, "close", e);
+            }
+            addDrainedBytes(mSink.takeDrainedBytes());
+            mSink = null;
+        }
+        mPendingChars = 0;
+    }
+}
@@ -0,0 +1,43 @@
+package com.richie.easylog;
+
+/**
+ * 把日志格式化为 appender 输出的文本，在 appender 的工作线程调用
+ * Formats a record into the text output by an appender, called on the worker thread of the appender
+ *
+ * @author Richie on 2026.10.17
+ */
+public interface LogFormatter {
+    /**
+     * 与日志文件相同的文本格式
+     * Same text layout as log file
+     */
+    LogFormatter TEXT = new LogFormatter() {
+        @Override
+        public void format(LogEvent event, StringBuilder sb) {
+            sb.append('\n');
+            TimestampFormatter.RECORD.formatMillis(event.getTimeMillis(), sb);
+            sb.append(" || ")
+                    .append(event.getTag())
+                    .append(" || [")
+                    .append(event.getThreadName());
+            if (event.getLineNumber() == LoggerUtils.NO_LINE_NUMBER) {
+                sb.append("] ");
+            } else {
+                sb.append("](").append(event.getLineNumber()).append(") ");
+            }
+            sb.append(event.getMessage());
+            if (event.getStackTrace() != null) {
+                sb.append(" || ").append(event.getStackTrace());
+            }
+        }
+    };
+
+    /**
+     * 格式化日志
+     * Format a record
+     *
+     * @param event 日志
+     * @param sb    输出的缓冲区
+     */
+    void format(LogEvent event, StringBuilder sb);
+}
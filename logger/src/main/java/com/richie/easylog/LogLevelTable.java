@@ -0,0 +1,96 @@
+package com.richie.easylog;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 不可变的日志级别表，包含全局级别和按 tag 设置的级别。tag 以 * 结尾时按前缀匹配，最长的前缀优先，精确匹配优先于前缀。
+ * 修改时生成新表，读取不需要加锁
+ * Immutable table of log levels, holds the global level and per-tag overrides. A tag ending with * matches by prefix,
+ * the longest prefix wins and an exact tag wins over prefixes. Changes create a new table, so reads need no lock
+ *
+ * @author Richie on 2026.10.17
+ */
+final class LogLevelTable {
+    private static final String WILDCARD = "*";
+    private final int mDefaultLevel;
+    /**
+     * 原始的 tag 规则，用于生成新表
+     * tag patterns as configured, used to create new tables
+     */
+    private final Map<String, Integer> mPatterns;
+    private final Map<String, Integer> mExactLevels;
+    /**
+     * 前缀按长度降序排列
+     * prefixes sorted by length in descending order
+     */
+    private final String[] mPrefixes;
+    private final int[] mPrefixLevels;
+
+    LogLevelTable(int defaultLevel, Map<String, Integer> patterns) {
+        mDefaultLevel = defaultLevel;
+        mPatterns = new LinkedHashMap<>(patterns);
+        mExactLevels = new HashMap<>();
+        Map<String, Integer> prefixLevels = new HashMap<>();
+        for (Map.Entry<String, Integer> entry : patterns.entrySet()) {
+            String pattern = entry.getKey();
+            if (pattern.endsWith(WILDCARD)) {
+                prefixLevels.put(pattern.substring(0, pattern.length() - WILDCARD.length()), entry.getValue());
+            } else {
+                mExactLevels.put(pattern, entry.getValue());
+            }
+        }
+        mPrefixes = prefixLevels.keySet().toArray(new String[prefixLevels.size()]);
+        // 插入排序，规则通常只有几条
+        for (int i = 1; i < mPrefixes.length; i++) {
+            String prefix = mPrefixes[i];
+            int j = i - 1;
+            while (j >= 0 && mPrefixes[j].length() < prefix.length()) {
+                mPrefixes[j + 1] = mPrefixes[j];
+                j--;
+            }
+            mPrefixes[j + 1] = prefix;
+        }
+        mPrefixLevels = new int[mPrefixes.length];
+        for (int i = 0; i < mPrefixes.length; i++) {
+            mPrefixLevels[i] = prefixLevels.get(mPrefixes[i]);
+        }
+    }
+
+    int getDefaultLevel() {
+        return mDefaultLevel;
+    }
+
+    int getLevel(String tag) {
+        if (tag == null || (mExactLevels.isEmpty() && mPrefixes.length == 0)) {
+            return mDefaultLevel;
+        }
+        Integer level = mExactLevels.get(tag);
+        if (level != null) {
+            return level;
+        }
+        for (int i = 0; i < mPrefixes.length; i++) {
+            if (tag.startsWith(mPrefixes[i])) {
+                return mPrefixLevels[i];
+            }
+        }
+        return mDefaultLevel;
+    }
+
+    LogLevelTable withDefaultLevel(int level) {
+        return new LogLevelTable(level, mPatterns);
+    }
+
+    LogLevelTable withTagLevel(String pattern, int level) {
+        Map<String, Integer> patterns = new LinkedHashMap<>(mPatterns);
+        patterns.put(pattern, level);
+        return new LogLevelTable(mDefaultLevel, patterns);
+    }
+
+    LogLevelTable withoutTagLevel(String pattern) {
+        Map<String, Integer> patterns = new LinkedHashMap<>(mPatterns);
+        patterns.remove(pattern);
+        return new LogLevelTable(mDefaultLevel, patterns);
+    }
+}
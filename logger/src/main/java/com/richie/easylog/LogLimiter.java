@@ -0,0 +1,237 @@
+package com.richie.easylog;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 日志限流，按 tag 或消息限制速率和采样，在格式化之前检查。被丢弃的日志定期汇总输出一条
+ * Log limiter, limits rate and samples records per tag or per message before any formatting.
+ * Suppressed records are summarized periodically
+ * <p>
+ * 速率限制使用 GCRA 实现的令牌桶，一次 CAS 即可判断；采样和丢弃计数使用分段计数器
+ * Rate limit is a token bucket implemented as GCRA which needs a single CAS, sampling and suppressed counts use
+ * striped counters
+ *
+ * @author Richie on 2026.10.17
+ */
+final class LogLimiter {
+    private static final String WILDCARD = "*";
+    /**
+     * 按消息限流时每个 tag 最多跟踪的消息数，超过后共用 tag 的限额
+     * max messages tracked per tag in message scope, further messages share the tag limit
+     */
+    private static final int MAX_MESSAGES_PER_TAG = 256;
+    private static final TagLimit NO_LIMIT = new TagLimit(null, null);
+    private final Map<String, Rule> mExactRules = new HashMap<>();
+    /**
+     * 前缀规则，按长度降序排列
+     * prefix rules sorted by length in descending order
+     */
+    private final List<String> mPrefixes = new ArrayList<>();
+    private final List<Rule> mPrefixRules = new ArrayList<>();
+    /**
+     * 已解析的 tag 限额，没有规则的 tag 对应 {@link #NO_LIMIT}
+     * resolved limits per tag, {@link #NO_LIMIT} for tags without rule
+     */
+    private final ConcurrentMap<String, TagLimit> mTagLimits = new ConcurrentHashMap<>();
+    private final long mReportIntervalNanos;
+    private final AtomicLong mNextReportTime;
+
+    LogLimiter(Map<String, Rule> rules, long reportIntervalMillis) {
+        for (Map.Entry<String, Rule> entry : rules.entrySet()) {
+            String pattern = entry.getKey();
+            if (pattern.endsWith(WILDCARD)) {
+                String prefix = pattern.substring(0, pattern.length() - WILDCARD.length());
+                int index = 0;
+                while (index < mPrefixes.size() && mPrefixes.get(index).length() >= prefix.length()) {
+                    index++;
+                }
+                mPrefixes.add(index, prefix);
+                mPrefixRules.add(index, entry.getValue());
+            } else {
+                mExactRules.put(pattern, entry.getValue());
+            }
+        }
+        mReportIntervalNanos = TimeUnit.MILLISECONDS.toNanos(reportIntervalMillis);
+        mNextReportTime = new AtomicLong(System.nanoTime() + mReportIntervalNanos);
+    }
+
+    /**
+     * 判断日志是否可以输出，不能输出时计入丢弃数
+     * Whether the record may be logged, it's counted as suppressed otherwise
+     */
+    boolean tryAcquire(String tag, String message) {
+        TagLimit tagLimit = mTagLimits.get(tag);
+        if (tagLimit == null) {
+            tagLimit = resolve(tag);
+        }
+        if (tagLimit == NO_LIMIT) {
+            return true;
+        }
+        Limit limit = tagLimit.getLimit(message);
+        if (limit.tryAcquire(System.nanoTime())) {
+            return true;
+        }
+        tagLimit.mSuppressed.increment();
+        return false;
+    }
+
+    /**
+     * 是否到了输出汇总的时间，只有一个线程会得到 true
+     * Whether the summary is due, only one thread gets true
+     */
+    boolean isReportDue() {
+        long next = mNextReportTime.get();
+        long now = System.nanoTime();
+        return now - next >= 0 && mNextReportTime.compareAndSet(next, now + mReportIntervalNanos);
+    }
+
+    /**
+     * 取出各 tag 被丢弃的日志数并清零
+     * Take suppressed counts per tag and reset them
+     */
+    Map<String, Long> takeSuppressed() {
+        Map<String, Long> suppressed = null;
+        for (Map.Entry<String, TagLimit> entry : mTagLimits.entrySet()) {
+            TagLimit tagLimit = entry.getValue();
+            if (tagLimit == NO_LIMIT) {
+                continue;
+            }
+            long count = tagLimit.mSuppressed.sumThenReset();
+            if (count > 0) {
+                if (suppressed == null) {
+                    suppressed = new LinkedHashMap<>();
+                }
+                suppressed.put(entry.getKey(), count);
+            }
+        }
+        return suppressed;
+    }
+
+    private TagLimit resolve(String tag) {
+        Rule rule = mExactRules.get(tag);
+        if (rule == null) {
+            for (int i = 0; i < mPrefixes.size(); i++) {
+                if (tag.startsWith(mPrefixes.get(i))) {
+                    rule = mPrefixRules.get(i);
+                    break;
+                }
+            }
+        }
+        TagLimit tagLimit = rule != null ? new TagLimit(rule, new Limit(rule)) : NO_LIMIT;
+        TagLimit previous = mTagLimits.putIfAbsent(tag, tagLimit);
+        return previous != null ? previous : tagLimit;
+    }
+
+    /**
+     * 限流规则
+     * Limit rule
+     */
+    static final class Rule {
+        int mScope = LoggerConfig.LIMIT_SCOPE_TAG;
+        /**
+         * 每秒允许的条数，0 表示不限
+         * records allowed per second, 0 means unlimited
+         */
+        int mPermitsPerSecond;
+        /**
+         * 允许的突发条数
+         * records allowed in a burst
+         */
+        int mBurst;
+        /**
+         * 每 N 条保留一条，1 表示不采样
+         * keep one record of every N, 1 means no sampling
+         */
+        int mSampleRate = 1;
+    }
+
+    private static final class TagLimit {
+        final Rule mRule;
+        /**
+         * tag 共用的限额
+         * limit shared by the tag
+         */
+        final Limit mTagLimit;
+        final ConcurrentMap<String, Limit> mMessageLimits;
+        final StripedCounter mSuppressed = new StripedCounter();
+
+        TagLimit(Rule rule, Limit tagLimit) {
+            mRule = rule;
+            mTagLimit = tagLimit;
+            mMessageLimits = rule != null && rule.mScope == LoggerConfig.LIMIT_SCOPE_MESSAGE
+                    ? new ConcurrentHashMap<String, Limit>() : null;
+        }
+
+        Limit getLimit(String message) {
+            if (mMessageLimits == null || message == null) {
+                return mTagLimit;
+            }
+            Limit limit = mMessageLimits.get(message);
+            if (limit == null) {
+                if (mMessageLimits.size() >= MAX_MESSAGES_PER_TAG) {
+                    return mTagLimit;
+                }
+                Limit newLimit = new Limit(mRule);
+                limit = mMessageLimits.putIfAbsent(message, newLimit);
+                if (limit == null) {
+                    limit = newLimit;
+                }
+            }
+            return limit;
+        }
+    }
+
+    private static final class Limit {
+        /**
+         * 令牌桶的发放间隔，0 表示不限速
+         * emission interval of token bucket, 0 means no rate limit
+         */
+        private final long mIntervalNanos;
+        /**
+         * 允许提前的时间，对应突发条数
+         * time allowed ahead of schedule, equals to the burst
+         */
+        private final long mToleranceNanos;
+        private final int mSampleRate;
+        /**
+         * 下一条日志的理论到达时间
+         * theoretical arrival time of next record
+         */
+        private final AtomicLong mArrivalTime = new AtomicLong(Long.MIN_VALUE);
+        private final StripedCounter mSampleCounter;
+
+        Limit(Rule rule) {
+            mIntervalNanos = rule.mPermitsPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / rule.mPermitsPerSecond : 0;
+            mToleranceNanos = mIntervalNanos * (Math.max(rule.mBurst, 1) - 1);
+            mSampleRate = Math.max(rule.mSampleRate, 1);
+            mSampleCounter = mSampleRate > 1 ? new StripedCounter() : null;
+        }
+
+        boolean tryAcquire(long now) {
+            if (mSampleCounter != null && mSampleCounter.increment() % mSampleRate != 1) {
+                return false;
+            }
+            if (mIntervalNanos == 0) {
+                return true;
+            }
+            while (true) {
+                long arrivalTime = mArrivalTime.get();
+                long start = arrivalTime == Long.MIN_VALUE || arrivalTime - now < 0 ? now : arrivalTime;
+                if (start - now > mToleranceNanos) {
+                    return false;
+                }
+                if (mArrivalTime.compareAndSet(arrivalTime, start + mIntervalNanos)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.richie.easylog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 日志运行统计，调用线程上的计数使用分段计数器。只在开启 {@link LoggerConfig#isStatsEnabled()} 时记录
+ * Runtime statistics of logging, counts on caller threads use striped counters. Recorded only if
+ * {@link LoggerConfig#isStatsEnabled()}
+ *
+ * @author Richie on 2026.10.17
+ */
+final class LogMetrics {
+    /**
+     * 最多单独统计的 tag 数，超过后计入 {@link LogStats#OTHER_TAGS}
+     * max tags counted separately, further tags are counted under {@link LogStats#OTHER_TAGS}
+     */
+    private static final int MAX_TAGS = 512;
+    private final StripedCounter[] mLevelCounts = new StripedCounter[LoggerConfig.ERROR - LoggerConfig.VERBOSE + 1];
+    /**
+     * 各 tag 的日志数，不同 tag 的计数本身是分散的，每个 tag 一个原子计数
+     * records per tag, counts of different tags are spread already, so a plain atomic per tag is enough
+     */
+    private final ConcurrentMap<String, AtomicLong> mTagCounts = new ConcurrentHashMap<>();
+    private final StripedCounter mFilteredCount = new StripedCounter();
+    private final Sink mLogcat = new Sink();
+
+    LogMetrics() {
+        for (int i = 0; i < mLevelCounts.length; i++) {
+            mLevelCounts[i] = new StripedCounter();
+        }
+    }
+
+    /**
+     * 记录通过级别和限流检查的日志
+     * Record a log passing level and limit checks
+     */
+    void recordLog(int level, String tag) {
+        int index = level - LoggerConfig.VERBOSE;
+        if (index >= 0 && index < mLevelCounts.length) {
+            mLevelCounts[index].increment();
+        }
+        AtomicLong tagCount = mTagCounts.get(tag);
+        if (tagCount == null) {
+            tagCount = obtainTagCount(tag);
+        }
+        tagCount.incrementAndGet();
+    }
+
+    void recordFiltered() {
+        mFilteredCount.increment();
+    }
+
+    Sink getLogcat() {
+        return mLogcat;
+    }
+
+    private AtomicLong obtainTagCount(String tag) {
+        if (mTagCounts.size() >= MAX_TAGS) {
+            tag = LogStats.OTHER_TAGS;
+        }
+        AtomicLong newCount = new AtomicLong();
+        AtomicLong tagCount = mTagCounts.putIfAbsent(tag, newCount);
+        return tagCount != null ? tagCount : newCount;
+    }
+
+    /**
+     * 生成快照，各计数分别读取，相互之间不保证一致
+     * Take a snapshot, counts are read one by one and aren't guaranteed to be consistent with each other
+     *
+     * @param fileWriter 文件写入线程，未启动时为空
+     * @param appenders  当前配置的 appender
+     */
+    LogStats snapshot(LogFileWriter fileWriter, AppenderWorker[] appenders) {
+        long[] levelCounts = new long[mLevelCounts.length];
+        for (int i = 0; i < levelCounts.length; i++) {
+            levelCounts[i] = mLevelCounts[i].sum();
+        }
+        Map<String, Long> tagCounts = new TreeMap<>();
+        for (Map.Entry<String, AtomicLong> entry : mTagCounts.entrySet()) {
+            tagCounts.put(entry.getKey(), entry.getValue().get());
+        }
+        List<LogStats.Sink> sinks = new ArrayList<>(appenders.length + 2);
+        sinks.add(mLogcat.snapshot(LogStats.SINK_LOGCAT, 0, 0));
+        if (fileWriter != null) {
+            sinks.add(fileWriter.getMetrics().snapshot(LogStats.SINK_FILE, fileWriter.getQueueSize(),
+                    fileWriter.getQueueCapacity()));
+        }
+        for (int i = 0; i < appenders.length; i++) {
+            AppenderWorker appender = appenders[i];
+            sinks.add(appender.getMetrics().snapshot(appender.getName() + '#' + i, appender.getQueueSize(),
+                    appender.getQueueCapacity()));
+        }
+        return new LogStats(levelCounts, tagCounts, mFilteredCount.sum(), sinks);
+    }
+
+    /**
+     * 单个输出的统计。logcat 在调用线程写入，文件和 appender 在各自的线程写入
+     * Statistics of an output. Logcat is written on caller threads, the file and appenders on their own threads
+     */
+    static final class Sink {
+        private final StripedCounter mRecords = new StripedCounter();
+        private final StripedCounter mBytes = new StripedCounter();
+        private final StripedCounter mDropped = new StripedCounter();
+        /**
+         * 队列最大深度，只在写线程取出日志和队列满时更新，并发更新可能丢失较小的值
+         * max queue depth, updated only when the writer takes records and when the queue is full,
+         * a smaller value may be lost under concurrent updates
+         */
+        private volatile int mQueueHighWater;
+        private final Histogram mWriteLatency = new Histogram();
+        private final Histogram mFlushLatency = new Histogram();
+
+        void recordWrite(long nanos) {
+            mRecords.increment();
+            mWriteLatency.record(nanos);
+        }
+
+        void recordBytes(long bytes) {
+            if (bytes > 0) {
+                mBytes.add(bytes);
+            }
+        }
+
+        void recordFlush(long nanos) {
+            mFlushLatency.record(nanos);
+        }
+
+        void recordDropped() {
+            mDropped.increment();
+        }
+
+        void recordQueueDepth(int depth) {
+            if (depth > mQueueHighWater) {
+                mQueueHighWater = depth;
+            }
+        }
+
+        LogStats.Sink snapshot(String name, int queueDepth, int queueCapacity) {
+            return new LogStats.Sink(name, mRecords.sum(), mBytes.sum(), mDropped.sum(), queueDepth,
+                    mQueueHighWater, queueCapacity, mWriteLatency.snapshot(), mFlushLatency.snapshot());
+        }
+    }
+
+    /**
+     * 耗时分布，第 i 个桶记录 [2^(i-1), 2^i) 微秒，第 0 个桶记录不足 1 微秒
+     * Latency distribution, bucket i holds [2^(i-1), 2^i) microseconds and bucket 0 holds less than 1 microsecond
+     */
+    static final class Histogram {
+        /**
+         * 桶数，最后一个桶记录 2^22 微秒（约 4 秒）以上
+         * number of buckets, the last one holds 2^22 microseconds (about 4 seconds) and more
+         */
+        private static final int BUCKETS = 24;
+        private final AtomicLongArray mBuckets = new AtomicLongArray(BUCKETS);
+        private final AtomicLong mTotalNanos = new AtomicLong();
+        private final AtomicLong mMaxNanos = new AtomicLong();
+
+        void record(long nanos) {
+            if (nanos < 0) {
+                nanos = 0;
+            }
+            long micros = nanos / 1000;
+            mBuckets.incrementAndGet(Math.min(64 - Long.numberOfLeadingZeros(micros), BUCKETS - 1));
+            mTotalNanos.addAndGet(nanos);
+            long max = mMaxNanos.get();
+            while (nanos > max && !mMaxNanos.compareAndSet(max, nanos)) {
+                max = mMaxNanos.get();
+            }
+        }
+
+        LogStats.Latency snapshot() {
+            long[] buckets = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = mBuckets.get(i);
+            }
+            return new LogStats.Latency(buckets, mTotalNanos.get(), mMaxNanos.get());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.richie.easylog;
+
+/**
+ * 一条待写入文件的日志，可以是已格式化的消息，也可以是未格式化的原始事件
+ * A record queued to file, either a formatted message or a raw event which is formatted by the writer
+ *
+ * @author Richie on 2026.10.17
+ */
+final class LogRecord {
+    final int level;
+    final String tag;
+    final long timeMillis;
+    final String threadName;
+    final int lineNumber;
+    /**
+     * 消息格式，参数用 {} 占位
+     * message format with {} placeholders
+     */
+    final String message;
+    /**
+     * 参数快照，只包含不可变对象
+     * snapshot of params, immutable objects only
+     */
+    final Object[] params;
+    /**
+     * 渲染后的异常堆栈
+     * rendered stack trace of throwable
+     */
+    final ThrowableRenderer.Trace stackTrace;
+    /**
+     * 已格式化的消息，包含线程名和行号，原始事件为空
+     * formatted message with thread name and line number, null for raw event
+     */
+    final String content;
+
+    private LogRecord(int level, String tag, long timeMillis, String threadName, int lineNumber,
+                      String message, Object[] params, ThrowableRenderer.Trace stackTrace, String content) {
+        this.level = level;
+        this.tag = tag;
+        this.timeMillis = timeMillis;
+        this.threadName = threadName;
+        this.lineNumber = lineNumber;
+        this.message = message;
+        this.params = params;
+        this.stackTrace = stackTrace;
+        this.content = content;
+    }
+
+    static LogRecord formatted(int level, String tag, long timeMillis, String threadName, int lineNumber,
+                               String content, ThrowableRenderer.Trace stackTrace) {
+        return new LogRecord(level, tag, timeMillis, threadName, lineNumber, null, null, stackTrace, content);
+    }
+
+    static LogRecord event(int level, String tag, long timeMillis, String threadName, int lineNumber,
+                           String message, Object[] params, ThrowableRenderer.Trace stackTrace) {
+        return new LogRecord(level, tag, timeMillis, threadName, lineNumber, message, params, stackTrace, null);
+    }
+
+    boolean isFormatted() {
+        return content != null;
+    }
+}
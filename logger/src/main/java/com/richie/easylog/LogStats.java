@@ -0,0 +1,324 @@
+package com.richie.easylog;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 日志运行统计的快照，通过 {@link LoggerFactory#getStats()} 获取，需要开启
+ * {@link LoggerConfig.Builder#statsEnabled(boolean)}。计数从进程启动开始累计
+ * Snapshot of logging statistics, obtained by {@link LoggerFactory#getStats()} once
+ * {@link LoggerConfig.Builder#statsEnabled(boolean)} is set. Counts accumulate since process start
+ *
+ * @author Richie on 2026.10.17
+ */
+public final class LogStats {
+    /**
+     * 输出名称
+     * Output names
+     */
+    public static final String SINK_LOGCAT = "logcat";
+    public static final String SINK_FILE = "file";
+    /**
+     * tag 过多时其余 tag 合并计数的名称
+     * name under which further tags are counted once there are too many tags
+     */
+    public static final String OTHER_TAGS = "*";
+    /**
+     * toString 中输出的 tag 数
+     * tags printed by toString
+     */
+    private static final int TOP_TAGS = 10;
+    private final long[] mLevelCounts;
+    private final Map<String, Long> mTagCounts;
+    private final long mFilteredCount;
+    private final List<Sink> mSinks;
+
+    LogStats(long[] levelCounts, Map<String, Long> tagCounts, long filteredCount, List<Sink> sinks) {
+        mLevelCounts = levelCounts;
+        mTagCounts = Collections.unmodifiableMap(tagCounts);
+        mFilteredCount = filteredCount;
+        mSinks = Collections.unmodifiableList(sinks);
+    }
+
+    /**
+     * 通过级别和限流检查的日志数
+     * Records passing level and limit checks
+     */
+    public long getRecords() {
+        long records = 0;
+        for (long count : mLevelCounts) {
+            records += count;
+        }
+        return records;
+    }
+
+    /**
+     * @param level {@link LoggerConfig#VERBOSE} 到 {@link LoggerConfig#ERROR}
+     */
+    public long getRecords(int level) {
+        int index = level - LoggerConfig.VERBOSE;
+        return index >= 0 && index < mLevelCounts.length ? mLevelCounts[index] : 0;
+    }
+
+    /**
+     * 各 tag 的日志数，tag 过多时其余的计入 {@link #OTHER_TAGS}
+     * Records per tag, once there are too many tags the rest are counted under {@link #OTHER_TAGS}
+     */
+    public Map<String, Long> getTagRecords() {
+        return mTagCounts;
+    }
+
+    /**
+     * 被限流和采样丢弃的日志数，不包含低于级别的日志
+     * Records suppressed by rate limit and sampling, records below the level are not counted
+     */
+    public long getFiltered() {
+        return mFilteredCount;
+    }
+
+    /**
+     * 各输出队列满时丢弃的日志数之和
+     * Sum of records dropped by all outputs since their queues are full
+     */
+    public long getDropped() {
+        long dropped = 0;
+        for (Sink sink : mSinks) {
+            dropped += sink.mDropped;
+        }
+        return dropped;
+    }
+
+    /**
+     * 各输出的统计，依次为 logcat、文件和 appender
+     * Statistics per output, logcat, file and appenders in order
+     */
+    public List<Sink> getSinks() {
+        return mSinks;
+    }
+
+    /**
+     * @param name {@link #SINK_LOGCAT}、{@link #SINK_FILE} 或 appender 的类名加序号，如 FileAppender#0
+     */
+    public Sink getSink(String name) {
+        for (Sink sink : mSinks) {
+            if (sink.mName.equals(name)) {
+                return sink;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(512);
+        sb.append("records ").append(getRecords())
+                .append(" (V ").append(getRecords(LoggerConfig.VERBOSE))
+                .append(", D ").append(getRecords(LoggerConfig.DEBUG))
+                .append(", I ").append(getRecords(LoggerConfig.INFO))
+                .append(", W ").append(getRecords(LoggerConfig.WARN))
+                .append(", E ").append(getRecords(LoggerConfig.ERROR))
+                .append("), filtered ").append(mFilteredCount)
+                .append(", dropped ").append(getDropped());
+        if (!mTagCounts.isEmpty()) {
+            List<Map.Entry<String, Long>> tags = new ArrayList<>(mTagCounts.entrySet());
+            Collections.sort(tags, new Comparator<Map.Entry<String, Long>>() {
+                @Override
+                public int compare(Map.Entry<String, Long> o1, Map.Entry<String, Long> o2) {
+                    return o2.getValue().compareTo(o1.getValue());
+                }
+            });
+            sb.append("\ntags:");
+            for (int i = 0; i < tags.size() && i < TOP_TAGS; i++) {
+                sb.append(i == 0 ? " " : ", ").append(tags.get(i).getKey()).append(' ').append(tags.get(i).getValue());
+            }
+            if (tags.size() > TOP_TAGS) {
+                sb.append(", ... (").append(tags.size() - TOP_TAGS).append(" more)");
+            }
+        }
+        for (Sink sink : mSinks) {
+            sb.append('\n').append(sink);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 单个输出的统计
+     * Statistics of an output
+     */
+    public static final class Sink {
+        private final String mName;
+        private final long mRecords;
+        private final long mBytes;
+        private final long mDropped;
+        private final int mQueueDepth;
+        private final int mQueueHighWater;
+        private final int mQueueCapacity;
+        private final Latency mWriteLatency;
+        private final Latency mFlushLatency;
+
+        Sink(String name, long records, long bytes, long dropped, int queueDepth, int queueHighWater,
+             int queueCapacity, Latency writeLatency, Latency flushLatency) {
+            mName = name;
+            mRecords = records;
+            mBytes = bytes;
+            mDropped = dropped;
+            mQueueDepth = queueDepth;
+            mQueueHighWater = queueHighWater;
+            mQueueCapacity = queueCapacity;
+            mWriteLatency = writeLatency;
+            mFlushLatency = flushLatency;
+        }
+
+        public String getName() {
+            return mName;
+        }
+
+        public long getRecords() {
+            return mRecords;
+        }
+
+        /**
+         * 写入的字节数，文件按实际写入计算，logcat 和 appender 按格式化后消息的 UTF-8 长度计算
+         * Bytes written, actual bytes for the file, UTF-8 length of the formatted message for logcat and appenders
+         */
+        public long getBytes() {
+            return mBytes;
+        }
+
+        public long getDropped() {
+            return mDropped;
+        }
+
+        /**
+         * 当前队列中的日志数，logcat 没有队列，为 0
+         * Records in the queue now, 0 for logcat which has no queue
+         */
+        public int getQueueDepth() {
+            return mQueueDepth;
+        }
+
+        /**
+         * 队列的最大深度，在写线程取出日志和队列满时采样
+         * Max depth of the queue, sampled when the writer takes records and when the queue is full
+         */
+        public int getQueueHighWater() {
+            return mQueueHighWater;
+        }
+
+        public int getQueueCapacity() {
+            return mQueueCapacity;
+        }
+
+        /**
+         * 每条日志写入的耗时，文件包含在写线程格式化的时间
+         * Time to write each record, for the file it includes formatting on writer thread
+         */
+        public Latency getWriteLatency() {
+            return mWriteLatency;
+        }
+
+        public Latency getFlushLatency() {
+            return mFlushLatency;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(160);
+            sb.append(mName).append(": records ").append(mRecords)
+                    .append(", bytes ").append(mBytes)
+                    .append(", dropped ").append(mDropped);
+            if (mQueueCapacity > 0) {
+                sb.append(", queue ").append(mQueueDepth).append('/').append(mQueueCapacity)
+                        .append(" (peak ").append(mQueueHighWater).append(')');
+            }
+            if (mWriteLatency.getCount() > 0) {
+                sb.append(", write ").append(mWriteLatency);
+            }
+            if (mFlushLatency.getCount() > 0) {
+                sb.append(", flush ").append(mFlushLatency);
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * 耗时分布，按 2 的幂微秒分桶，百分位为所在桶的上界
+     * Latency distribution in power of 2 microsecond buckets, percentiles are upper bounds of their buckets
+     */
+    public static final class Latency {
+        /**
+         * 第 i 个桶的上界为 2^i 微秒，最后一个桶没有上界
+         * the upper bound of bucket i is 2^i microseconds, the last bucket is unbounded
+         */
+        private final long[] mBuckets;
+        private final long mCount;
+        private final long mTotalNanos;
+        private final long mMaxNanos;
+
+        Latency(long[] buckets, long totalNanos, long maxNanos) {
+            long count = 0;
+            for (long bucket : buckets) {
+                count += bucket;
+            }
+            mBuckets = buckets;
+            mCount = count;
+            mTotalNanos = totalNanos;
+            mMaxNanos = maxNanos;
+        }
+
+        public long getCount() {
+            return mCount;
+        }
+
+        public long getTotalNanos() {
+            return mTotalNanos;
+        }
+
+        public long getMeanNanos() {
+            return mCount > 0 ? mTotalNanos / mCount : 0;
+        }
+
+        public long getMaxNanos() {
+            return mMaxNanos;
+        }
+
+        /**
+         * @param percentile 0 到 100
+         * @return 百分位耗时的上界，不超过最大值
+         */
+        public long getPercentileNanos(double percentile) {
+            if (mCount == 0) {
+                return 0;
+            }
+            long rank = Math.max((long) Math.ceil(mCount * percentile / 100), 1);
+            long seen = 0;
+            for (int i = 0; i < mBuckets.length - 1; i++) {
+                seen += mBuckets[i];
+                if (seen >= rank) {
+                    return Math.min(TimeUnit.MICROSECONDS.toNanos(1L << i), mMaxNanos);
+                }
+            }
+            return mMaxNanos;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(64);
+            sb.append("p50 ");
+            appendMicros(sb, getPercentileNanos(50));
+            sb.append(" p99 ");
+            appendMicros(sb, getPercentileNanos(99));
+            sb.append(" max ");
+            appendMicros(sb, mMaxNanos);
+            return sb.toString();
+        }
+
+        private static void appendMicros(StringBuilder sb, long nanos) {
+            sb.append(TimeUnit.NANOSECONDS.toMicros(nanos)).append("us");
+        }
+    }
+}
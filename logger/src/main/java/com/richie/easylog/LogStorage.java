@@ -0,0 +1,178 @@
+package com.richie.easylog;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.ListIterator;
+
+/**
+ * 日志目录空间统计，启动时扫描一次，之后根据写入和删除的字节数增量更新，超过上限时从最旧的日志文件开始删除
+ * Log directory usage, scanned once at startup and then updated incrementally with written and deleted bytes,
+ * the oldest log files are evicted first when the quota is exceeded.
+ * 写线程和压缩线程都会访问，方法均加锁
+ * Accessed by both writer and compressor thread, all methods are synchronized
+ *
+ * @author Richie on 2026.10.17
+ */
+final class LogStorage {
+    /**
+     * 日志文件后缀
+     * suffix of log file
+     */
+    static final String LOG_FILE_SUFFIX = ".log";
+    /**
+     * 二进制日志文件后缀
+     * suffix of binary log file
+     */
+    static final String BINARY_LOG_FILE_SUFFIX = ".elog";
+    private static final Comparator<File> OLDEST_FIRST = new Comparator<File>() {
+        @Override
+        public int compare(File f1, File f2) {
+            long m1 = f1.lastModified();
+            long m2 = f2.lastModified();
+            if (m1 != m2) {
+                return m1 < m2 ? -1 : 1;
+            }
+            return f1.getName().compareTo(f2.getName());
+        }
+    };
+    private final File mDir;
+    /**
+     * 日志文件，最旧的在前
+     * log files, oldest first
+     */
+    private final LinkedList<File> mSegments = new LinkedList<>();
+    /**
+     * 目录已占用的空间
+     * used size of directory
+     */
+    private long mUsedSize;
+
+    LogStorage(File dir) {
+        mDir = dir;
+    }
+
+    /**
+     * 扫描目录，只在启动时调用一次
+     * Scan the directory, called once at startup
+     */
+    synchronized void scan() {
+        mSegments.clear();
+        mUsedSize = 0;
+        File[] files = mDir.listFiles();
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, OLDEST_FIRST);
+        for (File file : files) {
+            if (file.isFile()) {
+                mUsedSize += file.length();
+                if (isSegment(file)) {
+                    mSegments.addLast(file);
+                }
+            } else {
+                mUsedSize += getFolderSize(file);
+            }
+        }
+    }
+
+    synchronized void addSegment(File file) {
+        if (!mSegments.contains(file)) {
+            mSegments.addLast(file);
+            mUsedSize += file.length();
+        }
+    }
+
+    synchronized void addSize(long size) {
+        mUsedSize += size;
+    }
+
+    synchronized long getUsedSize() {
+        return mUsedSize;
+    }
+
+    /**
+     * 超过上限时从最旧的日志文件开始删除，直到低于清理水位，当前写入的文件除外
+     * Evict the oldest log files until usage is under trim size when it exceeds max size, except the active one
+     */
+    synchronized void trim(long maxSize, long trimSize, File activeFile) {
+        if (mUsedSize <= maxSize) {
+            return;
+        }
+        Iterator<File> iterator = mSegments.iterator();
+        while (mUsedSize > trimSize && iterator.hasNext()) {
+            File file = iterator.next();
+            if (file.equals(activeFile)) {
+                continue;
+            }
+            long length = file.length();
+            if (file.delete() || !file.exists()) {
+                mUsedSize -= length;
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * 用压缩后的文件替换原文件，原文件已被清理时返回 false
+     * Replace a log file with its compressed file, return false if it has been evicted
+     */
+    synchronized boolean replaceSegment(File logFile, File compressedFile) {
+        ListIterator<File> iterator = mSegments.listIterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().equals(logFile)) {
+                long length = logFile.length();
+                if (!logFile.delete()) {
+                    return false;
+                }
+                iterator.set(compressedFile);
+                mUsedSize += compressedFile.length() - length;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 未压缩的日志文件，当前写入的文件除外
+     * Uncompressed log files except the active one
+     */
+    synchronized List<File> getUncompressedSegments(File activeFile) {
+        List<File> files = new ArrayList<>();
+        for (File file : mSegments) {
+            String name = file.getName();
+            if ((name.endsWith(LOG_FILE_SUFFIX) || name.endsWith(BINARY_LOG_FILE_SUFFIX)) && !file.equals(activeFile)) {
+                files.add(file);
+            }
+        }
+        return files;
+    }
+
+    private static boolean isSegment(File file) {
+        String name = file.getName();
+        if (name.endsWith(LogCompressor.GZIP_SUFFIX)) {
+            name = name.substring(0, name.length() - LogCompressor.GZIP_SUFFIX.length());
+        }
+        return name.endsWith(LOG_FILE_SUFFIX) || name.endsWith(BINARY_LOG_FILE_SUFFIX);
+    }
+
+    private static long getFolderSize(File folder) {
+        File[] files = folder.listFiles();
+        if (files == null) {
+            return 0;
+        }
+        long length = 0;
+        for (File file : files) {
+            if (file.isFile()) {
+                length += file.length();
+            } else {
+                length += getFolderSize(file);
+            }
+        }
+        return length;
+    }
+}
@@ -3,6 +3,14 @@ package com.richie.easylog;
 import android.content.Context;
 import android.util.Log;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * 日志配置
  * Logger config
@@ -15,6 +23,71 @@ public final class LoggerConfig {
      * 文件夹默认大小 10M
      */
     private static final long DEFAULT_DIRECTORY_SIZE = 10 * 1024 * 1024L;
+    /**
+     * 默认刷盘间隔 3 秒
+     * Default flush interval 3s
+     */
+    private static final long DEFAULT_FLUSH_INTERVAL = 3000L;
+    /**
+     * 默认刷盘缓冲大小 16K 字符
+     * Default flush buffer size 16K chars
+     */
+    private static final int DEFAULT_FLUSH_SIZE = 16 * 1024;
+    /**
+     * 默认内存映射缓冲大小 256K
+     * Default mapped buffer size 256K
+     */
+    private static final int DEFAULT_MMAP_BUFFER_SIZE = 256 * 1024;
+    /**
+     * 文件日志队列默认容量
+     * Default capacity of file log queue
+     */
+    private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    /**
+     * 级别表的版本号，所有配置共用，保证每次修改的版本号唯一
+     * version of level tables, shared by all configs so every change gets a unique version
+     */
+    private static final AtomicInteger LEVEL_GENERATION = new AtomicInteger();
+    /**
+     * 默认每 10 秒汇总一次被限流的日志
+     * Default interval of suppressed records summary 10s
+     */
+    private static final long DEFAULT_LIMIT_REPORT_INTERVAL = 10 * 1000L;
+    /**
+     * 默认合并 10 秒内的重复日志
+     * Default window of coalescing repeated records 10s
+     */
+    private static final long DEFAULT_COALESCE_WINDOW = 10 * 1000L;
+    /**
+     * 格式化 JSON 和 XML 默认最多输出 64K 字符
+     * Default max output of JSON and XML formatting 64K chars
+     */
+    private static final int DEFAULT_FORMAT_MAX_LENGTH = 64 * 1024;
+    /**
+     * 格式化 JSON 和 XML 默认最多展开 32 层
+     * Default max expanded depth of JSON and XML formatting 32
+     */
+    private static final int DEFAULT_FORMAT_MAX_DEPTH = 32;
+    /**
+     * 数组和 Bundle 默认最多输出 1024 个元素
+     * Default max elements output of arrays and bundles 1024
+     */
+    private static final int DEFAULT_RENDER_MAX_ELEMENTS = 1024;
+    /**
+     * 数组、Intent 和 Bundle 默认最多嵌套 8 层
+     * Default max nesting depth of arrays, intents and bundles 8
+     */
+    private static final int DEFAULT_RENDER_MAX_DEPTH = 8;
+    /**
+     * 字节数组默认最多输出 1024 字节
+     * Default max bytes output of byte arrays 1024
+     */
+    private static final int DEFAULT_RENDER_MAX_BYTES = 1024;
+    /**
+     * 字符串以外的参数默认最多输出 16K 个字符
+     * Default max chars output of a param other than strings 16K
+     */
+    private static final int DEFAULT_RENDER_MAX_LENGTH = 16 * 1024;
     /**
      * Logcat 日志开关，默认关闭
      * Logcat switch, default false
@@ -25,6 +98,11 @@ public final class LoggerConfig {
      * Output to file, default false
      */
     private boolean mLogFileEnabled;
+    /**
+     * 写入文件的最低级别，默认 VERBOSE，即只受日志级别限制
+     * Min level written to file, default VERBOSE so only the log level applies
+     */
+    private int mFileLogLevel;
     /**
      * 日志文件保存的目录，默认存放外置 cache 目录下
      * Directory to cache log file, default is in app external cache dir
@@ -35,11 +113,157 @@ public final class LoggerConfig {
      * Max size of directory to cache log file
      */
     private long mMaxFileSize;
+    /**
+     * 超过最大空间时，从最旧的文件开始删除，直到低于该值，默认为最大空间的 70%
+     * When max size is exceeded, the oldest files are deleted until usage is under this size, default 70% of max size
+     */
+    private long mTrimFileSize;
+    /**
+     * 单个日志文件的最大大小，超过后写入新文件，小于等于 0 表示不限制，默认不限制
+     * Max size of single log file before rolling to a new one, no limit if not positive, unlimited by default
+     */
+    private long mMaxSegmentSize;
+    /**
+     * 单个日志文件的最长写入时间，单位毫秒，超过后写入新文件，小于等于 0 表示不限制
+     * Max time in millis to write single log file before rolling to a new one, no limit if not positive
+     */
+    private long mRollInterval;
+    /**
+     * 是否把已关闭的日志文件压缩为 gzip，默认关闭
+     * Whether to gzip closed log files, default false
+     */
+    private boolean mCompressEnabled;
+    /**
+     * 是否在日志中输出调用行号，需要抓取调用栈，默认开启
+     * Whether to resolve the caller line number, which captures a stack trace per call, default true
+     */
+    private boolean mCallerInfoEnabled;
     private Context mContext;
     /**
-     * 日志级别，默认关闭
+     * 日志级别，包括按 tag 设置的级别，默认 DEBUG
+     * Log levels including per-tag overrides, default DEBUG
+     */
+    private volatile LogLevelTable mLevelTable;
+    /**
+     * 级别表的版本号，级别修改后更新，日志据此判断缓存的级别是否失效
+     * version of level table, updated on level changes, loggers use it to invalidate cached levels
+     */
+    private volatile int mLevelGeneration;
+    /**
+     * 文件日志刷盘间隔，单位毫秒
+     * Max time in millis that written records stay in buffer before flushing to file
+     */
+    private long mFlushInterval;
+    /**
+     * 文件日志缓冲大小，超过后刷盘
+     * Buffered size that triggers a flush to file
+     */
+    private int mFlushSize;
+    /**
+     * 达到该级别的日志立即刷盘，默认 ERROR
+     * Records at or above this level are flushed to file immediately, default ERROR
+     */
+    private int mFlushLevel;
+    /**
+     * 文件日志写入方式，默认文件流
+     * How records are written to file, default is stream
+     */
+    private int mFileMode;
+    /**
+     * 内存映射缓冲大小
+     * Size of mapped buffer in {@link #FILE_MODE_MMAP} mode
+     */
+    private int mMmapBufferSize;
+    /**
+     * 文件日志格式，默认文本
+     * Format of log file, default is text
+     */
+    private int mFileFormat;
+    /**
+     * 是否在写线程格式化文件日志，调用线程只保存参数快照，默认关闭
+     * Whether file records are formatted on writer thread, the caller only takes a snapshot of params, default false
+     */
+    private boolean mDeferredFormatEnabled;
+    /**
+     * 文件日志队列容量
+     * Capacity of file log queue
+     */
+    private int mQueueCapacity;
+    /**
+     * 文件日志队列满时的处理策略，默认丢弃新日志，不阻塞调用线程
+     * What to do when file log queue is full, the new record is dropped by default so the caller never blocks
+     */
+    private int mQueuePolicy;
+    /**
+     * {@link #QUEUE_POLICY_DROP_BELOW_LEVEL} 策略下，低于该级别的日志被丢弃，其余等待
+     * Records below this level are dropped and the others block in {@link #QUEUE_POLICY_DROP_BELOW_LEVEL} policy
+     */
+    private int mQueueDropLevel;
+    /**
+     * 日志限流，没有规则时为空
+     * Log limiter, null if there is no rule
+     */
+    private LogLimiter mLimiter;
+    /**
+     * 是否合并同一 tag 下连续重复的日志，默认关闭
+     * Whether to coalesce consecutive identical records of a tag, default false
+     */
+    private boolean mCoalesceRepeatsEnabled;
+    /**
+     * 重复日志的合并窗口，窗口结束时输出一次重复次数
+     * Window of coalescing, the repeat count is reported once the window expires
+     */
+    private long mCoalesceWindow;
+    /**
+     * logcat 的重复日志合并，未开启时为空
+     * Coalescer of logcat, null if disabled
+     */
+    private LogCoalescer mLogcatCoalescer;
+    /**
+     * 格式化 JSON 和 XML 的最大输出长度，超过后截断
+     * Max output length of JSON and XML formatting, truncated beyond it
+     */
+    private int mFormatMaxLength;
+    /**
+     * 格式化 JSON 和 XML 的最大展开深度，更深的节点折叠
+     * Max expanded depth of JSON and XML formatting, deeper nodes are collapsed
+     */
+    private int mFormatMaxDepth;
+    /**
+     * 异常堆栈每层最多输出的帧数，默认不限制
+     * Max frames printed per throwable, unlimited by default
+     */
+    private int mStackTraceMaxFrames;
+    /**
+     * 异常堆栈最多输出的原因层数，默认不限制
+     * Max depth of causes printed, unlimited by default
+     */
+    private int mStackTraceMaxCauses;
+    /**
+     * 日志参数的输出，包含元素数、深度、字节数和长度限制以及自定义输出
+     * Param formatter, holds limits of elements, depth, bytes and length and custom renderers
+     */
+    private ObjectFormatter mObjectFormatter;
+    /**
+     * 注册的 appender，每个有独立的队列和工作线程
+     * registered appenders, each has its own queue and worker thread
+     */
+    private AppenderWorker[] mAppenders;
+    /**
+     * 是否记录运行统计，默认关闭
+     * Whether to record runtime statistics, default false
+     */
+    private boolean mStatsEnabled;
+    /**
+     * 输出统计日志的间隔，0 表示不输出
+     * Interval of statistics records, 0 means no report
      */
-    private int mLogLevel = DEBUG;
+    private long mStatsReportInterval;
+    /**
+     * 下次输出统计日志的时间
+     * time of next statistics record
+     */
+    private AtomicLong mNextStatsReportTime;
 
     /**
      * Log level
@@ -51,6 +275,80 @@ public final class LoggerConfig {
     public static final int ERROR = Log.ERROR;
     public static final int OFF = 7;
 
+    /**
+     * File mode
+     * 文件流写入，按阈值刷盘
+     * write with file stream, flushed on thresholds
+     */
+    public static final int FILE_MODE_STREAM = 0;
+    /**
+     * 写入内存映射缓冲，进程被杀也不丢失，下次初始化时恢复
+     * write into memory-mapped buffer, which survives process kill and is recovered on next init
+     */
+    public static final int FILE_MODE_MMAP = 1;
+
+    /**
+     * File format
+     * 文本格式
+     * plain text
+     */
+    public static final int FILE_FORMAT_TEXT = 0;
+    /**
+     * 紧凑的二进制格式，消息格式只写一次，参数按类型编码，在写线程编码，用 {@link LogDecoder} 还原为文本
+     * compact binary format, message formats are written once and params are encoded by type on writer thread,
+     * use {@link LogDecoder} to turn it back into text
+     */
+    public static final int FILE_FORMAT_BINARY = 1;
+
+    /**
+     * Queue policy
+     * 队列满时等待，调用线程可能是主线程
+     * block the caller until queue has space, the caller may be the main thread
+     */
+    public static final int QUEUE_POLICY_BLOCK = 0;
+    /**
+     * 队列满时丢弃新日志
+     * drop the new record
+     */
+    public static final int QUEUE_POLICY_DROP_NEWEST = 1;
+    /**
+     * 队列满时丢弃最旧的日志
+     * drop the oldest queued record
+     */
+    public static final int QUEUE_POLICY_DROP_OLDEST = 2;
+    /**
+     * 队列满时丢弃低于指定级别的日志，其余等待，调用线程可能是主线程
+     * drop records below the drop level, block for the others, the caller may be the main thread
+     */
+    public static final int QUEUE_POLICY_DROP_BELOW_LEVEL = 3;
+
+    /**
+     * 同一 tag 的日志共用限额
+     * records of a tag share one limit
+     */
+    public static final int LIMIT_SCOPE_TAG = 0;
+    /**
+     * 同一 tag 下每个消息格式（即每个调用点）单独计算限额
+     * each message format, i.e. each call site, of a tag has its own limit
+     */
+    public static final int LIMIT_SCOPE_MESSAGE = 1;
+
+    /**
+     * Bytes format
+     * 十进制数组，与 Arrays.toString 相同
+     * decimal array, same as Arrays.toString
+     */
+    public static final int BYTES_FORMAT_DECIMAL = 0;
+    /**
+     * 十六进制
+     * hex string
+     */
+    public static final int BYTES_FORMAT_HEX = 1;
+    /**
+     * Base64
+     */
+    public static final int BYTES_FORMAT_BASE64 = 2;
+
     LoggerConfig() {
     }
 
@@ -62,6 +360,18 @@ public final class LoggerConfig {
         return mLogFileEnabled;
     }
 
+    public int getFileLogLevel() {
+        return mFileLogLevel;
+    }
+
+    /**
+     * 该级别的日志是否写入文件
+     * Whether records of the level are written to file
+     */
+    boolean isLogFileLoggable(int level) {
+        return mLogFileEnabled && level >= mFileLogLevel;
+    }
+
     public String getLogFileDir() {
         return mLogFileDir;
     }
@@ -74,32 +384,316 @@ public final class LoggerConfig {
         return mMaxFileSize;
     }
 
+    public long getFlushInterval() {
+        return mFlushInterval;
+    }
+
+    public int getFlushSize() {
+        return mFlushSize;
+    }
+
+    public int getFlushLevel() {
+        return mFlushLevel;
+    }
+
+    public int getFileMode() {
+        return mFileMode;
+    }
+
+    public int getMmapBufferSize() {
+        return mMmapBufferSize;
+    }
+
+    public int getFileFormat() {
+        return mFileFormat;
+    }
+
+    public boolean isDeferredFormatEnabled() {
+        return mDeferredFormatEnabled;
+    }
+
+    public int getQueueCapacity() {
+        return mQueueCapacity;
+    }
+
+    public int getQueuePolicy() {
+        return mQueuePolicy;
+    }
+
+    public int getQueueDropLevel() {
+        return mQueueDropLevel;
+    }
+
+    LogLimiter getLimiter() {
+        return mLimiter;
+    }
+
+    public boolean isCoalesceRepeatsEnabled() {
+        return mCoalesceRepeatsEnabled;
+    }
+
+    public long getCoalesceWindow() {
+        return mCoalesceWindow;
+    }
+
+    LogCoalescer getLogcatCoalescer() {
+        return mLogcatCoalescer;
+    }
+
+    public int getFormatMaxLength() {
+        return mFormatMaxLength;
+    }
+
+    public int getFormatMaxDepth() {
+        return mFormatMaxDepth;
+    }
+
+    public int getStackTraceMaxFrames() {
+        return mStackTraceMaxFrames;
+    }
+
+    public int getStackTraceMaxCauses() {
+        return mStackTraceMaxCauses;
+    }
+
+    ObjectFormatter getObjectFormatter() {
+        return mObjectFormatter;
+    }
+
+    AppenderWorker[] getAppenders() {
+        return mAppenders;
+    }
+
+    /**
+     * 是否有任何日志输出
+     * Whether any output is enabled
+     */
+    boolean isOutputEnabled() {
+        return mLogcatEnabled || mLogFileEnabled || mAppenders.length != 0;
+    }
+
+    /**
+     * 停止 appender 的工作线程，重新初始化时调用
+     * Stop worker threads of appenders, called on re-init
+     */
+    void stopAppenders() {
+        for (AppenderWorker appender : mAppenders) {
+            appender.stop();
+        }
+    }
+
+    public boolean isStatsEnabled() {
+        return mStatsEnabled;
+    }
+
+    public long getStatsReportInterval() {
+        return mStatsReportInterval;
+    }
+
+    /**
+     * 是否到了输出统计日志的时间，只有一个线程会得到 true
+     * Whether the statistics record is due, only one thread gets true
+     */
+    boolean isStatsReportDue() {
+        if (mStatsReportInterval <= 0) {
+            return false;
+        }
+        long next = mNextStatsReportTime.get();
+        long now = System.nanoTime();
+        return now - next >= 0 && mNextStatsReportTime.compareAndSet(next,
+                now + TimeUnit.MILLISECONDS.toNanos(mStatsReportInterval));
+    }
+
+    public long getTrimFileSize() {
+        return mTrimFileSize;
+    }
+
+    public long getMaxSegmentSize() {
+        return mMaxSegmentSize;
+    }
+
+    public long getRollInterval() {
+        return mRollInterval;
+    }
+
+    public boolean isCompressEnabled() {
+        return mCompressEnabled;
+    }
+
+    public boolean isCallerInfoEnabled() {
+        return mCallerInfoEnabled;
+    }
+
     public boolean isLoggable(int level) {
-        return level >= mLogLevel;
+        return level >= mLevelTable.getDefaultLevel();
+    }
+
+    public boolean isLoggable(String tag, int level) {
+        return level >= mLevelTable.getLevel(tag);
+    }
+
+    public int getLogLevel() {
+        return mLevelTable.getDefaultLevel();
+    }
+
+    /**
+     * 获取 tag 生效的日志级别
+     * Get the effective log level of tag
+     *
+     * @param tag tag
+     * @return level
+     */
+    public int getLogLevel(String tag) {
+        return mLevelTable.getLevel(tag);
+    }
+
+    /**
+     * 运行时修改全局日志级别
+     * Change the global log level at runtime
+     *
+     * @param logLevel 日志级别
+     */
+    public synchronized void setLogLevel(int logLevel) {
+        updateLevelTable(mLevelTable.withDefaultLevel(logLevel));
+    }
+
+    /**
+     * 运行时修改 tag 的日志级别，以 * 结尾时按前缀匹配，例如 net.*
+     * Change the log level of a tag at runtime, a tag ending with * matches by prefix, e.g. net.*
+     *
+     * @param tag      tag 或前缀
+     * @param logLevel 日志级别
+     */
+    public synchronized void setTagLevel(String tag, int logLevel) {
+        if (tag == null) {
+            return;
+        }
+        updateLevelTable(mLevelTable.withTagLevel(tag, logLevel));
+    }
+
+    /**
+     * 移除 tag 的日志级别，恢复使用全局级别
+     * Remove the log level of a tag, the global level is used again
+     *
+     * @param tag tag 或前缀
+     */
+    public synchronized void removeTagLevel(String tag) {
+        if (tag == null) {
+            return;
+        }
+        updateLevelTable(mLevelTable.withoutTagLevel(tag));
+    }
+
+    int getLevelGeneration() {
+        return mLevelGeneration;
+    }
+
+    private void updateLevelTable(LogLevelTable levelTable) {
+        // 先写级别表再写版本号，读到新版本号时一定能读到新表
+        mLevelTable = levelTable;
+        mLevelGeneration = LEVEL_GENERATION.incrementAndGet();
     }
 
     public static class Builder {
         private boolean mLogcatEnabled = false;
         private boolean mLogFileEnabled = false;
+        private int mFileLogLevel = VERBOSE;
         private long mMaxFileSize = DEFAULT_DIRECTORY_SIZE;
+        private long mTrimFileSize;
+        private long mMaxSegmentSize;
+        private long mRollInterval;
+        private boolean mCompressEnabled;
+        private boolean mCallerInfoEnabled = true;
         private String mLogFileDir;
         private Context mContext;
         private int mLogLevel = DEBUG;
+        private final Map<String, Integer> mTagLevels = new LinkedHashMap<>();
+        private long mFlushInterval = DEFAULT_FLUSH_INTERVAL;
+        private int mFlushSize = DEFAULT_FLUSH_SIZE;
+        private int mFlushLevel = ERROR;
+        private int mFileMode = FILE_MODE_STREAM;
+        private int mMmapBufferSize = DEFAULT_MMAP_BUFFER_SIZE;
+        private int mFileFormat = FILE_FORMAT_TEXT;
+        private boolean mDeferredFormatEnabled;
+        private int mQueueCapacity = DEFAULT_QUEUE_CAPACITY;
+        private int mQueuePolicy = QUEUE_POLICY_DROP_NEWEST;
+        private int mQueueDropLevel = WARN;
+        private final Map<String, LogLimiter.Rule> mLimitRules = new LinkedHashMap<>();
+        private long mLimitReportInterval = DEFAULT_LIMIT_REPORT_INTERVAL;
+        private boolean mCoalesceRepeatsEnabled;
+        private long mCoalesceWindow = DEFAULT_COALESCE_WINDOW;
+        private int mFormatMaxLength = DEFAULT_FORMAT_MAX_LENGTH;
+        private int mFormatMaxDepth = DEFAULT_FORMAT_MAX_DEPTH;
+        private int mStackTraceMaxFrames = Integer.MAX_VALUE;
+        private int mStackTraceMaxCauses = Integer.MAX_VALUE;
+        private int mRenderMaxElements = DEFAULT_RENDER_MAX_ELEMENTS;
+        private int mRenderMaxDepth = DEFAULT_RENDER_MAX_DEPTH;
+        private int mRenderMaxBytes = DEFAULT_RENDER_MAX_BYTES;
+        private int mRenderMaxLength = DEFAULT_RENDER_MAX_LENGTH;
+        private int mBytesFormat = BYTES_FORMAT_DECIMAL;
+        private final Map<Class<?>, ObjectRenderer<?>> mObjectRenderers = new LinkedHashMap<>();
+        private final List<AppenderConfig> mAppenders = new ArrayList<>();
+        private boolean mStatsEnabled;
+        private long mStatsReportInterval;
 
         public LoggerConfig build() {
             LoggerConfig loggerConfig = new LoggerConfig();
             loggerConfig.mContext = mContext.getApplicationContext();
             loggerConfig.mLogcatEnabled = mLogcatEnabled;
             loggerConfig.mLogFileEnabled = mLogFileEnabled;
+            loggerConfig.mFileLogLevel = mFileLogLevel;
             loggerConfig.mLogFileDir = mLogFileDir;
-            loggerConfig.mMaxFileSize = mMaxFileSize;
-            loggerConfig.mLogLevel = mLogLevel;
+            loggerConfig.mMaxFileSize = mMaxFileSize > 0 ? mMaxFileSize : DEFAULT_DIRECTORY_SIZE;
+            if (mTrimFileSize > 0 && mTrimFileSize < loggerConfig.mMaxFileSize) {
+                loggerConfig.mTrimFileSize = mTrimFileSize;
+            } else {
+                loggerConfig.mTrimFileSize = loggerConfig.mMaxFileSize * 7 / 10;
+            }
+            loggerConfig.mMaxSegmentSize = mMaxSegmentSize;
+            loggerConfig.mRollInterval = mRollInterval;
+            loggerConfig.mCompressEnabled = mCompressEnabled;
+            loggerConfig.mCallerInfoEnabled = mCallerInfoEnabled;
+            loggerConfig.updateLevelTable(new LogLevelTable(mLogLevel, mTagLevels));
+            loggerConfig.mFlushInterval = mFlushInterval > 0 ? mFlushInterval : DEFAULT_FLUSH_INTERVAL;
+            loggerConfig.mFlushSize = mFlushSize > 0 ? mFlushSize : DEFAULT_FLUSH_SIZE;
+            loggerConfig.mFlushLevel = mFlushLevel;
+            loggerConfig.mFileMode = mFileMode;
+            loggerConfig.mMmapBufferSize = mMmapBufferSize > 0 ? mMmapBufferSize : DEFAULT_MMAP_BUFFER_SIZE;
+            loggerConfig.mFileFormat = mFileFormat;
+            loggerConfig.mDeferredFormatEnabled = mDeferredFormatEnabled;
+            loggerConfig.mQueueCapacity = mQueueCapacity > 0 ? mQueueCapacity : DEFAULT_QUEUE_CAPACITY;
+            loggerConfig.mQueuePolicy = mQueuePolicy;
+            loggerConfig.mQueueDropLevel = mQueueDropLevel;
+            loggerConfig.mCoalesceRepeatsEnabled = mCoalesceRepeatsEnabled;
+            loggerConfig.mCoalesceWindow = mCoalesceWindow > 0 ? mCoalesceWindow : DEFAULT_COALESCE_WINDOW;
+            if (mCoalesceRepeatsEnabled && mLogcatEnabled) {
+                loggerConfig.mLogcatCoalescer = new LogCoalescer(loggerConfig.mCoalesceWindow);
+            }
+            loggerConfig.mFormatMaxLength = mFormatMaxLength > 0 ? mFormatMaxLength : DEFAULT_FORMAT_MAX_LENGTH;
+            loggerConfig.mFormatMaxDepth = mFormatMaxDepth > 0 ? mFormatMaxDepth : DEFAULT_FORMAT_MAX_DEPTH;
+            loggerConfig.mStackTraceMaxFrames = mStackTraceMaxFrames > 0 ? mStackTraceMaxFrames : Integer.MAX_VALUE;
+            loggerConfig.mStackTraceMaxCauses = mStackTraceMaxCauses >= 0 ? mStackTraceMaxCauses : Integer.MAX_VALUE;
+            loggerConfig.mObjectFormatter = new ObjectFormatter(
+                    mRenderMaxElements > 0 ? mRenderMaxElements : DEFAULT_RENDER_MAX_ELEMENTS,
+                    mRenderMaxDepth > 0 ? mRenderMaxDepth : DEFAULT_RENDER_MAX_DEPTH,
+                    mRenderMaxBytes > 0 ? mRenderMaxBytes : DEFAULT_RENDER_MAX_BYTES,
+                    mRenderMaxLength > 0 ? mRenderMaxLength : DEFAULT_RENDER_MAX_LENGTH,
+                    mBytesFormat, mObjectRenderers);
+            loggerConfig.mAppenders = new AppenderWorker[mAppenders.size()];
+            for (int i = 0; i < mAppenders.size(); i++) {
+                loggerConfig.mAppenders[i] = new AppenderWorker(mAppenders.get(i));
+            }
+            loggerConfig.mStatsReportInterval = Math.max(mStatsReportInterval, 0);
+            loggerConfig.mStatsEnabled = mStatsEnabled || loggerConfig.mStatsReportInterval > 0;
+            loggerConfig.mNextStatsReportTime = new AtomicLong(System.nanoTime()
+                    + TimeUnit.MILLISECONDS.toNanos(loggerConfig.mStatsReportInterval));
+            if (!mLimitRules.isEmpty()) {
+                loggerConfig.mLimiter = new LogLimiter(mLimitRules, mLimitReportInterval > 0
+                        ? mLimitReportInterval : DEFAULT_LIMIT_REPORT_INTERVAL);
+            }
             if (mLogFileEnabled && LoggerUtils.isEmpty(mLogFileDir)) {
                 loggerConfig.mLogFileDir = LoggerUtils.getLogFileDir(mContext).getAbsolutePath();
             }
-            if (mMaxFileSize <= 0) {
-                mMaxFileSize = DEFAULT_DIRECTORY_SIZE;
-            }
             return loggerConfig;
         }
 
@@ -118,6 +712,15 @@ public final class LoggerConfig {
             return this;
         }
 
+        /**
+         * 写入文件的最低级别，可以让低级别日志只进入 {@link RingBufferAppender} 等 appender
+         * Min level written to file, lets low level records go to appenders such as {@link RingBufferAppender} only
+         */
+        public Builder fileLogLevel(int fileLogLevel) {
+            mFileLogLevel = fileLogLevel;
+            return this;
+        }
+
         public Builder logFireDir(String logFileDir) {
             mLogFileDir = logFileDir;
             return this;
@@ -128,9 +731,307 @@ public final class LoggerConfig {
             return this;
         }
 
+        public Builder trimFileSize(long trimFileSize) {
+            mTrimFileSize = trimFileSize;
+            return this;
+        }
+
+        /**
+         * 按大小滚动日志文件，默认关闭，整个进程写入同一个文件
+         * Roll log file by size, disabled by default so the whole process writes one file
+         *
+         * @param maxSegmentSize 单个文件的最大字节数，小于等于 0 表示不滚动
+         */
+        public Builder maxSegmentSize(long maxSegmentSize) {
+            mMaxSegmentSize = maxSegmentSize;
+            return this;
+        }
+
+        /**
+         * 按时间滚动日志文件，默认关闭
+         * Roll log file by time, disabled by default
+         *
+         * @param rollInterval 单个文件的最长写入毫秒数，小于等于 0 表示不滚动
+         */
+        public Builder rollInterval(long rollInterval) {
+            mRollInterval = rollInterval;
+            return this;
+        }
+
+        public Builder compressEnabled(boolean compressEnabled) {
+            mCompressEnabled = compressEnabled;
+            return this;
+        }
+
+        /**
+         * 是否输出调用行号，默认开启。每条通过级别检查的日志都会抓取一次完整的调用栈，是日志最主要的开销，
+         * 发布版本或高频日志建议关闭。调用位置只能从调用栈得知，因此不按调用位置缓存
+         * Whether to print the caller line number, default true. Every record passing the level check captures the
+         * whole stack once, which is the major cost of logging, so turn it off for release builds or hot loops.
+         * The call site is only known from the stack, so nothing is cached per call site
+         */
+        public Builder callerInfoEnabled(boolean callerInfoEnabled) {
+            mCallerInfoEnabled = callerInfoEnabled;
+            return this;
+        }
+
         public Builder logLevel(int logLevel) {
             mLogLevel = logLevel;
             return this;
         }
+
+        /**
+         * 设置 tag 的日志级别，以 * 结尾时按前缀匹配，例如 net.*
+         * Set the log level of a tag, a tag ending with * matches by prefix, e.g. net.*
+         */
+        public Builder tagLevel(String tag, int logLevel) {
+            if (tag != null) {
+                mTagLevels.put(tag, logLevel);
+            }
+            return this;
+        }
+
+        public Builder flushInterval(long flushInterval) {
+            mFlushInterval = flushInterval;
+            return this;
+        }
+
+        public Builder flushSize(int flushSize) {
+            mFlushSize = flushSize;
+            return this;
+        }
+
+        public Builder flushLevel(int flushLevel) {
+            mFlushLevel = flushLevel;
+            return this;
+        }
+
+        public Builder fileMode(int fileMode) {
+            mFileMode = fileMode;
+            return this;
+        }
+
+        public Builder mmapBufferSize(int mmapBufferSize) {
+            mMmapBufferSize = mmapBufferSize;
+            return this;
+        }
+
+        public Builder fileFormat(int fileFormat) {
+            mFileFormat = fileFormat;
+            return this;
+        }
+
+        public Builder deferredFormatEnabled(boolean deferredFormatEnabled) {
+            mDeferredFormatEnabled = deferredFormatEnabled;
+            return this;
+        }
+
+        /**
+         * 文件日志队列容量，默认 1024。写线程在第一次写文件或以 mmap 模式 init 时按当时的配置创建队列，
+         * 之后再次 init 修改容量不生效，只输出警告
+         * Capacity of file log queue, 1024 by default. The writer thread creates the queue with the config in use
+         * at the first file write, or at init in mmap mode. Later init calls with another capacity don't change it
+         * and only log a warning
+         */
+        public Builder queueCapacity(int queueCapacity) {
+            mQueueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * 文件日志队列满时的处理，默认 {@link #QUEUE_POLICY_DROP_NEWEST}，丢弃数写入日志文件。
+         * {@link #QUEUE_POLICY_BLOCK} 和 {@link #QUEUE_POLICY_DROP_BELOW_LEVEL} 会阻塞调用线程直到写线程腾出空间
+         * Policy when file log queue is full, {@link #QUEUE_POLICY_DROP_NEWEST} by default and dropped counts are
+         * written to the log file. {@link #QUEUE_POLICY_BLOCK} and {@link #QUEUE_POLICY_DROP_BELOW_LEVEL} block the
+         * caller until the writer thread makes room
+         */
+        public Builder queuePolicy(int queuePolicy) {
+            mQueuePolicy = queuePolicy;
+            return this;
+        }
+
+        public Builder queueDropLevel(int queueDropLevel) {
+            mQueueDropLevel = queueDropLevel;
+            return this;
+        }
+
+        /**
+         * 限制日志速率，超过的日志被丢弃并定期汇总。tag 以 * 结尾时按前缀匹配，* 匹配所有 tag
+         * Limit log rate, excess records are dropped and summarized periodically. A tag ending with * matches by
+         * prefix, * matches all tags
+         *
+         * @param tag              tag 或前缀
+         * @param scope            {@link #LIMIT_SCOPE_TAG} 或 {@link #LIMIT_SCOPE_MESSAGE}
+         * @param permitsPerSecond 每秒允许的条数
+         * @param burst            允许的突发条数
+         */
+        public Builder rateLimit(String tag, int scope, int permitsPerSecond, int burst) {
+            LogLimiter.Rule rule = obtainLimitRule(tag, scope);
+            if (rule != null) {
+                rule.mPermitsPerSecond = permitsPerSecond;
+                rule.mBurst = burst;
+            }
+            return this;
+        }
+
+        /**
+         * 日志采样，每 sampleRate 条保留一条，其余丢弃并定期汇总。tag 的匹配规则同 {@link #rateLimit}
+         * Sample records, keep one of every sampleRate records, the others are dropped and summarized periodically.
+         * Tags match the same way as {@link #rateLimit}
+         *
+         * @param tag        tag 或前缀
+         * @param scope      {@link #LIMIT_SCOPE_TAG} 或 {@link #LIMIT_SCOPE_MESSAGE}
+         * @param sampleRate 每 N 条保留一条
+         */
+        public Builder sampleRate(String tag, int scope, int sampleRate) {
+            LogLimiter.Rule rule = obtainLimitRule(tag, scope);
+            if (rule != null) {
+                rule.mSampleRate = sampleRate;
+            }
+            return this;
+        }
+
+        public Builder limitReportInterval(long limitReportInterval) {
+            mLimitReportInterval = limitReportInterval;
+            return this;
+        }
+
+        public Builder coalesceRepeatsEnabled(boolean coalesceRepeatsEnabled) {
+            mCoalesceRepeatsEnabled = coalesceRepeatsEnabled;
+            return this;
+        }
+
+        public Builder coalesceWindow(long coalesceWindow) {
+            mCoalesceWindow = coalesceWindow;
+            return this;
+        }
+
+        public Builder formatMaxLength(int formatMaxLength) {
+            mFormatMaxLength = formatMaxLength;
+            return this;
+        }
+
+        public Builder formatMaxDepth(int formatMaxDepth) {
+            mFormatMaxDepth = formatMaxDepth;
+            return this;
+        }
+
+        /**
+         * 异常堆栈每层最多输出的帧数，小于等于 0 表示不限制
+         * Max frames printed per throwable, unlimited if it's not positive
+         */
+        public Builder stackTraceMaxFrames(int stackTraceMaxFrames) {
+            mStackTraceMaxFrames = stackTraceMaxFrames;
+            return this;
+        }
+
+        /**
+         * 异常堆栈最多输出的原因层数，Suppressed 异常也算一层，0 表示只输出异常本身，负数表示不限制
+         * Max depth of causes printed, a suppressed exception counts as one level as well, 0 prints the throwable
+         * only and negative means unlimited
+         */
+        public Builder stackTraceMaxCauses(int stackTraceMaxCauses) {
+            mStackTraceMaxCauses = stackTraceMaxCauses;
+            return this;
+        }
+
+        public Builder renderMaxElements(int renderMaxElements) {
+            mRenderMaxElements = renderMaxElements;
+            return this;
+        }
+
+        public Builder renderMaxDepth(int renderMaxDepth) {
+            mRenderMaxDepth = renderMaxDepth;
+            return this;
+        }
+
+        public Builder renderMaxBytes(int renderMaxBytes) {
+            mRenderMaxBytes = renderMaxBytes;
+            return this;
+        }
+
+        /**
+         * 单个参数最多输出的字符数，包括自定义输出和 toString，超出部分截断为 "... (N more)"，字符串参数不受限制
+         * Max chars output per param, including custom renderers and toString, the rest is truncated to
+         * "... (N more)". String params are not limited
+         */
+        public Builder renderMaxLength(int renderMaxLength) {
+            mRenderMaxLength = renderMaxLength;
+            return this;
+        }
+
+        /**
+         * 字节数组的输出格式
+         * Output format of byte arrays
+         *
+         * @param bytesFormat {@link #BYTES_FORMAT_DECIMAL}、{@link #BYTES_FORMAT_HEX} 或 {@link #BYTES_FORMAT_BASE64}
+         */
+        public Builder bytesFormat(int bytesFormat) {
+            mBytesFormat = bytesFormat;
+            return this;
+        }
+
+        /**
+         * 注册类的自定义输出，也用于子类和实现类，先注册的优先
+         * Register custom renderer of a class, also used for subclasses and implementations, earlier ones first
+         *
+         * @param clazz    类
+         * @param renderer 输出，为空时取消注册
+         */
+        public <T> Builder objectRenderer(Class<T> clazz, ObjectRenderer<? super T> renderer) {
+            if (clazz != null) {
+                if (renderer != null) {
+                    mObjectRenderers.put(clazz, renderer);
+                } else {
+                    mObjectRenderers.remove(clazz);
+                }
+            }
+            return this;
+        }
+
+        /**
+         * 注册 appender，与 logcat 和日志文件并行输出
+         * Register an appender, output alongside logcat and log file
+         */
+        public Builder appender(AppenderConfig appenderConfig) {
+            if (appenderConfig != null) {
+                mAppenders.add(appenderConfig);
+            }
+            return this;
+        }
+
+        /**
+         * 记录运行统计，通过 {@link LoggerFactory#getStats()} 获取，默认关闭
+         * Record runtime statistics obtained by {@link LoggerFactory#getStats()}, default false
+         */
+        public Builder statsEnabled(boolean statsEnabled) {
+            mStatsEnabled = statsEnabled;
+            return this;
+        }
+
+        /**
+         * 定期输出一条统计日志，大于 0 时同时开启统计。在打印日志时检查，没有日志时不输出
+         * Log the statistics periodically, stats are enabled too if it's positive. Checked when logging,
+         * so nothing is reported while no log is printed
+         *
+         * @param statsReportInterval 间隔毫秒数，小于等于 0 时不输出
+         */
+        public Builder statsReportInterval(long statsReportInterval) {
+            mStatsReportInterval = statsReportInterval;
+            return this;
+        }
+
+        private LogLimiter.Rule obtainLimitRule(String tag, int scope) {
+            if (tag == null) {
+                return null;
+            }
+            LogLimiter.Rule rule = mLimitRules.get(tag);
+            if (rule == null) {
+                rule = new LogLimiter.Rule();
+                mLimitRules.put(tag, rule);
+            }
+            rule.mScope = scope;
+            return rule;
+        }
     }
 }
@@ -1,7 +1,7 @@
 package com.richie.easylog;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * 日志工厂
@@ -12,14 +12,37 @@ import java.util.Map;
 public final class LoggerFactory {
     static final String DEFAULT_TAG = "logger";
     private static final ILogger EMPTY_LOGGER = new EmptyLogger();
-    private static final Map<String, ILogger> LOGGER_CACHE = new HashMap<>(128);
-    private static LoggerConfig sLoggerConfig;
+    /**
+     * 按 tag 缓存的日志，可并发读写
+     * loggers cached by tag, safe for concurrent access
+     */
+    private static final ConcurrentMap<String, AndroidLogger> LOGGER_CACHE = new ConcurrentHashMap<>(128);
+    /**
+     * 按类缓存的日志，避免每次调用 getSimpleName
+     * loggers cached by class, avoids calling getSimpleName on every lookup
+     */
+    private static final ConcurrentMap<Class<?>, AndroidLogger> CLASS_LOGGER_CACHE = new ConcurrentHashMap<>(128);
+    private static volatile LoggerConfig sLoggerConfig;
 
     public static void init(LoggerConfig loggerConfig) {
         if (loggerConfig == null) {
             throw new NullPointerException("LoggerConfig can't be null");
         }
+        LoggerConfig oldConfig = sLoggerConfig;
         sLoggerConfig = loggerConfig;
+        if (oldConfig != null && oldConfig != loggerConfig) {
+            // 旧配置的 appender 输出剩余日志后退出
+            oldConfig.stopAppenders();
+        }
+        // 已创建的日志绑定新配置
+        for (AndroidLogger logger : LOGGER_CACHE.values()) {
+            logger.bind(loggerConfig);
+        }
+        LoggerUtils.checkQueueCapacity(loggerConfig);
+        if (loggerConfig.isLogFileEnabled() && loggerConfig.getFileMode() == LoggerConfig.FILE_MODE_MMAP) {
+            // 启动写线程，恢复上次未落盘的日志
+            LoggerUtils.getFileWriter();
+        }
     }
 
     /**
@@ -30,19 +53,12 @@ public final class LoggerFactory {
      * @return log
      */
     public static ILogger getLogger(String tag) {
-        if (sLoggerConfig == null) {
-            throw new IllegalStateException("LoggerConfig isn't initialized");
-        }
-        if (sLoggerConfig.isLogcatEnabled() || sLoggerConfig.isLogFileEnabled()) {
+        LoggerConfig loggerConfig = checkLoggerConfig();
+        if (loggerConfig.isOutputEnabled()) {
             if (LoggerUtils.isEmpty(tag)) {
                 tag = DEFAULT_TAG;
             }
-            ILogger logger = LOGGER_CACHE.get(tag);
-            if (logger == null) {
-                logger = new AndroidLogger(tag);
-                LOGGER_CACHE.put(tag, logger);
-            }
-            return logger;
+            return obtainLogger(tag, loggerConfig);
         } else {
             return EMPTY_LOGGER;
         }
@@ -56,14 +72,63 @@ public final class LoggerFactory {
      * @return log
      */
     public static ILogger getLogger(Class<?> clazz) {
+        LoggerConfig loggerConfig = checkLoggerConfig();
+        if (!loggerConfig.isOutputEnabled()) {
+            return EMPTY_LOGGER;
+        }
         if (clazz == null) {
             clazz = Object.class;
         }
-        return getLogger(clazz.getSimpleName());
+        AndroidLogger logger = CLASS_LOGGER_CACHE.get(clazz);
+        if (logger == null) {
+            String tag = clazz.getSimpleName();
+            logger = obtainLogger(LoggerUtils.isEmpty(tag) ? DEFAULT_TAG : tag, loggerConfig);
+            CLASS_LOGGER_CACHE.putIfAbsent(clazz, logger);
+        } else if (logger.getLoggerConfig() != loggerConfig) {
+            logger.bind(loggerConfig);
+        }
+        return logger;
     }
 
     public static LoggerConfig getLoggerConfig() {
         return sLoggerConfig;
     }
 
+    /**
+     * 获取运行统计的快照，包括各级别和 tag 的日志数、丢弃数、队列深度、写入字节数和耗时。
+     * 需要开启 {@link LoggerConfig.Builder#statsEnabled(boolean)}，否则计数不增长
+     * Get a snapshot of runtime statistics, including records per level and tag, dropped records, queue depth,
+     * bytes written and latencies. {@link LoggerConfig.Builder#statsEnabled(boolean)} must be set, otherwise
+     * the counts don't grow
+     *
+     * @return stats
+     */
+    public static LogStats getStats() {
+        return LoggerUtils.getStats(checkLoggerConfig());
+    }
+
+    private static LoggerConfig checkLoggerConfig() {
+        LoggerConfig loggerConfig = sLoggerConfig;
+        if (loggerConfig == null) {
+            throw new IllegalStateException("LoggerConfig isn't initialized");
+        }
+        return loggerConfig;
+    }
+
+    private static AndroidLogger obtainLogger(String tag, LoggerConfig loggerConfig) {
+        AndroidLogger logger = LOGGER_CACHE.get(tag);
+        if (logger == null) {
+            AndroidLogger newLogger = new AndroidLogger(tag, loggerConfig);
+            logger = LOGGER_CACHE.putIfAbsent(tag, newLogger);
+            if (logger == null) {
+                logger = newLogger;
+            }
+        }
+        // init 并发执行时可能错过新创建的日志，这里补绑定
+        if (logger.getLoggerConfig() != loggerConfig) {
+            logger.bind(loggerConfig);
+        }
+        return logger;
+    }
+
 }
\ No newline at end of file
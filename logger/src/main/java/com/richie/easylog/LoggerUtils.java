@@ -1,40 +1,13 @@
 package com.richie.easylog;
 
-import android.content.ClipData;
-import android.content.ComponentName;
 import android.content.Context;
-import android.content.Intent;
 import android.content.pm.PackageInfo;
-import android.graphics.Rect;
-import android.net.Uri;
 import android.os.Build;
-import android.os.Bundle;
 import android.util.Log;
 
-import org.json.JSONArray;
-import org.json.JSONObject;
-
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.StringReader;
-import java.io.StringWriter;
-import java.text.SimpleDateFormat;
-import java.util.Arrays;
-import java.util.Date;
-import java.util.Iterator;
-import java.util.Locale;
-import java.util.Set;
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
-
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Source;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.stream.StreamResult;
-import javax.xml.transform.stream.StreamSource;
+import java.util.Map;
 
 /**
  * 日志工具类
@@ -44,201 +17,486 @@ import javax.xml.transform.stream.StreamSource;
  */
 final class LoggerUtils {
     /**
-     * 写文件的单线程池
-     * thread pool to write file
+     * 写文件的线程
+     * thread to write file
+     */
+    private static volatile LogFileWriter sFileWriter;
+    /**
+     * 运行统计，跨配置累计
+     * runtime statistics, accumulated across configs
+     */
+    private static final LogMetrics METRICS = new LogMetrics();
+    /**
+     * logcat 单条最大字节数，内核限制为 4068 字节，需要留出 tag 和优先级的空间
+     * max UTF-8 bytes per logcat entry, the kernel payload limit is 4068 bytes including tag and priority
+     */
+    private static final int MAX_LOGCAT_BYTES = 4000;
+    /**
+     * 分段标记的最大字节数
+     * max bytes of chunk marker
      */
-    private static Executor sExecutor;
+    private static final int MAX_CHUNK_MARKER_BYTES = 32;
     /**
-     * 日志文件的名称，应用运行期间，保存到同一个文件
-     * file name of cache log
+     * 未知或未开启的调用行号，不输出
+     * unknown or disabled caller line number, omitted from output
      */
-    private static String sLogFileName;
+    static final int NO_LINE_NUMBER = 0;
+    private static final String LOGGER_CLASS_NAME = AndroidLogger.class.getName();
+    private static final String UTILS_CLASS_NAME = LoggerUtils.class.getName();
     /**
-     * 参数占位符
-     * param placeholder
+     * 复用的渲染缓冲区超过该容量后丢弃，避免长期占用内存
+     * reusable render buffer is dropped when it grows beyond this capacity
      */
-    private static final String PARAM_PLACEHOLDER = "{}";
+    private static final int MAX_RETAINED_BUFFER_SIZE = 16 * 1024;
     /**
-     * 单条最大长度
-     * log message max length
+     * 在 logcat 输出重复次数
+     * Reports repeat count to logcat
      */
-    private static final int MAX_MESSAGE_LENGTH = 1024;
+    private static final LogCoalescer.Reporter LOGCAT_REPORTER = new LogCoalescer.Reporter() {
+        @Override
+        public void report(int level, String tag, String threadName, int lineNumber, long count) {
+            StringBuilder sb = new StringBuilder(96);
+            appendLogHeader(sb, threadName, lineNumber);
+            MessageTemplate.get(LogCoalescer.REPEATED_MESSAGE).render(sb, new Object[]{count}, MessageTemplate.PLAIN_APPENDER);
+            printLogcat(level, tag, sb.toString(), null);
+        }
+    };
+    /**
+     * 每个线程复用的渲染缓冲区
+     * render buffer reused per thread
+     */
+    private static final ThreadLocal<RenderBuffer> RENDER_BUFFER = new ThreadLocal<RenderBuffer>() {
+        @Override
+        protected RenderBuffer initialValue() {
+            return new RenderBuffer();
+        }
+    };
 
     static boolean isEmpty(CharSequence str) {
         return str == null || str.length() == 0;
     }
 
+    /**
+     * 打印日志，级别由调用方按 tag 检查
+     * Print log, the level is checked by caller with the tag
+     */
     static void log(int level, String tag, String message, Throwable throwable, Object... params) {
-        if (!LoggerFactory.getLoggerConfig().isLoggable(level)) {
-            return;
+        LoggerConfig loggerConfig = LoggerFactory.getLoggerConfig();
+        LogLimiter limiter = loggerConfig.getLimiter();
+        if (limiter != null) {
+            if (limiter.isReportDue()) {
+                reportSuppressed(loggerConfig, limiter);
+            }
+            if (!limiter.tryAcquire(tag, message)) {
+                if (loggerConfig.isStatsEnabled()) {
+                    METRICS.recordFiltered();
+                }
+                return;
+            }
         }
-        String header = createLogHeader();
-        String body = createLogBody(message, params);
-        if (LoggerUtils.isEmpty(body)) {
-            body = "Empty/Null";
+        if (loggerConfig.isStatsEnabled()) {
+            METRICS.recordLog(level, tag);
+            if (loggerConfig.isStatsReportDue()) {
+                printLog(loggerConfig, LoggerConfig.INFO, LoggerFactory.DEFAULT_TAG, "********(stats)********\n{}",
+                        null, new Object[]{getStats(loggerConfig).toString()});
+            }
         }
-        processLog(level, tag, header, body, throwable);
+        LogCoalescer coalescer = loggerConfig.getLogcatCoalescer();
+        if (coalescer != null) {
+            long now = System.currentTimeMillis();
+            if (coalescer.isSweepDue(now)) {
+                coalescer.sweep(now, false, LOGCAT_REPORTER);
+            }
+        }
+        printLog(loggerConfig, level, tag, message, throwable, params);
     }
 
-    static String formatJson(String json) {
-        if (LoggerUtils.isEmpty(json)) {
-            return "Empty/Null JSON content";
+    /**
+     * 运行统计的快照
+     * Snapshot of runtime statistics
+     */
+    static LogStats getStats(LoggerConfig loggerConfig) {
+        return METRICS.snapshot(sFileWriter, loggerConfig.getAppenders());
+    }
+
+    /**
+     * 输出被限流的日志数，每个 tag 一条
+     * Print suppressed counts, one record per tag
+     */
+    private static void reportSuppressed(LoggerConfig loggerConfig, LogLimiter limiter) {
+        Map<String, Long> suppressed = limiter.takeSuppressed();
+        if (suppressed == null) {
+            return;
         }
+        for (Map.Entry<String, Long> entry : suppressed.entrySet()) {
+            printLog(loggerConfig, LoggerConfig.WARN, entry.getKey(),
+                    "********(suppressed {} messages from tag {})********", null,
+                    new Object[]{entry.getValue(), entry.getKey()});
+        }
+    }
 
+    private static void printLog(LoggerConfig loggerConfig, int level, String tag, String message,
+                                 Throwable throwable, Object[] params) {
+        String threadName = Thread.currentThread().getName();
+        int lineNumber = loggerConfig.isCallerInfoEnabled() ? getLineNumber() : NO_LINE_NUMBER;
+        // 堆栈只渲染一次，logcat 和文件共用
+        ThrowableRenderer.Trace stackTrace = throwable != null ? renderThrowable(loggerConfig, throwable) : null;
+        if (isDeferredFileEnabled(loggerConfig) && loggerConfig.isLogFileLoggable(level)) {
+            // 二进制格式或延迟格式化时只保存参数快照，在写线程格式化
+            getFileWriter().enqueue(LogRecord.event(level, tag, System.currentTimeMillis(), threadName, lineNumber,
+                    message, snapshotParams(loggerConfig.getObjectFormatter(), params), stackTrace));
+            if (!loggerConfig.isLogcatEnabled() && loggerConfig.getAppenders().length == 0) {
+                return;
+            }
+        }
+        StringBuilder sb = obtainBuffer();
         try {
-            json = json.trim();
-            StringBuilder sb = new StringBuilder();
-            if (json.startsWith("{")) {
-                JSONObject jsonObject = new JSONObject(json);
-                sb.append("JSONObject length:")
-                        .append(jsonObject.length())
-                        .append("\n")
-                        .append(jsonObject.toString(2));
-            } else if (json.startsWith("[")) {
-                JSONArray jsonArray = new JSONArray(json);
-                sb.append("JSONArray length:")
-                        .append(jsonArray.length())
-                        .append("\n")
-                        .append(jsonArray.toString(2));
-            } else {
-                sb.append("Invalid JSON:\n").append(json);
+            appendLogHeader(sb, threadName, lineNumber);
+            int bodyStart = sb.length();
+            appendLogBody(sb, loggerConfig.getObjectFormatter(), message, params);
+            if (sb.length() == bodyStart) {
+                sb.append("Empty/Null");
             }
-            return sb.toString();
-        } catch (Exception e) {
-            Log.w(LoggerFactory.DEFAULT_TAG, "formatJson: ", e);
+            if (loggerConfig.getAppenders().length != 0) {
+                dispatchAppenders(loggerConfig.getAppenders(), level, tag, threadName, lineNumber, sb, bodyStart,
+                        stackTrace);
+            }
+            processLog(loggerConfig, level, tag, threadName, lineNumber, sb, bodyStart, stackTrace);
+        } finally {
+            releaseBuffer(sb);
         }
-        return null;
     }
 
-    static String formatXml(String xml) {
-        if (LoggerUtils.isEmpty(xml)) {
-            return "Empty/Null XML content";
+    /**
+     * 交给接受该日志的 appender，消息只复制一次，所有 appender 共用
+     * Hand the record to appenders accepting it, the message is copied once and shared by all of them
+     */
+    private static void dispatchAppenders(AppenderWorker[] appenders, int level, String tag, String threadName,
+                                          int lineNumber, StringBuilder sb, int bodyStart,
+                                          ThrowableRenderer.Trace stackTrace) {
+        LogEvent event = null;
+        for (AppenderWorker appender : appenders) {
+            if (!appender.isLoggable(tag, level)) {
+                continue;
+            }
+            if (event == null) {
+                event = new LogEvent(level, tag, System.currentTimeMillis(), threadName, lineNumber,
+                        sb.substring(bodyStart), stackTrace != null && !stackTrace.isEmpty() ? stackTrace.text : null);
+            }
+            appender.enqueue(event);
         }
+    }
 
-        try {
-            Source xmlInput = new StreamSource(new StringReader(xml));
-            StreamResult xmlOutput = new StreamResult(new StringWriter());
-            Transformer transformer = TransformerFactory.newInstance().newTransformer();
-            transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-            transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "2");
-            transformer.transform(xmlInput, xmlOutput);
-            return "XML:\n" + xmlOutput.getWriter().toString().replaceFirst(">", ">\n");
-        } catch (Exception e) {
-            Log.e(LoggerFactory.DEFAULT_TAG, "formatXml: ", e);
+    /**
+     * 打印单个基本类型参数的日志，空闲时使用线程复用的参数对象，不装箱
+     * Log with a single primitive param, the per-thread param holder is used when it's free, so nothing is boxed
+     *
+     * @param value 整数直接传入，浮点数传入 {@link Double#doubleToRawLongBits(double)}
+     */
+    static void logPrimitive(int level, String tag, String message, int type, long value) {
+        RenderBuffer buffer = RENDER_BUFFER.get();
+        if (buffer.inUse) {
+            log(level, tag, message, null, PrimitiveParam.box(type, value));
+            return;
+        }
+        buffer.primitive.set(type, value);
+        log(level, tag, message, null, buffer.primitiveParams);
+    }
+
+    static String formatJson(LoggerConfig loggerConfig, String json) {
+        if (LoggerUtils.isEmpty(json)) {
+            return "Empty/Null JSON content";
         }
-        return null;
+        return JsonFormatter.format(json, loggerConfig.getFormatMaxLength(), loggerConfig.getFormatMaxDepth());
+    }
+
+    static String formatXml(LoggerConfig loggerConfig, String xml) {
+        if (LoggerUtils.isEmpty(xml)) {
+            return "Empty/Null XML content";
+        }
+        return XmlFormatter.format(xml, loggerConfig.getFormatMaxLength(), loggerConfig.getFormatMaxDepth());
     }
 
     static String getStackTraceString(Throwable throwable) {
         return Log.getStackTraceString(throwable);
     }
 
+    static ThrowableRenderer.Trace renderThrowable(LoggerConfig loggerConfig, Throwable throwable) {
+        return ThrowableRenderer.render(throwable, loggerConfig.getStackTraceMaxFrames(),
+                loggerConfig.getStackTraceMaxCauses());
+    }
+
+
+    /**
+     * 文件日志是否在写线程格式化
+     * Whether file records are formatted on writer thread
+     */
+    private static boolean isDeferredFileEnabled(LoggerConfig loggerConfig) {
+        return loggerConfig.isLogFileEnabled() && (loggerConfig.isDeferredFormatEnabled()
+                || loggerConfig.getFileFormat() == LoggerConfig.FILE_FORMAT_BINARY);
+    }
 
-    private static String createLogHeader() {
-        StringBuilder sb = new StringBuilder("[");
-        sb.append(Thread.currentThread().getName());
-        sb.append("](");
-        sb.append(getLineNumber());
-        sb.append(") ");
+    /**
+     * 获取当前线程的渲染缓冲区，嵌套调用时（如参数的 toString 中打印日志）返回新的缓冲区
+     * Obtain render buffer of current thread, a new one is returned for nested calls, e.g. logging in toString of param
+     */
+    private static StringBuilder obtainBuffer() {
+        RenderBuffer buffer = RENDER_BUFFER.get();
+        if (buffer.inUse) {
+            return new StringBuilder(256);
+        }
+        buffer.inUse = true;
+        buffer.sb.setLength(0);
+        return buffer.sb;
+    }
+
+    private static void releaseBuffer(StringBuilder sb) {
+        RenderBuffer buffer = RENDER_BUFFER.get();
+        if (buffer.sb != sb) {
+            return;
+        }
+        if (sb.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+            buffer.sb = new StringBuilder(RenderBuffer.INITIAL_SIZE);
+        }
+        buffer.inUse = false;
+    }
+
+    private static void appendLogHeader(StringBuilder sb, String threadName, int lineNumber) {
+        sb.append('[').append(threadName);
+        if (lineNumber == NO_LINE_NUMBER) {
+            sb.append("] ");
+        } else {
+            sb.append("](").append(lineNumber).append(") ");
+        }
+    }
+
+    /**
+     * 参数快照，在写线程格式化时参数可能已被修改。不可变对象保留原值，基本类型数组复制，其他对象在调用线程转为字符串。
+     * Intent 和 Bundle 的复制构造只是浅拷贝，嵌套的 Bundle 和集合仍与调用方共享，所以也在调用线程渲染
+     * Snapshot of params, which may be modified before writer thread formats them. Immutable values are kept,
+     * primitive arrays are cloned, other objects are rendered to string on caller thread. The copy constructors of
+     * Intent and Bundle are shallow, nested Bundles and collections would still be shared with the caller, so they
+     * are rendered on caller thread as well
+     */
+    private static Object[] snapshotParams(ObjectFormatter formatter, Object[] params) {
+        if (params == null) {
+            return null;
+        }
+        Object[] snapshot = new Object[params.length];
+        for (int i = 0; i < params.length; i++) {
+            snapshot[i] = snapshotParam(formatter, params[i]);
+        }
+        return snapshot;
+    }
+
+    private static Object snapshotParam(ObjectFormatter formatter, Object param) {
+        if (param == null || param instanceof String || param instanceof Integer || param instanceof Long
+                || param instanceof Double || param instanceof Float || param instanceof Short
+                || param instanceof Byte || param instanceof Boolean || param instanceof Character) {
+            return param;
+        } else if (param instanceof PrimitiveParam) {
+            return ((PrimitiveParam) param).box();
+        } else if (param instanceof int[]) {
+            return ((int[]) param).clone();
+        } else if (param instanceof long[]) {
+            return ((long[]) param).clone();
+        } else if (param instanceof byte[]) {
+            return ((byte[]) param).clone();
+        } else if (param instanceof char[]) {
+            return ((char[]) param).clone();
+        } else if (param instanceof short[]) {
+            return ((short[]) param).clone();
+        } else if (param instanceof boolean[]) {
+            return ((boolean[]) param).clone();
+        } else if (param instanceof float[]) {
+            return ((float[]) param).clone();
+        } else if (param instanceof double[]) {
+            return ((double[]) param).clone();
+        }
+        StringBuilder sb = new StringBuilder();
+        try {
+            formatter.append(sb, param);
+        } catch (Exception e) {
+            Log.e(LoggerFactory.DEFAULT_TAG, "snapshotParam: ", e);
+            return getStackTraceString(e);
+        }
         return sb.toString();
     }
 
-    private static String createLogBody(String message, Object[] params) {
+    private static void appendLogBody(StringBuilder sb, ObjectFormatter formatter, String message, Object[] params) {
         if (message == null) {
             if (params != null && params.length != 0) {
-                return "Log format error";
+                sb.append("Log format error");
             } else {
-                return "Null";
+                sb.append("Null");
             }
+            return;
         }
 
-        StringBuilder sb = new StringBuilder();
-        int index = 0;
-        if (params != null) {
-            try {
-                for (Object param : params) {
-                    int j = message.indexOf(PARAM_PLACEHOLDER, index);
-                    if (j >= 0) {
-                        sb.append(message, index, j);
-                        if (param != null) {
-                            if (param.getClass().isArray()) {
-                                sb.append(LoggerUtils.array2String(param));
-                            } else if (param instanceof Intent) {
-                                sb.append(LoggerUtils.intent2String((Intent) param));
-                            } else if (param instanceof Bundle) {
-                                sb.append(LoggerUtils.bundle2String((Bundle) param));
-                            } else {
-                                sb.append(param);
-                            }
-                        } else {
-                            sb.append("null");
-                        }
-                        index = j + 2;
-                    } else {
-                        break;
-                    }
-                }
-                sb.append(message, index, message.length());
-            } catch (Exception e) {
-                Log.e(LoggerFactory.DEFAULT_TAG, "createLogBody: ", e);
-                sb.append(getStackTraceString(e));
-            }
-        } else {
-            String s = message.replace(PARAM_PLACEHOLDER, "null");
-            sb.append(s);
+        int start = sb.length();
+        try {
+            MessageTemplate.get(message).render(sb, params, formatter);
+        } catch (Exception e) {
+            Log.e(LoggerFactory.DEFAULT_TAG, "createLogBody: ", e);
+            sb.setLength(start);
+            sb.append(getStackTraceString(e));
         }
-        return sb.toString();
     }
 
-    private static void processLog(int level, String tag, String head, String body, Throwable throwable) {
-        int length = body.length();
-        if (length < MAX_MESSAGE_LENGTH) {
-            printLog(level, tag, head + body, throwable);
+    private static void processLog(LoggerConfig loggerConfig, int level, String tag, String threadName, int lineNumber,
+                                   StringBuilder sb, int bodyStart, ThrowableRenderer.Trace stackTrace) {
+        String message = null;
+        if (loggerConfig.isLogFileLoggable(level) && !isDeferredFileEnabled(loggerConfig)) {
+            // 文件没有长度限制，整条写入
+            message = sb.toString();
+            printLogFile(level, tag, threadName, lineNumber, message, stackTrace);
+        }
+        if (!loggerConfig.isLogcatEnabled()) {
+            return;
+        }
+        LogCoalescer coalescer = loggerConfig.getLogcatCoalescer();
+        if (coalescer != null && !coalescer.offer(level, tag, threadName, lineNumber, hashLog(sb, stackTrace),
+                System.currentTimeMillis(), LOGCAT_REPORTER)) {
+            return;
+        }
+        if (stackTrace != null && !stackTrace.isEmpty()) {
+            // 与 Log.x(tag, msg, tr) 的拼接方式相同，堆栈随消息一起分段，只输出一次
+            sb.append('\n').append(stackTrace.text);
+            message = null;
+        }
+        long start = loggerConfig.isStatsEnabled() ? System.nanoTime() : 0;
+        if (sb.length() * 3 <= MAX_LOGCAT_BYTES || utf8Length(sb, 0, sb.length(), MAX_LOGCAT_BYTES) <= MAX_LOGCAT_BYTES) {
+            printLogcat(level, tag, message != null ? message : sb.toString(), null);
         } else {
-            int index = 0;
-            int count = 0;
-            String subBody;
-            while (index < length) {
-                count++;
-                if (length <= index + MAX_MESSAGE_LENGTH) {
-                    subBody = body.substring(index);
-                } else {
-                    subBody = body.substring(index, index + MAX_MESSAGE_LENGTH);
+            printLogcatChunks(level, tag, sb, bodyStart);
+        }
+        if (loggerConfig.isStatsEnabled()) {
+            LogMetrics.Sink logcat = METRICS.getLogcat();
+            logcat.recordWrite(System.nanoTime() - start);
+            logcat.recordBytes(utf8Length(sb));
+        }
+    }
+
+    /**
+     * 渲染后消息的哈希，包含头部和堆栈指纹，用于判断重复
+     * Hash of rendered message including header and stack fingerprint, used to detect repeats
+     */
+    static int hashLog(CharSequence message, ThrowableRenderer.Trace stackTrace) {
+        int hash = 0;
+        for (int i = 0, length = message.length(); i < length; i++) {
+            hash = 31 * hash + message.charAt(i);
+        }
+        if (stackTrace != null) {
+            hash = 31 * hash + (int) (stackTrace.fingerprint ^ (stackTrace.fingerprint >>> 32));
+        }
+        return hash;
+    }
+
+    /**
+     * 按 logcat 的字节上限分段输出，尽量在换行处断开，每段带上头部和序号
+     * Print to logcat in chunks under the byte limit, preferring line breaks, each chunk repeats the header and index
+     */
+    private static void printLogcatChunks(int level, String tag, StringBuilder sb, int bodyStart) {
+        int headBytes = utf8Length(sb, 0, bodyStart, MAX_LOGCAT_BYTES);
+        int maxChunkBytes = Math.max(MAX_LOGCAT_BYTES - headBytes - MAX_CHUNK_MARKER_BYTES, MAX_LOGCAT_BYTES / 4);
+        StringBuilder chunk = new StringBuilder(Math.min(sb.length(), MAX_LOGCAT_BYTES) + bodyStart + MAX_CHUNK_MARKER_BYTES);
+        int index = bodyStart;
+        int end = sb.length();
+        int count = 0;
+        while (index < end) {
+            count++;
+            int chunkEnd = index;
+            int bytes = 0;
+            while (chunkEnd < end) {
+                bytes += utf8Length(sb.charAt(chunkEnd));
+                if (bytes > maxChunkBytes) {
+                    break;
+                }
+                chunkEnd++;
+            }
+            int next = chunkEnd;
+            if (chunkEnd < end) {
+                if (Character.isHighSurrogate(sb.charAt(chunkEnd - 1))) {
+                    chunkEnd--;
+                    next = chunkEnd;
+                }
+                // 后半段有换行时在换行处断开，换行本身不输出
+                for (int i = chunkEnd - 1; i > index + (chunkEnd - index) / 2; i--) {
+                    if (sb.charAt(i) == '\n') {
+                        chunkEnd = i;
+                        next = i + 1;
+                        break;
+                    }
                 }
-                index += MAX_MESSAGE_LENGTH;
-                printLog(level, tag, head + "********(" + count + ")********" + subBody, throwable);
             }
+            chunk.setLength(0);
+            chunk.append(sb, 0, bodyStart)
+                    .append("********(")
+                    .append(count)
+                    .append(")********")
+                    .append(sb, index, chunkEnd);
+            printLogcat(level, tag, chunk.toString(), null);
+            index = next;
         }
     }
 
-    private static void printLog(int level, String tag, String message, Throwable throwable) {
-        if (LoggerFactory.getLoggerConfig().isLogcatEnabled()) {
-            printLogcat(level, tag, message, throwable);
+    /**
+     * 计算 UTF-8 字节数
+     * Count UTF-8 bytes
+     */
+    static int utf8Length(CharSequence text) {
+        return utf8Length(text, 0, text.length(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * 计算 UTF-8 字节数，超过 limit 后提前返回
+     * Count UTF-8 bytes, returns early once limit is exceeded
+     */
+    private static int utf8Length(CharSequence text, int start, int end, int limit) {
+        int bytes = 0;
+        for (int i = start; i < end && bytes <= limit; i++) {
+            bytes += utf8Length(text.charAt(i));
         }
-        if (LoggerFactory.getLoggerConfig().isLogFileEnabled()) {
-            printLogFile(tag, message, throwable);
+        return bytes;
+    }
+
+    /**
+     * 单个字符的 UTF-8 字节数，代理对每半按 2 字节计算，合计 4 字节
+     * UTF-8 bytes of a char, each half of a surrogate pair counts 2 bytes, 4 in total
+     */
+    private static int utf8Length(char c) {
+        if (c < 0x80) {
+            return 1;
+        } else if (c < 0x800 || Character.isSurrogate(c)) {
+            return 2;
         }
+        return 3;
     }
 
+    /**
+     * 查找调用方行号。抓取的是完整调用栈，开销与栈深度成正比，之后只检查栈顶 LoggerUtils 和 AndroidLogger 的几帧
+     * Find the caller line number. The whole stack is captured, costing in proportion to its depth, then only the
+     * few LoggerUtils and AndroidLogger frames on top are checked
+     */
     private static int getLineNumber() {
         try {
-            StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
+            // 比 Thread.getStackTrace 开销小，不包含 VMStack 和 Thread 自身的帧
+            StackTraceElement[] stackTrace = new Throwable().getStackTrace();
             boolean isFound = false;
             for (StackTraceElement stackTraceElement : stackTrace) {
-                if (stackTraceElement.getClassName().equals(AndroidLogger.class.getName())) {
+                String className = stackTraceElement.getClassName();
+                if (LOGGER_CLASS_NAME.equals(className)) {
                     isFound = true;
-                    continue;
-                }
-                if (isFound) {
-                    if (!stackTraceElement.getClassName().equals(AndroidLogger.class.getName())) {
-                        return stackTraceElement.getLineNumber();
-                    }
+                } else if (isFound) {
+                    return stackTraceElement.getLineNumber();
+                } else if (!UTILS_CLASS_NAME.equals(className)) {
+                    break;
                 }
             }
         } catch (Exception e) {
             Log.e(LoggerFactory.DEFAULT_TAG, "getLineNumber", e);
         }
-        return 0;
+        return NO_LINE_NUMBER;
     }
 
     private static void printLogcat(int level, String tag, String message, Throwable throwable) {
@@ -262,9 +520,11 @@ final class LoggerUtils {
         }
     }
 
-    private static void printLogFile(String tag, String message, Throwable throwable) {
-        String logContent = LoggerUtils.createLogContent(tag, message, throwable);
-        LoggerUtils.writeLogContent(logContent);
+    private static void printLogFile(int level, String tag, String threadName, int lineNumber, String message,
+                                     ThrowableRenderer.Trace stackTrace) {
+        // 时间、标签和堆栈在写线程拼接，与 logcat 共用同一个消息字符串
+        getFileWriter().enqueue(LogRecord.formatted(level, tag, System.currentTimeMillis(),
+                threadName, lineNumber, message, stackTrace));
     }
 
     private static void v(String tag, String message, Throwable t) {
@@ -307,252 +567,63 @@ final class LoggerUtils {
         }
     }
 
-    private static String array2String(Object object) {
-        if (object == null) {
-            return "null";
-        }
-        if (!object.getClass().isArray()) {
-            return object.toString();
-        }
-        if (object instanceof boolean[]) {
-            return Arrays.toString((boolean[]) object);
-        }
-        if (object instanceof byte[]) {
-            return Arrays.toString((byte[]) object);
-        }
-        if (object instanceof char[]) {
-            return Arrays.toString((char[]) object);
-        }
-        if (object instanceof short[]) {
-            return Arrays.toString((short[]) object);
-        }
-        if (object instanceof int[]) {
-            return Arrays.toString((int[]) object);
-        }
-        if (object instanceof long[]) {
-            return Arrays.toString((long[]) object);
-        }
-        if (object instanceof float[]) {
-            return Arrays.toString((float[]) object);
-        }
-        if (object instanceof double[]) {
-            return Arrays.toString((double[]) object);
-        }
-        if (object instanceof Object[]) {
-            return Arrays.deepToString((Object[]) object);
-        }
-        return "Couldn't find correct type for the object";
-    }
-
-    private static String intent2String(Intent intent) {
-        StringBuilder sb = new StringBuilder(128);
-        sb.append("Intent {");
-        boolean first = true;
-        String action = intent.getAction();
-        if (action != null) {
-            sb.append("act=").append(action);
-            first = false;
-        }
-        Set<String> categories = intent.getCategories();
-        if (categories != null) {
-            if (!first) {
-                sb.append(' ');
-            }
-            first = false;
-            sb.append("cat=[");
-            boolean firstCategory = true;
-            for (String c : categories) {
-                if (!firstCategory) {
-                    sb.append(',');
-                }
-                sb.append(c);
-                firstCategory = false;
-            }
-            sb.append("]");
-        }
-        Uri data = intent.getData();
-        if (data != null) {
-            if (!first) {
-                sb.append(' ');
-            }
-            first = false;
-            sb.append("dat=").append(data);
-        }
-        String mType = intent.getType();
-        if (mType != null) {
-            if (!first) {
-                sb.append(' ');
-            }
-            first = false;
-            sb.append("typ=").append(mType);
-        }
-        int flags = intent.getFlags();
-        if (flags != 0) {
-            if (!first) {
-                sb.append(' ');
-            }
-            first = false;
-            sb.append("flg=0x").append(Integer.toHexString(flags));
-        }
-        String aPackage = intent.getPackage();
-        if (aPackage != null) {
-            if (!first) {
-                sb.append(' ');
-            }
-            first = false;
-            sb.append("pkg=").append(aPackage);
-        }
-        ComponentName component = intent.getComponent();
-        if (component != null) {
-            if (!first) {
-                sb.append(' ');
-            }
-            first = false;
-            sb.append("cmp=").append(component.flattenToShortString());
-        }
-        Rect sourceBounds = intent.getSourceBounds();
-        if (sourceBounds != null) {
-            if (!first) {
-                sb.append(' ');
-            }
-            first = false;
-            sb.append("bnds=").append(sourceBounds.toShortString());
-        }
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
-            ClipData mClipData = intent.getClipData();
-            if (mClipData != null) {
-                if (!first) {
-                    sb.append(' ');
-                }
-                first = false;
-                clipData2String(mClipData, sb);
+    /**
+     * 把日志格式化为文件中的文本，在写线程调用
+     * Format a record into text of log file, called on writer thread
+     *
+     * @param traceReference 堆栈已写入当前文件，只输出引用
+     */
+    static void appendLogContent(StringBuilder sb, LogRecord record, ObjectFormatter formatter,
+                                 boolean traceReference) {
+        sb.append('\n');
+        TimestampFormatter.RECORD.formatMillis(record.timeMillis, sb);
+        sb.append(" || ")
+                .append(record.tag)
+                .append(" || ");
+        if (record.isFormatted()) {
+            sb.append(record.content);
+        } else {
+            appendLogHeader(sb, record.threadName, record.lineNumber);
+            int bodyStart = sb.length();
+            appendLogBody(sb, formatter, record.message, record.params);
+            if (sb.length() == bodyStart) {
+                sb.append("Empty/Null");
             }
         }
-        Bundle extras = intent.getExtras();
-        if (extras != null) {
-            if (!first) {
-                sb.append(' ');
-            }
-            first = false;
-            sb.append("extras={");
-            sb.append(bundle2String(extras));
-            sb.append('}');
-        }
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH_MR1) {
-            Intent mSelector = intent.getSelector();
-            if (mSelector != null) {
-                if (!first) {
-                    sb.append(' ');
-                }
-                sb.append("sel={");
-                sb.append(mSelector == intent ? "(this Intent)" : intent2String(mSelector));
-                sb.append("}");
-            }
+        if (record.stackTrace != null && !record.stackTrace.isEmpty()) {
+            sb.append(" || ");
+            record.stackTrace.appendTo(sb, traceReference);
         }
-        sb.append("}");
-        return sb.toString();
     }
 
-    private static String bundle2String(Bundle bundle) {
-        Iterator<String> iterator = bundle.keySet().iterator();
-        if (!iterator.hasNext()) {
-            return "Bundle {}";
-        }
-        StringBuilder sb = new StringBuilder(128);
-        sb.append("Bundle {");
-        for (; ; ) {
-            String key = iterator.next();
-            Object value = bundle.get(key);
-            sb.append(key).append('=');
-            if (value instanceof Bundle) {
-                sb.append(value == bundle ? "(this Bundle)" : bundle2String((Bundle) value));
-            } else {
-                sb.append(value);
-            }
-            if (!iterator.hasNext()) {
-                return sb.append("}").toString();
+    static LogFileWriter getFileWriter() {
+        LogFileWriter fileWriter = sFileWriter;
+        if (fileWriter == null) {
+            synchronized (LoggerUtils.class) {
+                fileWriter = sFileWriter;
+                if (fileWriter == null) {
+                    fileWriter = new LogFileWriter(LoggerFactory.getLoggerConfig().getQueueCapacity());
+                    fileWriter.start();
+                    sFileWriter = fileWriter;
+                }
             }
-            sb.append(',').append(' ');
         }
+        return fileWriter;
     }
 
-    private static void clipData2String(ClipData clipData, StringBuilder sb) {
-        ClipData.Item item = clipData.getItemAt(0);
-        if (item == null) {
-            sb.append("ClipData.Item {}");
-            return;
-        }
-        sb.append("ClipData.Item { ");
-        String mHtmlText = null;
-        if (android.os.Build.VERSION.SDK_INT >= android.os.Build.VERSION_CODES.JELLY_BEAN) {
-            mHtmlText = item.getHtmlText();
-        }
-        if (mHtmlText != null) {
-            sb.append("H:");
-            sb.append(mHtmlText);
-            sb.append("}");
-            return;
-        }
-        CharSequence text = item.getText();
-        if (text != null) {
-            sb.append("T:");
-            sb.append(text);
-            sb.append("}");
-            return;
-        }
-        Uri uri = item.getUri();
-        if (uri != null) {
-            sb.append("U:").append(uri);
-            sb.append("}");
-            return;
-        }
-        Intent intent = item.getIntent();
-        if (intent != null) {
-            sb.append("I:");
-            sb.append(intent2String(intent));
-            sb.append("}");
-            return;
-        }
-        sb.append("NULL");
-        sb.append("}");
-    }
-
-    private static String createLogContent(String tag, String message, Throwable throwable) {
-        StringBuilder sb = new StringBuilder();
-        SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss:SSS", Locale.getDefault());
-        sb.append("\n")
-                .append(simpleDateFormat.format(new Date()))
-                .append(" || ")
-                .append(tag)
-                .append(" || ")
-                .append(message);
-        if (throwable != null) {
-            sb.append(" || ").append(Log.getStackTraceString(throwable));
-        }
-        return sb.toString();
-    }
-
-    private static void writeLogContent(final String content) {
-        synchronized (LoggerUtils.class) {
-            if (sExecutor == null) {
-                sExecutor = Executors.newSingleThreadExecutor();
-            }
+    /**
+     * 写线程启动后队列容量不再改变，新配置的容量不同时输出警告
+     * The queue capacity is fixed once the writer thread starts, warn if a new config asks for another one
+     */
+    static void checkQueueCapacity(LoggerConfig loggerConfig) {
+        LogFileWriter fileWriter = sFileWriter;
+        if (fileWriter != null && fileWriter.getQueueCapacity() != loggerConfig.getQueueCapacity()) {
+            Log.w(LoggerFactory.DEFAULT_TAG, "queueCapacity " + loggerConfig.getQueueCapacity()
+                    + " is ignored, the file writer already runs with " + fileWriter.getQueueCapacity());
         }
-
-        sExecutor.execute(new Runnable() {
-            @Override
-            public void run() {
-                try {
-                    File file = createLogFile();
-                    appendLogContent(file, content);
-                } catch (IOException e) {
-                    Log.e(LoggerFactory.DEFAULT_TAG, "printLogFile", e);
-                }
-            }
-        });
     }
 
-    private static File createLogFile() throws IOException {
+    static File createLogFile(String suffix) throws IOException {
         LoggerConfig loggerConfig = LoggerFactory.getLoggerConfig();
         File logDir = new File(loggerConfig.getLogFileDir());
         if (!logDir.exists()) {
@@ -562,22 +633,14 @@ final class LoggerUtils {
             }
         }
 
-        if (isEmpty(sLogFileName)) {
-            sLogFileName = new SimpleDateFormat("yyyyMMdd_HHmmss", Locale.getDefault()).format(new Date()) + ".log";
-        }
-
-        File logFile = new File(logDir, sLogFileName);
-        if (!logFile.exists()) {
-            checkDiskSize(loggerConfig.getContext(), loggerConfig.getMaxFileSize());
-            boolean ret = logFile.createNewFile();
-            if (ret) {
-                String deviceInfo = getDeviceInfo();
-                appendLogContent(logFile, deviceInfo + "\n\n");
-            }
-            return ret ? logFile : null;
-        } else {
-            return logFile;
+        StringBuilder sb = new StringBuilder(32);
+        TimestampFormatter.FILE_NAME.formatSeconds(System.currentTimeMillis(), sb);
+        String baseName = sb.toString();
+        File logFile = new File(logDir, baseName + suffix);
+        for (int i = 1; logFile.exists() || new File(logFile.getPath() + LogCompressor.GZIP_SUFFIX).exists(); i++) {
+            logFile = new File(logDir, baseName + "_" + i + suffix);
         }
+        return logFile.createNewFile() ? logFile : null;
     }
 
     static File getLogFileDir(Context context) {
@@ -600,59 +663,7 @@ final class LoggerUtils {
         return cacheDir;
     }
 
-    private static void appendLogContent(final File logFile, final String content) throws IOException {
-        BufferedWriter bufferedWriter = null;
-        try {
-            bufferedWriter = new BufferedWriter(new FileWriter(logFile, true));
-            bufferedWriter.write(content);
-            bufferedWriter.flush();
-        } finally {
-            if (bufferedWriter != null) {
-                bufferedWriter.close();
-            }
-        }
-    }
-
-    private static void checkDiskSize(Context context, long maxFolderSize) {
-        File logFileDir = getLogFileDir(context);
-        long folderSize = getFolderSize(logFileDir);
-        if (folderSize >= maxFolderSize) {
-            deleteFileRecursive(logFileDir);
-        }
-    }
-
-    private static long getFolderSize(File folder) {
-        File[] files = folder.listFiles();
-        if (files == null) {
-            return 0;
-        }
-        long length = 0;
-        for (File file : files) {
-            if (file.isFile()) {
-                length += file.length();
-            } else {
-                length += getFolderSize(file);
-            }
-        }
-        return length;
-    }
-
-    private static void deleteFileRecursive(File file) {
-        if (file.exists()) {
-            if (file.isDirectory()) {
-                File[] files = file.listFiles();
-                if (files != null) {
-                    for (File f : files) {
-                        deleteFileRecursive(f);
-                    }
-                }
-            } else {
-                file.delete();
-            }
-        }
-    }
-
-    private static String getDeviceInfo() {
+    static String getDeviceInfo() {
         String versionName = "";
         int versionCode = 0;
         try {
@@ -672,4 +683,12 @@ final class LoggerUtils {
                 .append("\nApp VersionCode    : ").append(versionCode);
         return sb.toString();
     }
+
+    private static final class RenderBuffer {
+        static final int INITIAL_SIZE = 512;
+        StringBuilder sb = new StringBuilder(INITIAL_SIZE);
+        final PrimitiveParam primitive = new PrimitiveParam();
+        final Object[] primitiveParams = {primitive};
+        boolean inUse;
+    }
 }
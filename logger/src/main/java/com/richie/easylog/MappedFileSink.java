@@ -0,0 +1,156 @@
+package com.richie.easylog;
+
+import android.util.Log;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * 基于内存映射的日志输出，日志先写入预分配的映射缓冲文件，进程被杀后由内核保证落盘，下次启动时恢复
+ * Memory-mapped log sink, records are written into a pre-allocated mapped buffer file which the kernel persists
+ * even if the process is killed, the unflushed tail is recovered on next start
+ * <p>
+ * 缓冲文件结构 / buffer file layout:
+ * magic(4) | position(4) | name length(2) | log file name(UTF-8) | ... | data
+ *
+ * @author Richie on 2026.10.17
+ */
+final class MappedFileSink extends LogFileSink {
+    /**
+     * 映射缓冲文件名
+     * file name of mapped buffer
+     */
+    static final String BUFFER_FILE_NAME = "easylog.mmap";
+    private static final int MAGIC = 0x454C4D31;
+    private static final int POSITION_OFFSET = 4;
+    private static final int NAME_OFFSET = 8;
+    private static final int HEADER_SIZE = 256;
+    private static final int MAX_NAME_LENGTH = HEADER_SIZE - NAME_OFFSET - 2;
+    private final RandomAccessFile mBufferFile;
+    private final FileOutputStream mOutputStream;
+    private final FileChannel mChannel;
+    private final MappedByteBuffer mMapped;
+    /**
+     * 数据区，位置即已写入的长度
+     * data area, its position is the written length
+     */
+    private final ByteBuffer mData;
+
+    MappedFileSink(File bufferFile, File logFile, int bufferSize) throws IOException {
+        recover(bufferFile);
+        byte[] name = logFile.getName().getBytes(UTF_8);
+        if (name.length > MAX_NAME_LENGTH) {
+            throw new IOException("Log file name is too long: " + logFile.getName());
+        }
+        mOutputStream = new FileOutputStream(logFile, true);
+        mChannel = mOutputStream.getChannel();
+        mBufferFile = new RandomAccessFile(bufferFile, "rw");
+        try {
+            int capacity = Math.max(bufferSize, MIN_BUFFER_SIZE);
+            mBufferFile.setLength(HEADER_SIZE + capacity);
+            mMapped = mBufferFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + capacity);
+        } catch (IOException e) {
+            mBufferFile.close();
+            mOutputStream.close();
+            throw e;
+        }
+        mMapped.putInt(0, MAGIC);
+        mMapped.putInt(POSITION_OFFSET, 0);
+        mMapped.putShort(NAME_OFFSET, (short) name.length);
+        for (int i = 0; i < name.length; i++) {
+            mMapped.put(NAME_OFFSET + 2 + i, name[i]);
+        }
+        mMapped.position(HEADER_SIZE);
+        mData = mMapped.slice();
+    }
+
+    /**
+     * 把上次进程未落盘的数据追加到对应的日志文件
+     * Append the unflushed tail of last process to its log file
+     */
+    static void recover(File bufferFile) {
+        if (!bufferFile.exists() || bufferFile.length() < HEADER_SIZE) {
+            return;
+        }
+        RandomAccessFile raf = null;
+        FileOutputStream fos = null;
+        try {
+            raf = new RandomAccessFile(bufferFile, "rw");
+            if (raf.readInt() != MAGIC) {
+                return;
+            }
+            int position = raf.readInt();
+            int nameLength = raf.readShort();
+            if (position <= 0 || nameLength <= 0 || nameLength > MAX_NAME_LENGTH) {
+                return;
+            }
+            position = (int) Math.min(position, raf.length() - HEADER_SIZE);
+            byte[] name = new byte[nameLength];
+            raf.readFully(name);
+            byte[] data = new byte[position];
+            raf.seek(HEADER_SIZE);
+            raf.readFully(data);
+            File logFile = new File(bufferFile.getParentFile(), new String(name, UTF_8));
+            fos = new FileOutputStream(logFile, true);
+            fos.write(data);
+            raf.seek(POSITION_OFFSET);
+            raf.writeInt(0);
+        } catch (IOException e) {
+            Log.e(LoggerFactory.DEFAULT_TAG, "recover", e);
+        } finally {
+            closeQuietly(fos);
+            closeQuietly(raf);
+        }
+    }
+
+    @Override
+    ByteBuffer buffer() {
+        return mData;
+    }
+
+    @Override
+    void onWritten() {
+        mMapped.putInt(POSITION_OFFSET, mData.position());
+    }
+
+    @Override
+    void drain() throws IOException {
+        if (mData.position() == 0) {
+            return;
+        }
+        ByteBuffer src = mData.duplicate();
+        src.flip();
+        onDrained(src.remaining());
+        while (src.hasRemaining()) {
+            mChannel.write(src);
+        }
+        mData.clear();
+        mMapped.putInt(POSITION_OFFSET, 0);
+    }
+
+    @Override
+    void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            closeQuietly(mOutputStream);
+            closeQuietly(mBufferFile);
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                Log.e(LoggerFactory.DEFAULT_TAG, "close", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.richie.easylog;
+
+/**
+ * 延迟生成日志消息，只有日志级别开启时才会调用
+ * Supplies a log message lazily, only called when the level is enabled
+ *
+ * @author Richie on 2026.10.17
+ */
+public interface MessageSupplier {
+
+    /**
+     * 生成日志消息
+     * Build the log message
+     *
+     * @return message
+     */
+    String get();
+}
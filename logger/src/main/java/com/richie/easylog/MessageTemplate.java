@@ -0,0 +1,157 @@
+package com.richie.easylog;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 预编译的消息模板，记录文本片段和占位符的位置，渲染时只需顺序追加一次。
+ * 模板按消息字符串的引用缓存在定长数组中，常量消息只需解析一次。
+ * Precompiled message template, stores literal segments and placeholder offsets, so rendering is a single append
+ * pass. Templates are cached in a fixed size table keyed by format string identity, constant formats are parsed once.
+ * <p>
+ * 占位符为 {}，\{} 输出 {}，\\{} 输出 \ 和参数
+ * Placeholder is {}, \{} outputs {}, \\{} outputs \ followed by the param
+ *
+ * @author Richie on 2026.10.17
+ */
+final class MessageTemplate {
+    /**
+     * 参数追加
+     * Appends a param to the message
+     */
+    interface ParamAppender {
+        void append(StringBuilder sb, Object param);
+    }
+
+    /**
+     * 直接调用 toString 的参数追加
+     * Appender that calls toString of param
+     */
+    static final ParamAppender PLAIN_APPENDER = new ParamAppender() {
+        @Override
+        public void append(StringBuilder sb, Object param) {
+            sb.append(param);
+        }
+    };
+
+    /**
+     * 缓存大小，2 的幂
+     * cache size, power of 2
+     */
+    private static final int CACHE_SIZE = 256;
+    /**
+     * 超过该长度的消息不缓存，避免长时间持有动态拼接的长字符串
+     * formats longer than this are not cached to avoid holding large dynamic strings
+     */
+    private static final int MAX_CACHED_LENGTH = 1024;
+    private static final AtomicReferenceArray<MessageTemplate> CACHE = new AtomicReferenceArray<>(CACHE_SIZE);
+    private static final int PLACEHOLDER = -1;
+    private final String mFormat;
+    /**
+     * 文本片段的起止位置，占位符用 {@link #PLACEHOLDER} 表示
+     * start and end of literal segments, placeholders are marked by {@link #PLACEHOLDER}
+     */
+    private final int[] mSegments;
+    private final int mPlaceholderCount;
+
+    private MessageTemplate(String format, int[] segments, int placeholderCount) {
+        mFormat = format;
+        mSegments = segments;
+        mPlaceholderCount = placeholderCount;
+    }
+
+    static MessageTemplate get(String format) {
+        if (format.length() > MAX_CACHED_LENGTH) {
+            return compile(format);
+        }
+        int index = System.identityHashCode(format) & (CACHE_SIZE - 1);
+        MessageTemplate template = CACHE.get(index);
+        if (template == null || template.mFormat != format) {
+            template = compile(format);
+            CACHE.lazySet(index, template);
+        }
+        return template;
+    }
+
+    int getPlaceholderCount() {
+        return mPlaceholderCount;
+    }
+
+    /**
+     * 渲染消息，参数不足时保留占位符，params 为空时所有占位符输出 null
+     * Render message, placeholders without params are kept, all placeholders output null if params is null
+     */
+    void render(StringBuilder sb, Object[] params, ParamAppender appender) {
+        int[] segments = mSegments;
+        int paramIndex = 0;
+        for (int i = 0; i < segments.length; i += 2) {
+            int start = segments[i];
+            if (start != PLACEHOLDER) {
+                sb.append(mFormat, start, segments[i + 1]);
+            } else if (params == null) {
+                sb.append("null");
+            } else if (paramIndex < params.length) {
+                appender.append(sb, params[paramIndex++]);
+            } else {
+                sb.append("{}");
+            }
+        }
+    }
+
+    private static MessageTemplate compile(String format) {
+        int length = format.length();
+        int[] segments = new int[8];
+        int count = 0;
+        int placeholderCount = 0;
+        int start = 0;
+        int index = format.indexOf("{}");
+        while (index >= 0) {
+            int escapeCount = 0;
+            while (index - escapeCount - 1 >= start && format.charAt(index - escapeCount - 1) == '\\') {
+                escapeCount++;
+            }
+            if (escapeCount == 1) {
+                // \{} 输出 {}
+                segments = add(segments, count, start, index - 1);
+                count += 2;
+                segments = add(segments, count, index, index + 2);
+                count += 2;
+            } else {
+                // \\{} 输出 \ 和参数
+                segments = add(segments, count, start, escapeCount >= 2 ? index - 1 : index);
+                count += 2;
+                segments = add(segments, count, PLACEHOLDER, PLACEHOLDER);
+                count += 2;
+                placeholderCount++;
+            }
+            start = index + 2;
+            index = format.indexOf("{}", start);
+        }
+        segments = add(segments, count, start, length);
+        count += 2;
+        int[] result = new int[count];
+        int size = 0;
+        for (int i = 0; i < count; i += 2) {
+            if (segments[i] == PLACEHOLDER || segments[i] < segments[i + 1]) {
+                result[size++] = segments[i];
+                result[size++] = segments[i + 1];
+            }
+        }
+        if (size < count) {
+            int[] trimmed = new int[size];
+            System.arraycopy(result, 0, trimmed, 0, size);
+            result = trimmed;
+        }
+        return new MessageTemplate(format, result, placeholderCount);
+    }
+
+    private static int[] add(int[] segments, int count, int start, int end) {
+        if (count + 2 > segments.length) {
+            int[] expanded = new int[segments.length * 2];
+            System.arraycopy(segments, 0, expanded, 0, count);
+            segments = expanded;
+        }
+        segments[count] = start;
+        segments[count + 1] = end;
+        return segments;
+    }
+}
@@ -0,0 +1,424 @@
+package com.richie.easylog;
+
+import android.content.ClipData;
+import android.content.ComponentName;
+import android.content.Intent;
+import android.graphics.Rect;
+import android.net.Uri;
+import android.os.Build;
+import android.os.Bundle;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 日志参数输出，直接追加到调用方的缓冲区。数组、Intent 和 Bundle 按内容输出，元素数、嵌套深度和字节数超过上限时截断，
+ * 注册了 {@link ObjectRenderer} 的类使用自定义输出。除字符串外，每个参数的输出长度也有上限
+ * Param formatter, appends into the caller's buffer directly. Arrays, intents and bundles are output by content
+ * and truncated once element count, nesting depth or byte count exceeds the limit, classes with a registered
+ * {@link ObjectRenderer} use the custom rendering. The output length of each param other than strings is capped
+ * as well
+ *
+ * @author Richie on 2026.10.17
+ */
+final class ObjectFormatter implements MessageTemplate.ParamAppender {
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final char[] BASE64_DIGITS =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+    /**
+     * 没有自定义输出的类，缓存查找结果
+     * marker of classes without custom renderer, caches the lookup
+     */
+    private static final ObjectRenderer<Object> NO_RENDERER = new ObjectRenderer<Object>() {
+        @Override
+        public void render(Object object, StringBuilder sb) {
+            sb.append(object);
+        }
+    };
+    private final int mMaxElements;
+    private final int mMaxDepth;
+    private final int mMaxBytes;
+    /**
+     * 单个参数最多输出的字符数
+     * max chars output per param
+     */
+    private final int mMaxLength;
+    private final int mBytesFormat;
+    /**
+     * 注册的自定义输出，按注册顺序匹配父类和接口
+     * registered renderers, super classes and interfaces are matched in registration order
+     */
+    private final Map<Class<?>, ObjectRenderer<?>> mRenderers;
+    /**
+     * 每个类解析后的自定义输出
+     * resolved renderer per class
+     */
+    private final ConcurrentMap<Class<?>, ObjectRenderer<?>> mResolvedRenderers = new ConcurrentHashMap<>();
+
+    ObjectFormatter(int maxElements, int maxDepth, int maxBytes, int maxLength, int bytesFormat,
+                    Map<Class<?>, ObjectRenderer<?>> renderers) {
+        mMaxElements = maxElements;
+        mMaxDepth = maxDepth;
+        mMaxBytes = maxBytes;
+        mMaxLength = maxLength;
+        mBytesFormat = bytesFormat;
+        mRenderers = new LinkedHashMap<>(renderers);
+    }
+
+    /**
+     * 输出参数，字符串原样输出，其他参数超过长度上限时截断，数组和 Bundle 超过上限后不再输出后续元素
+     * Append param, strings are appended as is, other params are truncated beyond the length limit, arrays and
+     * bundles stop at the limit without rendering remaining elements
+     */
+    @Override
+    public void append(StringBuilder sb, Object param) {
+        if (param instanceof String) {
+            sb.append((String) param);
+            return;
+        }
+        int start = sb.length();
+        int limit = start + mMaxLength;
+        appendValue(sb, param, 0, limit);
+        if (sb.length() > limit) {
+            int end = limit;
+            if (Character.isHighSurrogate(sb.charAt(end - 1)) && Character.isLowSurrogate(sb.charAt(end))) {
+                end--;
+            }
+            int more = sb.length() - end;
+            sb.setLength(end);
+            appendMore(sb, end - start, end - start + more);
+        }
+    }
+
+    private void appendValue(StringBuilder sb, Object value, int depth, int limit) {
+        if (value == null) {
+            sb.append("null");
+            return;
+        }
+        if (value instanceof PrimitiveParam) {
+            ((PrimitiveParam) value).appendTo(sb);
+            return;
+        }
+        ObjectRenderer<Object> renderer = getRenderer(value.getClass());
+        if (renderer != null) {
+            renderer.render(value, sb);
+        } else if (value.getClass().isArray()) {
+            appendArray(sb, value, depth, limit);
+        } else if (value instanceof Intent) {
+            appendIntent(sb, (Intent) value, depth, limit);
+        } else if (value instanceof Bundle) {
+            appendBundle(sb, (Bundle) value, depth, limit);
+        } else {
+            sb.append(value);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private ObjectRenderer<Object> getRenderer(Class<?> clazz) {
+        if (mRenderers.isEmpty()) {
+            return null;
+        }
+        ObjectRenderer<?> renderer = mResolvedRenderers.get(clazz);
+        if (renderer == null) {
+            renderer = mRenderers.get(clazz);
+            if (renderer == null) {
+                for (Map.Entry<Class<?>, ObjectRenderer<?>> entry : mRenderers.entrySet()) {
+                    if (entry.getKey().isAssignableFrom(clazz)) {
+                        renderer = entry.getValue();
+                        break;
+                    }
+                }
+            }
+            if (renderer == null) {
+                renderer = NO_RENDERER;
+            }
+            mResolvedRenderers.put(clazz, renderer);
+        }
+        return renderer != NO_RENDERER ? (ObjectRenderer<Object>) renderer : null;
+    }
+
+    private void appendArray(StringBuilder sb, Object array, int depth, int limit) {
+        if (depth >= mMaxDepth) {
+            sb.append("[...]");
+            return;
+        }
+        if (array instanceof byte[]) {
+            appendBytes(sb, (byte[]) array);
+            return;
+        }
+        int length;
+        if (array instanceof Object[]) {
+            length = ((Object[]) array).length;
+        } else if (array instanceof int[]) {
+            length = ((int[]) array).length;
+        } else if (array instanceof long[]) {
+            length = ((long[]) array).length;
+        } else if (array instanceof char[]) {
+            length = ((char[]) array).length;
+        } else if (array instanceof short[]) {
+            length = ((short[]) array).length;
+        } else if (array instanceof boolean[]) {
+            length = ((boolean[]) array).length;
+        } else if (array instanceof float[]) {
+            length = ((float[]) array).length;
+        } else {
+            length = ((double[]) array).length;
+        }
+        int count = Math.min(length, mMaxElements);
+        sb.append('[');
+        int i = 0;
+        for (; i < count && sb.length() <= limit; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            if (array instanceof Object[]) {
+                appendValue(sb, ((Object[]) array)[i], depth + 1, limit);
+            } else if (array instanceof int[]) {
+                sb.append(((int[]) array)[i]);
+            } else if (array instanceof long[]) {
+                sb.append(((long[]) array)[i]);
+            } else if (array instanceof char[]) {
+                sb.append(((char[]) array)[i]);
+            } else if (array instanceof short[]) {
+                sb.append(((short[]) array)[i]);
+            } else if (array instanceof boolean[]) {
+                sb.append(((boolean[]) array)[i]);
+            } else if (array instanceof float[]) {
+                sb.append(((float[]) array)[i]);
+            } else {
+                sb.append(((double[]) array)[i]);
+            }
+        }
+        appendMore(sb, i, length);
+        sb.append(']');
+    }
+
+    /**
+     * 按配置的格式输出字节数组，十六进制和 Base64 带上数组长度
+     * Append byte array in the configured format, hex and Base64 are prefixed with the array length
+     */
+    private void appendBytes(StringBuilder sb, byte[] bytes) {
+        int count = Math.min(bytes.length, mMaxBytes);
+        if (mBytesFormat == LoggerConfig.BYTES_FORMAT_HEX) {
+            sb.append("byte[").append(bytes.length).append("]{");
+            for (int i = 0; i < count; i++) {
+                sb.append(HEX_DIGITS[(bytes[i] >> 4) & 0x0F]).append(HEX_DIGITS[bytes[i] & 0x0F]);
+            }
+            appendMore(sb, count, bytes.length);
+            sb.append('}');
+        } else if (mBytesFormat == LoggerConfig.BYTES_FORMAT_BASE64) {
+            if (count < bytes.length) {
+                // 截断时按 3 字节对齐，避免中间出现填充
+                count -= count % 3;
+            }
+            sb.append("byte[").append(bytes.length).append("]{");
+            appendBase64(sb, bytes, count);
+            appendMore(sb, count, bytes.length);
+            sb.append('}');
+        } else {
+            sb.append('[');
+            for (int i = 0; i < count; i++) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                sb.append(bytes[i]);
+            }
+            appendMore(sb, count, bytes.length);
+            sb.append(']');
+        }
+    }
+
+    private static void appendBase64(StringBuilder sb, byte[] bytes, int length) {
+        int i = 0;
+        for (; i + 2 < length; i += 3) {
+            int value = (bytes[i] & 0xFF) << 16 | (bytes[i + 1] & 0xFF) << 8 | (bytes[i + 2] & 0xFF);
+            sb.append(BASE64_DIGITS[value >>> 18])
+                    .append(BASE64_DIGITS[(value >>> 12) & 0x3F])
+                    .append(BASE64_DIGITS[(value >>> 6) & 0x3F])
+                    .append(BASE64_DIGITS[value & 0x3F]);
+        }
+        int remain = length - i;
+        if (remain > 0) {
+            int value = (bytes[i] & 0xFF) << 16 | (remain == 2 ? (bytes[i + 1] & 0xFF) << 8 : 0);
+            sb.append(BASE64_DIGITS[value >>> 18])
+                    .append(BASE64_DIGITS[(value >>> 12) & 0x3F])
+                    .append(remain == 2 ? BASE64_DIGITS[(value >>> 6) & 0x3F] : '=')
+                    .append('=');
+        }
+    }
+
+    private static void appendMore(StringBuilder sb, int count, int total) {
+        if (count < total) {
+            if (count > 0) {
+                sb.append(' ');
+            }
+            sb.append("... (").append(total - count).append(" more)");
+        }
+    }
+
+    private void appendIntent(StringBuilder sb, Intent intent, int depth, int limit) {
+        if (depth >= mMaxDepth) {
+            sb.append("Intent {...}");
+            return;
+        }
+        sb.append("Intent {");
+        int start = sb.length();
+        String action = intent.getAction();
+        if (action != null) {
+            sb.append("act=").append(action);
+        }
+        Set<String> categories = intent.getCategories();
+        if (categories != null) {
+            appendSeparator(sb, start);
+            sb.append("cat=[");
+            boolean firstCategory = true;
+            for (String c : categories) {
+                if (!firstCategory) {
+                    sb.append(',');
+                }
+                sb.append(c);
+                firstCategory = false;
+            }
+            sb.append("]");
+        }
+        Uri data = intent.getData();
+        if (data != null) {
+            appendSeparator(sb, start);
+            sb.append("dat=").append(data);
+        }
+        String type = intent.getType();
+        if (type != null) {
+            appendSeparator(sb, start);
+            sb.append("typ=").append(type);
+        }
+        int flags = intent.getFlags();
+        if (flags != 0) {
+            appendSeparator(sb, start);
+            sb.append("flg=0x").append(Integer.toHexString(flags));
+        }
+        String aPackage = intent.getPackage();
+        if (aPackage != null) {
+            appendSeparator(sb, start);
+            sb.append("pkg=").append(aPackage);
+        }
+        ComponentName component = intent.getComponent();
+        if (component != null) {
+            appendSeparator(sb, start);
+            sb.append("cmp=").append(component.flattenToShortString());
+        }
+        Rect sourceBounds = intent.getSourceBounds();
+        if (sourceBounds != null) {
+            appendSeparator(sb, start);
+            sb.append("bnds=").append(sourceBounds.toShortString());
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            ClipData clipData = intent.getClipData();
+            if (clipData != null) {
+                appendSeparator(sb, start);
+                appendClipData(sb, clipData, depth, limit);
+            }
+        }
+        Bundle extras = intent.getExtras();
+        if (extras != null) {
+            appendSeparator(sb, start);
+            sb.append("extras={");
+            appendBundle(sb, extras, depth + 1, limit);
+            sb.append('}');
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH_MR1) {
+            Intent selector = intent.getSelector();
+            if (selector != null) {
+                appendSeparator(sb, start);
+                sb.append("sel={");
+                if (selector == intent) {
+                    sb.append("(this Intent)");
+                } else {
+                    appendIntent(sb, selector, depth + 1, limit);
+                }
+                sb.append("}");
+            }
+        }
+        sb.append("}");
+    }
+
+    private static void appendSeparator(StringBuilder sb, int start) {
+        if (sb.length() > start) {
+            sb.append(' ');
+        }
+    }
+
+    private void appendBundle(StringBuilder sb, Bundle bundle, int depth, int limit) {
+        Iterator<String> iterator = bundle.keySet().iterator();
+        if (!iterator.hasNext()) {
+            sb.append("Bundle {}");
+            return;
+        }
+        if (depth >= mMaxDepth) {
+            sb.append("Bundle {...}");
+            return;
+        }
+        sb.append("Bundle {");
+        int count = 0;
+        while (iterator.hasNext() && count < mMaxElements && sb.length() <= limit) {
+            if (count > 0) {
+                sb.append(", ");
+            }
+            String key = iterator.next();
+            Object value = bundle.get(key);
+            sb.append(key).append('=');
+            if (value == bundle) {
+                sb.append("(this Bundle)");
+            } else {
+                appendValue(sb, value, depth + 1, limit);
+            }
+            count++;
+        }
+        appendMore(sb, count, bundle.size());
+        sb.append("}");
+    }
+
+    private void appendClipData(StringBuilder sb, ClipData clipData, int depth, int limit) {
+        ClipData.Item item = clipData.getItemAt(0);
+        if (item == null) {
+            sb.append("ClipData.Item {}");
+            return;
+        }
+        sb.append("ClipData.Item { ");
+        String htmlText = null;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            htmlText = item.getHtmlText();
+        }
+        if (htmlText != null) {
+            sb.append("H:");
+            sb.append(htmlText);
+            sb.append("}");
+            return;
+        }
+        CharSequence text = item.getText();
+        if (text != null) {
+            sb.append("T:");
+            sb.append(text);
+            sb.append("}");
+            return;
+        }
+        Uri uri = item.getUri();
+        if (uri != null) {
+            sb.append("U:").append(uri);
+            sb.append("}");
+            return;
+        }
+        Intent intent = item.getIntent();
+        if (intent != null) {
+            sb.append("I:");
+            appendIntent(sb, intent, depth + 1, limit);
+            sb.append("}");
+            return;
+        }
+        sb.append("NULL");
+        sb.append("}");
+    }
+}
@@ -0,0 +1,21 @@
+package com.richie.easylog;
+
+/**
+ * 自定义对象输出，替代 toString，通过 {@link LoggerConfig.Builder#objectRenderer(Class, ObjectRenderer)} 按类注册
+ * Custom rendering of objects instead of toString, registered per class by
+ * {@link LoggerConfig.Builder#objectRenderer(Class, ObjectRenderer)}
+ *
+ * @param <T> 对象类型
+ * @author Richie on 2026.10.17
+ */
+public interface ObjectRenderer<T> {
+
+    /**
+     * 把对象追加到日志中，可能在任意线程调用
+     * Append the object to log, may be called on any thread
+     *
+     * @param object 对象，不为空
+     * @param sb     日志缓冲区
+     */
+    void render(T object, StringBuilder sb);
+}
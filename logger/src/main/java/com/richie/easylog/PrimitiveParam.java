@@ -0,0 +1,78 @@
+package com.richie.easylog;
+
+/**
+ * 基本类型参数，按线程复用，渲染时直接追加到缓冲区，避免装箱
+ * Primitive param, reused per thread and appended to the buffer directly when rendering to avoid boxing
+ *
+ * @author Richie on 2026.10.17
+ */
+final class PrimitiveParam {
+    static final int TYPE_INT = 0;
+    static final int TYPE_LONG = 1;
+    static final int TYPE_FLOAT = 2;
+    static final int TYPE_DOUBLE = 3;
+    static final int TYPE_BOOLEAN = 4;
+    static final int TYPE_CHAR = 5;
+    private int mType;
+    /**
+     * 整数直接保存，浮点数保存 {@link Double#doubleToRawLongBits(double)}
+     * integers are stored as is, floating point values are stored as {@link Double#doubleToRawLongBits(double)}
+     */
+    private long mValue;
+
+    void set(int type, long value) {
+        mType = type;
+        mValue = value;
+    }
+
+    void appendTo(StringBuilder sb) {
+        switch (mType) {
+            case TYPE_INT:
+                sb.append((int) mValue);
+                break;
+            case TYPE_LONG:
+                sb.append(mValue);
+                break;
+            case TYPE_FLOAT:
+                sb.append((float) Double.longBitsToDouble(mValue));
+                break;
+            case TYPE_DOUBLE:
+                sb.append(Double.longBitsToDouble(mValue));
+                break;
+            case TYPE_BOOLEAN:
+                sb.append(mValue != 0);
+                break;
+            case TYPE_CHAR:
+                sb.append((char) mValue);
+                break;
+            default:
+        }
+    }
+
+    /**
+     * 装箱，用于需要跨线程保存参数的情况
+     * Box the value, used when the param is kept beyond the current call
+     */
+    Object box() {
+        return box(mType, mValue);
+    }
+
+    static Object box(int type, long value) {
+        switch (type) {
+            case TYPE_INT:
+                return (int) value;
+            case TYPE_LONG:
+                return value;
+            case TYPE_FLOAT:
+                return (float) Double.longBitsToDouble(value);
+            case TYPE_DOUBLE:
+                return Double.longBitsToDouble(value);
+            case TYPE_BOOLEAN:
+                return value != 0;
+            case TYPE_CHAR:
+                return (char) value;
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.richie.easylog;
+
+import android.util.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 内存环形缓冲 appender，保留最近 N 条日志，在调用线程直接写入，没有队列和 I/O。
+ * 发生未捕获异常或主动调用时把缓冲的日志写入文件，配合 {@link LoggerConfig.Builder#fileLogLevel(int)}
+ * 可以只在崩溃时保留 DEBUG 日志
+ * In-memory ring buffer appender keeping the last N records, written on the caller thread without queue or I/O.
+ * The buffered records are dumped to file on uncaught exception or on request, together with
+ * {@link LoggerConfig.Builder#fileLogLevel(int)} DEBUG records are kept for crashes only
+ * <p>
+ * 用法 / usage:
+ * <pre>
+ * RingBufferAppender ringBuffer = new RingBufferAppender(2000, new File(dir, "crash.log"));
+ * ringBuffer.installCrashHandler();
+ * new LoggerConfig.Builder()
+ *         .logLevel(LoggerConfig.VERBOSE)
+ *         .fileLogLevel(LoggerConfig.INFO)
+ *         .appender(new AppenderConfig.Builder(ringBuffer).build())
+ * </pre>
+ *
+ * @author Richie on 2026.10.17
+ */
+public final class RingBufferAppender implements Appender, EventRecorder {
+    /**
+     * 写出时的编码缓冲区大小
+     * size of the encoding buffer used by dump
+     */
+    private static final int DUMP_BUFFER_SIZE = 16 * 1024;
+    private static final int INITIAL_BUILDER_SIZE = 512;
+    private final AtomicReferenceArray<LogEvent> mEvents;
+    private final int mCapacity;
+    /**
+     * 下一条日志的序号
+     * sequence of the next record
+     */
+    private final AtomicLong mSequence = new AtomicLong();
+    private final File mDumpFile;
+
+    /**
+     * @param capacity 保留的日志条数
+     * @param dumpFile 崩溃时写入的文件，每次覆盖
+     */
+    public RingBufferAppender(int capacity, File dumpFile) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        if (dumpFile == null) {
+            throw new NullPointerException("Dump file can't be null");
+        }
+        mCapacity = capacity;
+        mEvents = new AtomicReferenceArray<>(capacity);
+        mDumpFile = dumpFile;
+    }
+
+    /**
+     * 事件由所有 appender 共用，这里只保存引用，不再复制
+     * The event is shared by all appenders, only its reference is stored without another copy
+     */
+    @Override
+    public void record(LogEvent event) {
+        long sequence = mSequence.getAndIncrement();
+        mEvents.lazySet((int) (sequence % mCapacity), event);
+    }
+
+    @Override
+    public void append(LogEvent event, CharSequence content) {
+        record(event);
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    /**
+     * 在默认的未捕获异常处理之前先写出缓冲的日志，原有的处理继续执行
+     * Dump buffered records before the default uncaught exception handler, which still runs afterwards
+     */
+    public void installCrashHandler() {
+        final Thread.UncaughtExceptionHandler previous = Thread.getDefaultUncaughtExceptionHandler();
+        Thread.setDefaultUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler() {
+            @Override
+            public void uncaughtException(Thread thread, Throwable throwable) {
+                try {
+                    record(new LogEvent(LoggerConfig.ERROR, LoggerFactory.DEFAULT_TAG, System.currentTimeMillis(),
+                            thread.getName(), LoggerUtils.NO_LINE_NUMBER, "FATAL EXCEPTION: " + thread.getName(),
+                            LoggerUtils.getStackTraceString(throwable)));
+                    dump(mDumpFile);
+                } catch (Throwable t) {
+                    // 崩溃处理中不能再抛出异常
+                    Log.e(LoggerFactory.DEFAULT_TAG, "dump", t);
+                }
+                if (previous != null) {
+                    previous.uncaughtException(thread, throwable);
+                }
+            }
+        });
+    }
+
+    /**
+     * 把缓冲的日志写入创建时指定的文件
+     * Dump buffered records into the file given on creation
+     */
+    public File dump() throws IOException {
+        return dump(mDumpFile);
+    }
+
+    /**
+     * 把缓冲的日志按时间顺序写入文件，覆盖原有内容，缓冲区不清空。逐条编码到固定大小的缓冲区，内存占用与日志条数无关
+     * Dump buffered records in order into the file, overwriting it, the buffer is kept. Records are encoded one
+     * by one through a fixed size buffer, so memory use doesn't grow with the record count
+     *
+     * @param file 目标文件
+     * @return 目标文件
+     */
+    public File dump(File file) throws IOException {
+        File dir = file.getParentFile();
+        if (dir != null && !dir.exists() && !dir.mkdirs()) {
+            throw new IOException("Can't create directory " + dir);
+        }
+        long end = mSequence.get();
+        long start = Math.max(0, end - mCapacity);
+        StreamFileSink sink = new StreamFileSink(file, DUMP_BUFFER_SIZE, false);
+        try {
+            StringBuilder sb = new StringBuilder(INITIAL_BUILDER_SIZE);
+            sb.append(LoggerUtils.getDeviceInfo()).append("\n\n");
+            sink.write(sb);
+            for (long i = start; i < end; i++) {
+                LogEvent event = mEvents.get((int) (i % mCapacity));
+                // 尚未写入的位置为空
+                if (event != null) {
+                    sb.setLength(0);
+                    LogFormatter.TEXT.format(event, sb);
+                    sink.write(sb);
+                }
+            }
+        } finally {
+            sink.close();
+        }
+        return file;
+    }
+
+    /**
+     * 清空缓冲的日志
+     * Clear buffered records
+     */
+    public void clear() {
+        for (int i = 0; i < mCapacity; i++) {
+            mEvents.set(i, null);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.richie.easylog;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * 基于文件流的日志输出，缓冲区满或刷盘时一次写入
+ * Stream log sink, writes the whole buffer to file in one call when it's full or flushed
+ *
+ * @author Richie on 2026.10.17
+ */
+final class StreamFileSink extends LogFileSink {
+    private final FileOutputStream mOutputStream;
+    private final FileChannel mChannel;
+    private final ByteBuffer mBuffer;
+
+    StreamFileSink(File logFile, int bufferSize) throws FileNotFoundException {
+        this(logFile, bufferSize, true);
+    }
+
+    /**
+     * @param append 为 false 时覆盖原有内容
+     */
+    StreamFileSink(File logFile, int bufferSize, boolean append) throws FileNotFoundException {
+        mOutputStream = new FileOutputStream(logFile, append);
+        mChannel = mOutputStream.getChannel();
+        mBuffer = ByteBuffer.allocate(Math.max(bufferSize, MIN_BUFFER_SIZE));
+    }
+
+    @Override
+    ByteBuffer buffer() {
+        return mBuffer;
+    }
+
+    @Override
+    void drain() throws IOException {
+        mBuffer.flip();
+        onDrained(mBuffer.remaining());
+        try {
+            while (mBuffer.hasRemaining()) {
+                mChannel.write(mBuffer);
+            }
+        } finally {
+            mBuffer.clear();
+        }
+    }
+
+    @Override
+    void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            mOutputStream.close();
+        }
+    }
+}
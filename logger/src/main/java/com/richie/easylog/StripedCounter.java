@@ -0,0 +1,61 @@
+package com.richie.easylog;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 分段计数器，不同线程尽量落在不同的槽位，减少竞争。槽位之间留有间隔，避免伪共享
+ * Striped counter, threads are spread over different cells to reduce contention. Cells are padded apart to avoid
+ * false sharing
+ *
+ * @author Richie on 2026.10.17
+ */
+final class StripedCounter {
+    /**
+     * 槽位数，2 的幂
+     * number of cells, power of 2
+     */
+    private static final int STRIPES = 8;
+    /**
+     * 相邻槽位间隔的 long 个数，64 字节缓存行
+     * longs between neighbouring cells, 64 bytes cache line
+     */
+    private static final int PADDING = 8;
+    private final AtomicLongArray mCells = new AtomicLongArray(STRIPES * PADDING);
+
+    /**
+     * 当前线程的槽位加一，返回槽位的新值
+     * Increment the cell of current thread, return the new value of the cell
+     */
+    long increment() {
+        return mCells.incrementAndGet(index());
+    }
+
+    void add(long delta) {
+        mCells.addAndGet(index(), delta);
+    }
+
+    long sum() {
+        long sum = 0;
+        for (int i = 0; i < STRIPES; i++) {
+            sum += mCells.get(i * PADDING);
+        }
+        return sum;
+    }
+
+    /**
+     * 读取总数并清零，与并发的累加之间不会丢失计数
+     * Read the sum and reset to zero, concurrent increments are not lost
+     */
+    long sumThenReset() {
+        long sum = 0;
+        for (int i = 0; i < STRIPES; i++) {
+            sum += mCells.getAndSet(i * PADDING, 0);
+        }
+        return sum;
+    }
+
+    private static int index() {
+        long id = Thread.currentThread().getId();
+        return (int) ((id ^ (id >>> 3)) & (STRIPES - 1)) * PADDING;
+    }
+}
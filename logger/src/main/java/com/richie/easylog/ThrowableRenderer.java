@@ -0,0 +1,274 @@
+package com.richie.easylog;
+
+import android.os.Build;
+
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 异常堆栈渲染，每次打印日志只渲染一次，按堆栈指纹缓存最近渲染的结果，重复的异常只需计算指纹
+ * Throwable renderer, renders once per log call and caches recent results by stack fingerprint, so a repeated
+ * throwable only costs the fingerprint
+ * <p>
+ * 格式与 {@link Throwable#printStackTrace()} 相同，包括 Caused by 和缩进的 Suppressed 块、与外层相同的栈底帧省略和循环引用，
+ * 可以限制每层的帧数和原因的层数，超出时输出省略标记
+ * Same layout as {@link Throwable#printStackTrace()}, including Caused by and indented Suppressed blocks,
+ * elision of frames in common with the enclosing trace and circular references. Frames per throwable and depth of
+ * causes can be limited, an omission marker is printed when they are exceeded
+ *
+ * @author Richie on 2026.10.17
+ */
+final class ThrowableRenderer {
+    /**
+     * 缓存的堆栈数
+     * number of cached stack traces
+     */
+    private static final int MAX_CACHE_SIZE = 64;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    /**
+     * 与 Log.getStackTraceString 相同，网络不可用时不输出堆栈
+     * Same as Log.getStackTraceString, no stack trace is printed when network is unavailable
+     */
+    private static final Trace EMPTY_TRACE = new Trace(0, "");
+    private static final int CAPTION_NONE = 0;
+    private static final int CAPTION_CAUSED_BY = 1;
+    private static final int CAPTION_SUPPRESSED = 2;
+    private static final String[] CAPTIONS = {"", "Caused by: ", "Suppressed: "};
+    /**
+     * 指纹中代替被截断和循环引用的异常的常量，同样的结构总是得到同样的指纹
+     * constants standing for truncated and circular throwables in the fingerprint, so the same structure always
+     * gets the same fingerprint
+     */
+    private static final int TRUNCATED_MARKER = 0x7472756e;
+    private static final int CIRCULAR_MARKER = 0x63697263;
+    private static final Map<Long, Trace> CACHE = new LinkedHashMap<Long, Trace>(MAX_CACHE_SIZE * 4 / 3 + 1, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Trace> eldest) {
+            return size() > MAX_CACHE_SIZE;
+        }
+    };
+
+    private ThrowableRenderer() {
+    }
+
+    /**
+     * 渲染异常堆栈
+     * Render stack trace of throwable
+     *
+     * @param throwable 异常
+     * @param maxFrames 每层最多输出的帧数
+     * @param maxCauses 最多输出的原因和 Suppressed 的层数
+     * @return 渲染结果
+     */
+    static Trace render(Throwable throwable, int maxFrames, int maxCauses) {
+        Walker walker = new Walker(maxFrames, maxCauses);
+        walker.walk(throwable, null, CAPTION_NONE, 0, 0);
+        if (walker.mUnknownHost) {
+            return EMPTY_TRACE;
+        }
+        long fingerprint = walker.mFingerprint;
+
+        Trace trace;
+        synchronized (CACHE) {
+            trace = CACHE.get(fingerprint);
+        }
+        if (trace != null) {
+            return trace;
+        }
+        trace = new Trace(fingerprint, walker.renderText());
+        synchronized (CACHE) {
+            CACHE.put(fingerprint, trace);
+        }
+        return trace;
+    }
+
+    private static int indexOf(List<Throwable> chain, Throwable throwable) {
+        for (int i = 0; i < chain.size(); i++) {
+            if (chain.get(i) == throwable) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static long mix(long hash, int value) {
+        for (int i = 0; i < 4; i++) {
+            hash ^= (value >>> (i * 8)) & 0xFF;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * 按 printStackTrace 的顺序遍历异常、Suppressed 和原因，计算指纹并记录待渲染的块
+     * Walks the throwable, its suppressed exceptions and causes in printStackTrace order, computes the fingerprint
+     * and records the blocks to render
+     */
+    private static final class Walker {
+        private final int mMaxFrames;
+        private final int mMaxCauses;
+        private final List<Throwable> mSeen = new ArrayList<>(4);
+        private final List<Block> mBlocks = new ArrayList<>(4);
+        private long mFingerprint = FNV_OFFSET;
+        private boolean mUnknownHost;
+
+        Walker(int maxFrames, int maxCauses) {
+            mMaxFrames = maxFrames;
+            mMaxCauses = maxCauses;
+            mFingerprint = mix(mFingerprint, maxFrames);
+            mFingerprint = mix(mFingerprint, maxCauses);
+        }
+
+        void walk(Throwable throwable, StackTraceElement[] enclosing, int caption, int indent, int depth) {
+            if (indent == 0 && throwable instanceof UnknownHostException) {
+                // 与 Log.getStackTraceString 相同，只检查原因链
+                mUnknownHost = true;
+            }
+            mFingerprint = mix(mFingerprint, caption);
+            mFingerprint = mix(mFingerprint, indent);
+            int cycleIndex = indexOf(mSeen, throwable);
+            if (cycleIndex >= 0) {
+                mFingerprint = mix(mFingerprint, CIRCULAR_MARKER);
+                mFingerprint = mix(mFingerprint, cycleIndex);
+                mBlocks.add(new Block(throwable, null, null, caption, indent, cycleIndex));
+                return;
+            }
+            if (depth > mMaxCauses) {
+                mFingerprint = mix(mFingerprint, TRUNCATED_MARKER);
+                mBlocks.add(new Block(null, null, null, caption, indent, -1));
+                return;
+            }
+            StackTraceElement[] stackTrace = throwable.getStackTrace();
+            mSeen.add(throwable);
+            mBlocks.add(new Block(throwable, stackTrace, enclosing, caption, indent, -1));
+            mFingerprint = mix(mFingerprint, throwable.getClass().getName().hashCode());
+            String message = throwable.getLocalizedMessage();
+            mFingerprint = mix(mFingerprint, message != null ? message.hashCode() : 0);
+            mFingerprint = mix(mFingerprint, stackTrace.length);
+            for (StackTraceElement element : stackTrace) {
+                mFingerprint = mix(mFingerprint, element.hashCode());
+            }
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
+                for (Throwable suppressed : throwable.getSuppressed()) {
+                    walk(suppressed, stackTrace, CAPTION_SUPPRESSED, indent + 1, depth + 1);
+                }
+            }
+            Throwable cause = throwable.getCause();
+            if (cause != null) {
+                walk(cause, stackTrace, CAPTION_CAUSED_BY, indent, depth + 1);
+            }
+        }
+
+        String renderText() {
+            StringBuilder sb = new StringBuilder(256 + mBlocks.get(0).mStackTrace.length * 64);
+            for (Block block : mBlocks) {
+                appendIndent(sb, block.mIndent);
+                if (block.mCycleIndex >= 0) {
+                    sb.append("\t[CIRCULAR REFERENCE: ").append(block.mThrowable).append("]\n");
+                    continue;
+                }
+                if (block.mThrowable == null) {
+                    sb.append("\t... more causes omitted\n");
+                    continue;
+                }
+                sb.append(CAPTIONS[block.mCaption]).append(block.mThrowable).append('\n');
+                StackTraceElement[] stackTrace = block.mStackTrace;
+                // 与外层相同的栈底帧省略，与 printStackTrace 一致
+                int unique = stackTrace.length;
+                StackTraceElement[] enclosing = block.mEnclosing;
+                if (enclosing != null) {
+                    int j = enclosing.length - 1;
+                    while (unique > 0 && j >= 0 && stackTrace[unique - 1].equals(enclosing[j])) {
+                        unique--;
+                        j--;
+                    }
+                }
+                int shown = Math.min(unique, mMaxFrames);
+                for (int k = 0; k < shown; k++) {
+                    appendIndent(sb, block.mIndent);
+                    sb.append("\tat ").append(stackTrace[k]).append('\n');
+                }
+                if (shown < stackTrace.length) {
+                    appendIndent(sb, block.mIndent);
+                    sb.append("\t... ").append(stackTrace.length - shown).append(" more\n");
+                }
+            }
+            return sb.toString();
+        }
+
+        private static void appendIndent(StringBuilder sb, int indent) {
+            for (int i = 0; i < indent; i++) {
+                sb.append('\t');
+            }
+        }
+    }
+
+    /**
+     * 一个异常块，或代替截断和循环引用的标记
+     * One throwable block, or a marker standing for a truncated or circular throwable
+     */
+    private static final class Block {
+        final Throwable mThrowable;
+        final StackTraceElement[] mStackTrace;
+        final StackTraceElement[] mEnclosing;
+        final int mCaption;
+        final int mIndent;
+        /**
+         * 循环引用指向的异常在遍历顺序中的位置，不是循环引用时为 -1
+         * index of the referenced throwable in walk order, -1 if it's not a circular reference
+         */
+        final int mCycleIndex;
+
+        Block(Throwable throwable, StackTraceElement[] stackTrace, StackTraceElement[] enclosing, int caption,
+              int indent, int cycleIndex) {
+            mThrowable = throwable;
+            mStackTrace = stackTrace;
+            mEnclosing = enclosing;
+            mCaption = caption;
+            mIndent = indent;
+            mCycleIndex = cycleIndex;
+        }
+    }
+
+    /**
+     * 渲染后的堆栈，不可变，可在线程间共享
+     * Rendered stack trace, immutable and shared between threads
+     */
+    static final class Trace {
+        /**
+         * 堆栈指纹，包含异常类型、消息和所有帧
+         * stack fingerprint covering types, messages and all frames
+         */
+        final long fingerprint;
+        final String text;
+
+        Trace(long fingerprint, String text) {
+            this.fingerprint = fingerprint;
+            this.text = text;
+        }
+
+        boolean isEmpty() {
+            return text.isEmpty();
+        }
+
+        /**
+         * 输出带指纹的堆栈，reference 为 true 时只输出第一行和指向前文的引用
+         * Append the stack trace with its fingerprint, only the first line and a reference to the earlier
+         * occurrence when reference is true
+         */
+        void appendTo(StringBuilder sb, boolean reference) {
+            sb.append('#').append(Long.toHexString(fingerprint)).append(' ');
+            if (reference) {
+                int end = text.indexOf('\n');
+                sb.append(text, 0, end >= 0 ? end : text.length())
+                        .append(" (same stack trace as above)");
+            } else {
+                sb.append(text);
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.richie.easylog;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * 时间格式化，按秒缓存格式化后的字符串，只追加毫秒数字，线程安全
+ * Timestamp formatter, caches the formatted text per second and only appends millisecond digits, thread safe
+ *
+ * @author Richie on 2026.10.17
+ */
+final class TimestampFormatter {
+    private static final String RECORD_PATTERN = "yyyy-MM-dd HH:mm:ss";
+    /**
+     * 日志记录的时间格式，毫秒单独追加
+     * format of record time, millis are appended separately
+     */
+    static final TimestampFormatter RECORD = new TimestampFormatter(RECORD_PATTERN);
+    /**
+     * 日志文件名的时间格式
+     * format of log file name
+     */
+    static final TimestampFormatter FILE_NAME = new TimestampFormatter("yyyyMMdd_HHmmss");
+    private final SimpleDateFormat mDateFormat;
+    private final Date mDate = new Date();
+    /**
+     * 最近一秒的缓存，不可变对象，替换时无需加锁
+     * cache of the latest second, immutable so it's replaced without lock
+     */
+    private volatile CachedSecond mCache;
+
+    private TimestampFormatter(String pattern) {
+        mDateFormat = new SimpleDateFormat(pattern, Locale.getDefault());
+    }
+
+    private TimestampFormatter(String pattern, TimeZone timeZone) {
+        this(pattern);
+        mDateFormat.setTimeZone(timeZone);
+    }
+
+    /**
+     * 指定时区的日志记录时间格式，用于在其他机器上还原设备的本地时间
+     * Record time format in given time zone, used to restore device local time on another machine
+     */
+    static TimestampFormatter forRecord(TimeZone timeZone) {
+        return new TimestampFormatter(RECORD_PATTERN, timeZone);
+    }
+
+    /**
+     * 追加到秒的时间
+     * Append time to seconds
+     */
+    void formatSeconds(long timeMillis, StringBuilder sb) {
+        sb.append(getSecondText(floorSecond(timeMillis)));
+    }
+
+    /**
+     * 追加到毫秒的时间，格式为 秒:毫秒
+     * Append time to millis, in the form of seconds:millis
+     */
+    void formatMillis(long timeMillis, StringBuilder sb) {
+        long second = floorSecond(timeMillis);
+        int millis = (int) (timeMillis - second * 1000);
+        sb.append(getSecondText(second)).append(':');
+        if (millis < 100) {
+            sb.append('0');
+        }
+        if (millis < 10) {
+            sb.append('0');
+        }
+        sb.append(millis);
+    }
+
+    private String getSecondText(long second) {
+        CachedSecond cache = mCache;
+        if (cache != null && cache.second == second) {
+            return cache.text;
+        }
+        String text;
+        synchronized (this) {
+            mDate.setTime(second * 1000);
+            text = mDateFormat.format(mDate);
+        }
+        mCache = new CachedSecond(second, text);
+        return text;
+    }
+
+    private static long floorSecond(long timeMillis) {
+        long second = timeMillis / 1000;
+        if (timeMillis < 0 && second * 1000 != timeMillis) {
+            second--;
+        }
+        return second;
+    }
+
+    private static final class CachedSecond {
+        final long second;
+        final String text;
+
+        CachedSecond(long second, String text) {
+            this.second = second;
+            this.text = text;
+        }
+    }
+}
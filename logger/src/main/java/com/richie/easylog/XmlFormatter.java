@@ -0,0 +1,309 @@
+package com.richie.easylog;
+
+import android.util.Xml;
+
+import org.xmlpull.v1.XmlPullParser;
+import org.xmlpull.v1.XmlPullParserException;
+
+import java.io.StringReader;
+
+/**
+ * 流式 XML 缩进，基于每个线程缓存的 pull 解析器，不需要每次创建 Transformer。
+ * 超过最大深度的元素折叠为 &lt;name&gt;...&lt;/name&gt;，超过最大长度时截断，格式错误时返回错误位置
+ * Streaming XML indenter based on a pull parser cached per thread, no Transformer is created per call.
+ * Elements deeper than the max depth are collapsed to &lt;name&gt;...&lt;/name&gt;, output longer than
+ * the max length is truncated, and malformed input returns the error position
+ *
+ * @author Richie on 2026.10.17
+ */
+final class XmlFormatter {
+    private static final String INDENT = "  ";
+    private static final String XML_DECLARATION_START = "<?xml";
+    private static final String XML_DECLARATION_END = "?>";
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+    private static final ThreadLocal<XmlPullParser> PARSER = new ThreadLocal<XmlPullParser>() {
+        @Override
+        protected XmlPullParser initialValue() {
+            XmlPullParser parser = Xml.newPullParser();
+            try {
+                // Android 的解析器默认处理命名空间，会去掉前缀和 xmlns 声明，关闭后按原样输出
+                parser.setFeature(XmlPullParser.FEATURE_PROCESS_NAMESPACES, false);
+            } catch (XmlPullParserException ignored) {
+            }
+            return parser;
+        }
+    };
+    private final XmlPullParser mParser;
+    private final int mMaxLength;
+    private final int mMaxDepth;
+    private final StringBuilder mOutput;
+    private int mDepth;
+    /**
+     * 折叠开始的深度，0 表示没有折叠
+     * depth where collapsing starts, 0 means not collapsing
+     */
+    private int mCollapseDepth;
+    /**
+     * 开始标签还没有输出 &gt;，没有子节点时输出 /&gt;
+     * start tag is not closed yet, it becomes /&gt; if there is no child
+     */
+    private boolean mTagOpen;
+    /**
+     * 上一个节点是文本，结束标签保持在同一行
+     * last node is text, the end tag stays on the same line
+     */
+    private boolean mInline;
+
+    private XmlFormatter(XmlPullParser parser, int length, int maxLength, int maxDepth) {
+        mParser = parser;
+        mMaxLength = maxLength;
+        mMaxDepth = maxDepth;
+        mOutput = new StringBuilder(Math.min(length * 2, maxLength) + 64);
+    }
+
+    /**
+     * 格式化 XML
+     * Format XML
+     *
+     * @param xml       XML 文本
+     * @param maxLength 输出的最大长度
+     * @param maxDepth  展开的最大深度
+     * @return 格式化的文本，格式错误时返回错误信息和原文
+     */
+    static String format(String xml, int maxLength, int maxDepth) {
+        XmlPullParser parser = null;
+        try {
+            parser = PARSER.get();
+            XmlFormatter formatter = new XmlFormatter(parser, xml.length(), maxLength, maxDepth);
+            formatter.parse(xml);
+            return formatter.mOutput.toString();
+        } catch (Exception e) {
+            StringBuilder sb = new StringBuilder(Math.min(xml.length(), maxLength) + 128);
+            sb.append("Invalid XML: ")
+                    .append(e.getMessage())
+                    .append('\n');
+            if (xml.length() > maxLength) {
+                sb.append(xml, 0, maxLength);
+                appendTruncated(sb, maxLength);
+            } else {
+                sb.append(xml);
+            }
+            return sb.toString();
+        } finally {
+            if (parser != null) {
+                try {
+                    // 释放对输入的引用
+                    parser.setInput(null);
+                } catch (Exception ignored) {
+                }
+            }
+        }
+    }
+
+    private static void appendTruncated(StringBuilder sb, int maxLength) {
+        sb.append("\n********(truncated, max length ")
+                .append(maxLength)
+                .append(")********");
+    }
+
+    private void parse(String xml) throws Exception {
+        XmlPullParser parser = mParser;
+        parser.setInput(new StringReader(xml));
+        StringBuilder sb = mOutput;
+        sb.append("XML:");
+        appendDeclaration(xml);
+        int eventType = parser.getEventType();
+        while (eventType != XmlPullParser.END_DOCUMENT) {
+            switch (eventType) {
+                case XmlPullParser.START_TAG:
+                    startTag();
+                    break;
+                case XmlPullParser.END_TAG:
+                    endTag();
+                    break;
+                case XmlPullParser.TEXT:
+                case XmlPullParser.IGNORABLE_WHITESPACE:
+                    text(parser.getText());
+                    break;
+                case XmlPullParser.CDSECT:
+                    if (isWritable()) {
+                        closeStartTag();
+                        sb.append("<![CDATA[").append(parser.getText()).append("]]>");
+                        mInline = true;
+                    }
+                    break;
+                case XmlPullParser.ENTITY_REF:
+                    if (isWritable()) {
+                        closeStartTag();
+                        sb.append('&').append(parser.getName()).append(';');
+                        mInline = true;
+                    }
+                    break;
+                case XmlPullParser.COMMENT:
+                    node("<!--", parser.getText(), "-->");
+                    break;
+                case XmlPullParser.PROCESSING_INSTRUCTION:
+                    node("<?", parser.getText(), "?>");
+                    break;
+                case XmlPullParser.DOCDECL:
+                    node("<!DOCTYPE", parser.getText(), ">");
+                    break;
+                default:
+                    break;
+            }
+            if (sb.length() > mMaxLength) {
+                // 截断后不再解析剩余内容
+                sb.setLength(mMaxLength);
+                appendTruncated(sb, mMaxLength);
+                return;
+            }
+            eventType = parser.nextToken();
+        }
+    }
+
+    /**
+     * 解析器不报告 XML 声明，从原文中复制
+     * The parser doesn't report the XML declaration, so it's copied from the input
+     */
+    private void appendDeclaration(String xml) {
+        int start = !xml.isEmpty() && xml.charAt(0) == BYTE_ORDER_MARK ? 1 : 0;
+        int nameEnd = start + XML_DECLARATION_START.length();
+        if (!xml.startsWith(XML_DECLARATION_START, start) || nameEnd >= xml.length()
+                || !Character.isWhitespace(xml.charAt(nameEnd))) {
+            return;
+        }
+        int end = xml.indexOf(XML_DECLARATION_END, nameEnd);
+        if (end > 0) {
+            newLine(0);
+            mOutput.append(xml, start, end + XML_DECLARATION_END.length());
+        }
+    }
+
+    private void startTag() {
+        XmlPullParser parser = mParser;
+        mDepth++;
+        if (!isWritable()) {
+            return;
+        }
+        closeStartTag();
+        endInline();
+        StringBuilder sb = mOutput;
+        newLine(mDepth - 1);
+        if (mDepth > mMaxDepth) {
+            sb.append('<').append(parser.getName()).append(">...</").append(parser.getName()).append('>');
+            mCollapseDepth = mDepth;
+            return;
+        }
+        sb.append('<').append(parser.getName());
+        for (int i = 0, count = parser.getAttributeCount(); i < count; i++) {
+            sb.append(' ').append(parser.getAttributeName(i)).append("=\"");
+            String value = parser.getAttributeValue(i);
+            escape(sb, value, 0, value.length(), true);
+            sb.append('"');
+        }
+        mTagOpen = true;
+    }
+
+    private void endTag() {
+        int depth = mDepth--;
+        if (mCollapseDepth != 0) {
+            if (mCollapseDepth == depth) {
+                mCollapseDepth = 0;
+            }
+            return;
+        }
+        StringBuilder sb = mOutput;
+        if (mTagOpen) {
+            sb.append("/>");
+            mTagOpen = false;
+        } else if (mInline) {
+            endInline();
+            sb.append("</").append(mParser.getName()).append('>');
+        } else {
+            newLine(mDepth);
+            sb.append("</").append(mParser.getName()).append('>');
+        }
+    }
+
+    private void text(String text) {
+        if (!isWritable() || text == null) {
+            return;
+        }
+        int start = 0;
+        int end = text.length();
+        if (!mInline) {
+            // 文本段开头的空白只用于原文排版
+            while (start < end && Character.isWhitespace(text.charAt(start))) {
+                start++;
+            }
+            if (start == end) {
+                return;
+            }
+        }
+        closeStartTag();
+        escape(mOutput, text, start, end, false);
+        mInline = true;
+    }
+
+    private void node(String prefix, String text, String suffix) {
+        if (!isWritable()) {
+            return;
+        }
+        closeStartTag();
+        endInline();
+        newLine(mDepth);
+        mOutput.append(prefix).append(text).append(suffix);
+    }
+
+    /**
+     * 文本段结束，去掉末尾的空白
+     * End of a text run, trailing whitespace is removed
+     */
+    private void endInline() {
+        if (mInline) {
+            StringBuilder sb = mOutput;
+            int length = sb.length();
+            while (Character.isWhitespace(sb.charAt(length - 1))) {
+                length--;
+            }
+            sb.setLength(length);
+            mInline = false;
+        }
+    }
+
+    private void closeStartTag() {
+        if (mTagOpen) {
+            mOutput.append('>');
+            mTagOpen = false;
+        }
+    }
+
+    private void newLine(int depth) {
+        StringBuilder sb = mOutput;
+        sb.append('\n');
+        for (int i = 0; i < depth; i++) {
+            sb.append(INDENT);
+        }
+    }
+
+    private boolean isWritable() {
+        return mCollapseDepth == 0;
+    }
+
+    private static void escape(StringBuilder sb, String text, int start, int end, boolean attribute) {
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '&') {
+                sb.append("&amp;");
+            } else if (c == '<') {
+                sb.append("&lt;");
+            } else if (c == '>') {
+                sb.append("&gt;");
+            } else if (c == '"' && attribute) {
+                sb.append("&quot;");
+            } else {
+                sb.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.richie.easylog;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.os.SystemClock;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * appender 工作线程的队列策略、级别路由和停止。第一条日志阻塞在 appender 中，队列容量为 2，之后的日志填满队列
+ * Queue policies, level routing and stopping of the appender worker. The first record blocks inside the appender
+ * and the queue capacity is 2, so the following records fill the queue
+ *
+ * @author Richie on 2026.10.17
+ */
+public class AppenderWorkerTest {
+    private static final long TIMEOUT = 5000;
+    private static final int QUEUE_CAPACITY = 2;
+    private static final String DROPPED_ONE = "********(1 records dropped, log queue is full)********";
+
+    @Before
+    public void setUp() {
+        LoggerFactory.init(config().build());
+    }
+
+    @Test
+    public void dropNewest() throws InterruptedException {
+        BlockingAppender appender = new BlockingAppender();
+        AppenderWorker worker = fillQueue(appender, LoggerConfig.QUEUE_POLICY_DROP_NEWEST);
+        worker.enqueue(event("4", LoggerConfig.ERROR));
+        appender.mRelease.countDown();
+
+        appender.awaitMessages("1", DROPPED_ONE, "2", "3");
+    }
+
+    @Test
+    public void dropOldest() throws InterruptedException {
+        BlockingAppender appender = new BlockingAppender();
+        AppenderWorker worker = fillQueue(appender, LoggerConfig.QUEUE_POLICY_DROP_OLDEST);
+        worker.enqueue(event("4", LoggerConfig.INFO));
+        appender.mRelease.countDown();
+
+        appender.awaitMessages("1", DROPPED_ONE, "3", "4");
+    }
+
+    /**
+     * 低于丢弃级别的日志丢弃，其他日志等待队列空位
+     * Records below the drop level are dropped, others wait for a free slot
+     */
+    @Test
+    public void dropBelowLevel() throws InterruptedException {
+        BlockingAppender appender = new BlockingAppender();
+        AppenderWorker worker = fillQueue(appender, LoggerConfig.QUEUE_POLICY_DROP_BELOW_LEVEL);
+        worker.enqueue(event("4", LoggerConfig.INFO));
+        Thread producer = enqueueAsync(worker, event("5", LoggerConfig.WARN));
+        assertBlocked(producer);
+        appender.mRelease.countDown();
+
+        appender.awaitMessages("1", DROPPED_ONE, "2", "3", "5");
+    }
+
+    @Test
+    public void block() throws InterruptedException {
+        BlockingAppender appender = new BlockingAppender();
+        AppenderWorker worker = fillQueue(appender, LoggerConfig.QUEUE_POLICY_BLOCK);
+        Thread producer = enqueueAsync(worker, event("4", LoggerConfig.DEBUG));
+        assertBlocked(producer);
+        appender.mRelease.countDown();
+
+        appender.awaitMessages("1", "2", "3", "4");
+    }
+
+    @Test
+    public void levelRouting() {
+        AppenderWorker worker = new AppenderWorker(new AppenderConfig.Builder(new BlockingAppender())
+                .logLevel(LoggerConfig.WARN)
+                .tagLevel("Net*", LoggerConfig.DEBUG)
+                .tagLevel("NetCache", LoggerConfig.OFF)
+                .build());
+        assertTrue(worker.isLoggable("NetHttp", LoggerConfig.DEBUG));
+        assertFalse(worker.isLoggable("NetHttp", LoggerConfig.VERBOSE));
+        assertFalse(worker.isLoggable("NetCache", LoggerConfig.ERROR));
+        assertTrue(worker.isLoggable("Main", LoggerConfig.WARN));
+        assertFalse(worker.isLoggable("Main", LoggerConfig.INFO));
+    }
+
+    /**
+     * 重新 init 时旧配置的 appender 输出剩余日志并刷出，之后不再接收日志
+     * On re-init the appenders of the old config output remaining records and flush, then accept no more records
+     */
+    @Test
+    public void stopsOnReinit() throws InterruptedException {
+        BlockingAppender appender = new BlockingAppender();
+        appender.mRelease.countDown();
+        LoggerFactory.init(config()
+                .appender(new AppenderConfig.Builder(appender)
+                        .logLevel(LoggerConfig.OFF)
+                        .tagLevel("Net", LoggerConfig.DEBUG)
+                        .build())
+                .build());
+        AppenderWorker worker = LoggerFactory.getLoggerConfig().getAppenders()[0];
+        LoggerFactory.getLogger("Net").debug("routed");
+        LoggerFactory.getLogger("Main").debug("not routed");
+
+        LoggerFactory.init(config().build());
+        appender.awaitMessages("routed");
+        appender.awaitFlushed();
+        worker.enqueue(event("after stop", LoggerConfig.ERROR));
+        Thread.sleep(50);
+        assertEquals(Arrays.asList("routed"), appender.getMessages());
+    }
+
+    /**
+     * 直接记录的 appender 在调用线程记录，没有队列
+     * An appender recording directly records on the caller thread and has no queue
+     */
+    @Test
+    public void recorderHasNoQueue() {
+        final List<String> recorded = new ArrayList<>();
+        AppenderWorker worker = new AppenderWorker(new AppenderConfig.Builder(new RecordingAppender(recorded))
+                .build());
+        worker.enqueue(event("direct", LoggerConfig.INFO));
+
+        assertEquals(Arrays.asList("direct"), recorded);
+        assertEquals(0, worker.getQueueCapacity());
+        assertEquals(0, worker.getQueueSize());
+        worker.stop();
+    }
+
+    /**
+     * 第一条日志阻塞在 appender 中，再放入两条填满队列
+     * The first record blocks inside the appender, then two more fill the queue
+     */
+    private static AppenderWorker fillQueue(BlockingAppender appender, int queuePolicy) throws InterruptedException {
+        AppenderWorker worker = new AppenderWorker(new AppenderConfig.Builder(appender)
+                .queueCapacity(QUEUE_CAPACITY)
+                .queuePolicy(queuePolicy)
+                .queueDropLevel(LoggerConfig.WARN)
+                .build());
+        worker.enqueue(event("1", LoggerConfig.INFO));
+        assertTrue(appender.mEntered.await(TIMEOUT, TimeUnit.MILLISECONDS));
+        worker.enqueue(event("2", LoggerConfig.INFO));
+        worker.enqueue(event("3", LoggerConfig.INFO));
+        return worker;
+    }
+
+    private static Thread enqueueAsync(final AppenderWorker worker, final LogEvent event) {
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                worker.enqueue(event);
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+    private static void assertBlocked(Thread producer) throws InterruptedException {
+        producer.join(100);
+        assertTrue(producer.isAlive());
+    }
+
+    private static LoggerConfig.Builder config() {
+        return new LoggerConfig.Builder()
+                .context(new ContextWrapper(null) {
+                    @Override
+                    public Context getApplicationContext() {
+                        return this;
+                    }
+                })
+                .logcatEnabled(false)
+                .logFileEnabled(false)
+                .callerInfoEnabled(false)
+                .logLevel(LoggerConfig.VERBOSE);
+    }
+
+    private static LogEvent event(String message, int level) {
+        return new LogEvent(level, "Worker", System.currentTimeMillis(), "main", LoggerUtils.NO_LINE_NUMBER, message,
+                null);
+    }
+
+    /**
+     * 第一次输出时阻塞到 release，记录输出的消息和刷出次数
+     * Blocks on the first append until released, records appended messages and flush count
+     */
+    private static final class BlockingAppender implements Appender {
+        final CountDownLatch mEntered = new CountDownLatch(1);
+        final CountDownLatch mRelease = new CountDownLatch(1);
+        private final List<String> mMessages = new ArrayList<>();
+        private int mFlushCount;
+
+        @Override
+        public void append(LogEvent event, CharSequence content) throws IOException {
+            mEntered.countDown();
+            try {
+                mRelease.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            synchronized (this) {
+                mMessages.add(event.getMessage());
+            }
+        }
+
+        @Override
+        public synchronized void flush() {
+            mFlushCount++;
+        }
+
+        synchronized List<String> getMessages() {
+            return new ArrayList<>(mMessages);
+        }
+
+        void awaitMessages(String... expected) throws InterruptedException {
+            List<String> expectedList = Arrays.asList(expected);
+            long deadline = SystemClock.elapsedRealtime() + TIMEOUT;
+            while (SystemClock.elapsedRealtime() < deadline) {
+                if (getMessages().size() >= expected.length) {
+                    break;
+                }
+                Thread.sleep(10);
+            }
+            assertEquals(expectedList, getMessages());
+        }
+
+        void awaitFlushed() throws InterruptedException {
+            long deadline = SystemClock.elapsedRealtime() + TIMEOUT;
+            while (SystemClock.elapsedRealtime() < deadline) {
+                synchronized (this) {
+                    if (mFlushCount > 0) {
+                        return;
+                    }
+                }
+                Thread.sleep(10);
+            }
+            fail("not flushed");
+        }
+    }
+
+    private static final class RecordingAppender implements Appender, EventRecorder {
+        private final List<String> mRecorded;
+
+        RecordingAppender(List<String> recorded) {
+            mRecorded = recorded;
+        }
+
+        @Override
+        public void record(LogEvent event) {
+            mRecorded.add(event.getMessage());
+        }
+
+        @Override
+        public void append(LogEvent event, CharSequence content) {
+            record(event);
+        }
+
+        @Override
+        public void flush() {
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.richie.easylog;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.os.SystemClock;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 文件 appender 的写入、备份滚动和按 tag 分文件输出
+ * Writing, backup rolling and per-tag routing of the file appender
+ *
+ * @author Richie on 2026.10.17
+ */
+public class FileAppenderTest {
+    private static final long TIMEOUT = 5000;
+    @Rule
+    public TemporaryFolder mFolder = new TemporaryFolder();
+
+    @Test
+    public void appendsAndFlushes() throws IOException {
+        File file = new File(mFolder.getRoot(), "logs/app.log");
+        FileAppender appender = new FileAppender(file);
+        appender.append(null, "first 日志\n");
+        appender.append(null, "second\n");
+        appender.flush();
+        assertEquals("first 日志\nsecond\n", read(file));
+
+        // 新实例追加到已有文件
+        FileAppender reopened = new FileAppender(file);
+        reopened.append(null, "third\n");
+        reopened.flush();
+        assertEquals("first 日志\nsecond\nthird\n", read(file));
+    }
+
+    /**
+     * 达到最大大小时当前文件改名为 .1 备份，旧备份被覆盖
+     * The file becomes the .1 backup once it reaches the max size, replacing the older backup
+     */
+    @Test
+    public void rollsToBackup() throws IOException {
+        File file = new File(mFolder.getRoot(), "app.log");
+        File backup = new File(mFolder.getRoot(), "app.log.1");
+        FileAppender appender = new FileAppender(file, 10);
+        appender.append(null, "0123456789");
+        assertFalse(file.exists());
+        assertEquals("0123456789", read(backup));
+
+        appender.append(null, "abc");
+        appender.append(null, "defghij");
+        assertEquals("abcdefghij", read(backup));
+        appender.append(null, "k");
+        appender.flush();
+        assertEquals("k", read(file));
+    }
+
+    /**
+     * 按 tag 和级别把日志写到不同文件，重新 init 时停止的工作线程刷出剩余日志
+     * Records are routed into files by tag and level, and workers stopped by re-init flush the remaining records
+     */
+    @Test
+    public void routesByTag() throws IOException, InterruptedException {
+        File netFile = new File(mFolder.getRoot(), "net.log");
+        File mainFile = new File(mFolder.getRoot(), "main.log");
+        LoggerFactory.init(config()
+                .appender(new AppenderConfig.Builder(new FileAppender(netFile))
+                        .logLevel(LoggerConfig.OFF)
+                        .tagLevel("Net*", LoggerConfig.DEBUG)
+                        .build())
+                .appender(new AppenderConfig.Builder(new FileAppender(mainFile))
+                        .logLevel(LoggerConfig.WARN)
+                        .build())
+                .build());
+        LoggerFactory.getLogger("NetHttp").debug("request");
+        LoggerFactory.getLogger("NetHttp").warn("slow");
+        LoggerFactory.getLogger("Main").info("started");
+        LoggerFactory.init(config().build());
+
+        String net = await(netFile, "slow");
+        assertTrue(net, net.contains(" || NetHttp || [" + Thread.currentThread().getName() + "] request"));
+        String main = await(mainFile, "slow");
+        assertFalse(main, main.contains("request"));
+        assertFalse(main, main.contains("started"));
+    }
+
+    private static LoggerConfig.Builder config() {
+        return new LoggerConfig.Builder()
+                .context(new ContextWrapper(null) {
+                    @Override
+                    public Context getApplicationContext() {
+                        return this;
+                    }
+                })
+                .logcatEnabled(false)
+                .logFileEnabled(false)
+                .callerInfoEnabled(false)
+                .logLevel(LoggerConfig.VERBOSE);
+    }
+
+    private static String await(File file, String expected) throws IOException, InterruptedException {
+        long deadline = SystemClock.elapsedRealtime() + TIMEOUT;
+        String content = "";
+        while (SystemClock.elapsedRealtime() < deadline) {
+            content = file.exists() ? read(file) : "";
+            if (content.contains(expected)) {
+                break;
+            }
+            Thread.sleep(10);
+        }
+        assertTrue(content, content.contains(expected));
+        return content;
+    }
+
+    private static String read(File file) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            byte[] data = new byte[(int) raf.length()];
+            raf.readFully(data);
+            return new String(data, LogFileSink.UTF_8);
+        } finally {
+            raf.close();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.richie.easylog;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * JSON 缩进、折叠、截断和格式错误的输出，第一行是顶层容器的类型和成员数
+ * Indenting, collapsing, truncation and malformed input of JSON, the first line is the type and member count of
+ * the top level container
+ *
+ * @author Richie on 2026.10.17
+ */
+public class JsonFormatterTest {
+    private static final int MAX_LENGTH = 10000;
+    private static final int MAX_DEPTH = 8;
+
+    @Test
+    public void object() {
+        String json = "{\"name\":\"日志\",\"n\":-1.5e3,\"ok\":true,\"none\":null,\"escaped\":\"a\\\"b\\u00e9\"}";
+        assertEquals("JSONObject length:5"
+                        + "\n{"
+                        + "\n  \"name\": \"日志\","
+                        + "\n  \"n\": -1.5e3,"
+                        + "\n  \"ok\": true,"
+                        + "\n  \"none\": null,"
+                        + "\n  \"escaped\": \"a\\\"b\\u00e9\""
+                        + "\n}",
+                JsonFormatter.format(json, MAX_LENGTH, MAX_DEPTH));
+    }
+
+    @Test
+    public void nested() {
+        String json = " [1, {\"k\" : [\"v\", []]}, {}] ";
+        assertEquals("JSONArray length:3"
+                        + "\n["
+                        + "\n  1,"
+                        + "\n  {"
+                        + "\n    \"k\": ["
+                        + "\n      \"v\","
+                        + "\n      []"
+                        + "\n    ]"
+                        + "\n  },"
+                        + "\n  {}"
+                        + "\n]",
+                JsonFormatter.format(json, MAX_LENGTH, MAX_DEPTH));
+    }
+
+    /**
+     * 超过最大深度的容器折叠，不影响同层的其他成员
+     * Containers deeper than the max depth are collapsed, their siblings are not affected
+     */
+    @Test
+    public void collapsesDeepNodes() {
+        String json = "{\"a\":{\"b\":{\"c\":1}},\"d\":[[1]],\"e\":2}";
+        assertEquals("JSONObject length:3"
+                        + "\n{"
+                        + "\n  \"a\": {"
+                        + "\n    \"b\": {...}"
+                        + "\n  },"
+                        + "\n  \"d\": ["
+                        + "\n    [...]"
+                        + "\n  ],"
+                        + "\n  \"e\": 2"
+                        + "\n}",
+                JsonFormatter.format(json, MAX_LENGTH, 2));
+    }
+
+    @Test
+    public void truncatesLongOutput() {
+        assertEquals("JSONObject length:1"
+                        + "\n{"
+                        + "\n  \"key\": \""
+                        + "\n********(truncated, max length 12)********",
+                JsonFormatter.format("{\"key\":\"0123456789\"}", 12, MAX_DEPTH));
+    }
+
+    @Test
+    public void malformed() {
+        assertEquals("Invalid JSON, expected string key at offset 7:\n{\"a\":1,}",
+                JsonFormatter.format("{\"a\":1,}", MAX_LENGTH, MAX_DEPTH));
+        assertEquals("Invalid JSON, expected ':' at offset 5:\n{\"a\" 1}",
+                JsonFormatter.format("{\"a\" 1}", MAX_LENGTH, MAX_DEPTH));
+        assertEquals("Invalid JSON, unexpected end of input at offset 5:\n[1, 2",
+                JsonFormatter.format("[1, 2", MAX_LENGTH, MAX_DEPTH));
+        assertEquals("Invalid JSON, expected '{' or '[' at offset 0:\ntext",
+                JsonFormatter.format("text", MAX_LENGTH, MAX_DEPTH));
+        assertEquals("Invalid JSON, invalid escape at offset 6:\n{\"a\":\"\\x\"}",
+                JsonFormatter.format("{\"a\":\"\\x\"}", MAX_LENGTH, MAX_DEPTH));
+        assertEquals("Invalid JSON, expected value at offset 5:\n{\"a\":tru}",
+                JsonFormatter.format("{\"a\":tru}", MAX_LENGTH, MAX_DEPTH));
+    }
+
+    /**
+     * 格式错误的长输入只输出最大长度的原文
+     * Long malformed input only outputs the original text up to the max length
+     */
+    @Test
+    public void malformedLongInput() {
+        assertEquals("Invalid JSON, invalid number at offset 7:"
+                        + "\n{\"key\":01234"
+                        + "\n********(truncated, max length 12)********",
+                JsonFormatter.format("{\"key\":0123456789 bad", 12, MAX_DEPTH));
+    }
+}
@@ -0,0 +1,113 @@
+package com.richie.easylog;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 日志热路径的内存分配回归测试，用 HotSpot 的线程分配计数度量，其他虚拟机上跳过。
+ * 低于级别的日志不分配，输出到 logcat 的日志只分配交给 Log 的消息字符串
+ * Allocation regression test of the logging hot path, measured by per thread allocation counter of HotSpot and
+ * skipped on other VMs. Records below the level allocate nothing, records printed to logcat only allocate the message
+ * string passed to Log
+ *
+ * @author Richie on 2026.10.17
+ */
+public class LogAllocationTest {
+    private static final int WARMUP_CALLS = 50000;
+    private static final int MEASURED_CALLS = 10000;
+    /**
+     * 度量本身的误差，与调用次数无关
+     * noise of the measurement itself, independent of the call count
+     */
+    private static final long NOISE_BYTES = 4096;
+    /**
+     * 对象头和数组头的上限，64 位虚拟机未压缩指针时
+     * upper bound of object and array headers, on 64-bit VM without compressed oops
+     */
+    private static final int OBJECT_HEADER_BYTES = 16;
+    private com.sun.management.ThreadMXBean mThreadBean;
+    private ILogger mLogger;
+
+    @Before
+    public void setUp() {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean);
+        mThreadBean = (com.sun.management.ThreadMXBean) threadBean;
+        Assume.assumeTrue(mThreadBean.isThreadAllocatedMemorySupported());
+        mThreadBean.setThreadAllocatedMemoryEnabled(true);
+
+        LoggerFactory.init(new LoggerConfig.Builder()
+                .context(new ContextWrapper(null) {
+                    @Override
+                    public Context getApplicationContext() {
+                        return this;
+                    }
+                })
+                .logcatEnabled(true)
+                .logFileEnabled(false)
+                .callerInfoEnabled(false)
+                .logLevel(LoggerConfig.INFO)
+                .build());
+        mLogger = LoggerFactory.getLogger(LogAllocationTest.class);
+    }
+
+    @Test
+    public void disabledLevelAllocatesNothing() {
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            logDisabled(i);
+        }
+        long start = allocatedBytes();
+        for (int i = 0; i < MEASURED_CALLS; i++) {
+            logDisabled(i);
+        }
+        long allocated = allocatedBytes() - start;
+        assertTrue("allocated " + allocated + " bytes", allocated < NOISE_BYTES);
+    }
+
+    @Test
+    public void enabledLevelAllocatesOnlyMessage() {
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            mLogger.info("value {}", i);
+        }
+        long start = allocatedBytes();
+        for (int i = 0; i < MEASURED_CALLS; i++) {
+            mLogger.info("value {}", i);
+        }
+        long allocated = allocatedBytes() - start;
+        String message = "[" + Thread.currentThread().getName() + "] value " + (MEASURED_CALLS - 1);
+        assertTrue("allocated " + allocated + " bytes",
+                allocated < MEASURED_CALLS * maxStringBytes(message) + NOISE_BYTES);
+    }
+
+    /**
+     * UTF-16 字符串占用的字节数上限，装箱参数或可变参数数组会超过该值
+     * Upper bound of bytes taken by a UTF-16 string, a boxed param or varargs array would exceed it
+     */
+    private static long maxStringBytes(String value) {
+        return align(OBJECT_HEADER_BYTES + 8) + align(OBJECT_HEADER_BYTES + value.length() * 2);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7;
+    }
+
+    private void logDisabled(int i) {
+        mLogger.debug("value {}", i);
+        mLogger.debug("value {}", (long) i);
+        mLogger.debug("{} and {}", "a", "b");
+        mLogger.verbose("value {}", i);
+    }
+
+    private long allocatedBytes() {
+        return mThreadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
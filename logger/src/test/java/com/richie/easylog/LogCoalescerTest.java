@@ -0,0 +1,164 @@
+package com.richie.easylog;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLog;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 重复日志的计数、窗口结束和强制输出。时间由测试传入，logcat 的输出用 Robolectric 的 ShadowLog 取得
+ * Counting, window expiry and forced reports of repeated records. Time is passed in by the test, logcat output is
+ * captured by ShadowLog of Robolectric
+ *
+ * @author Richie on 2026.10.17
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class LogCoalescerTest {
+    private static final long WINDOW = 1000;
+    private final List<String> mReports = new ArrayList<>();
+    private final LogCoalescer.Reporter mReporter = new LogCoalescer.Reporter() {
+        @Override
+        public void report(int level, String tag, String threadName, int lineNumber, long count) {
+            mReports.add(level + " " + tag + " " + threadName + ":" + lineNumber + " x" + count);
+        }
+    };
+
+    /**
+     * 不同的日志到来时输出上一段的重复次数，使用上一段的级别、线程和行号
+     * A different record reports the previous run with the level, thread and line of that run
+     */
+    @Test
+    public void differentRecordEndsRun() {
+        LogCoalescer coalescer = new LogCoalescer(WINDOW);
+        assertTrue(coalescer.offer(LoggerConfig.WARN, "Net", "io", 10, 1, 0, mReporter));
+        assertFalse(coalescer.offer(LoggerConfig.WARN, "Net", "io", 10, 1, 1, mReporter));
+        assertFalse(coalescer.offer(LoggerConfig.WARN, "Net", "io", 10, 1, 2, mReporter));
+        assertTrue(coalescer.hasPending());
+        assertTrue(mReports.isEmpty());
+
+        assertTrue(coalescer.offer(LoggerConfig.INFO, "Net", "main", 20, 2, 3, mReporter));
+        assertEquals(1, mReports.size());
+        assertEquals(LoggerConfig.WARN + " Net io:10 x2", mReports.get(0));
+        assertFalse(coalescer.hasPending());
+        // 只出现一次的日志没有重复次数
+        assertTrue(coalescer.offer(LoggerConfig.INFO, "Net", "main", 20, 3, 4, mReporter));
+        assertEquals(1, mReports.size());
+    }
+
+    @Test
+    public void tagsAreIndependent() {
+        LogCoalescer coalescer = new LogCoalescer(WINDOW);
+        assertTrue(coalescer.offer(LoggerConfig.INFO, "Net", "main", 1, 1, 0, mReporter));
+        assertTrue(coalescer.offer(LoggerConfig.INFO, "Db", "main", 1, 1, 0, mReporter));
+        assertFalse(coalescer.offer(LoggerConfig.INFO, "Net", "main", 1, 1, 0, mReporter));
+        assertTrue(coalescer.offer(LoggerConfig.INFO, "Db", "main", 1, 2, 0, mReporter));
+        assertTrue(mReports.isEmpty());
+    }
+
+    /**
+     * 窗口结束后由检查输出重复次数，之后的重复重新计数
+     * Once the window expires a sweep reports the count, later repeats are counted again
+     */
+    @Test
+    public void sweepReportsExpiredWindow() {
+        LogCoalescer coalescer = new LogCoalescer(WINDOW);
+        coalescer.offer(LoggerConfig.INFO, "Net", "main", 1, 1, 0, mReporter);
+        coalescer.offer(LoggerConfig.INFO, "Net", "main", 1, 1, 100, mReporter);
+        coalescer.sweep(WINDOW - 1, false, mReporter);
+        assertTrue(mReports.isEmpty());
+
+        coalescer.sweep(WINDOW, false, mReporter);
+        assertEquals(1, mReports.size());
+        assertEquals(LoggerConfig.INFO + " Net main:1 x1", mReports.get(0));
+        assertFalse(coalescer.hasPending());
+
+        assertFalse(coalescer.offer(LoggerConfig.INFO, "Net", "main", 1, 1, WINDOW + 1, mReporter));
+        coalescer.sweep(WINDOW * 2 - 1, false, mReporter);
+        assertEquals(1, mReports.size());
+        coalescer.sweep(WINDOW * 2, false, mReporter);
+        assertEquals(LoggerConfig.INFO + " Net main:1 x1", mReports.get(1));
+    }
+
+    /**
+     * 窗口结束后的重复直接输出，当前这条同样计入
+     * A repeat after the window expires reports at once, counting itself
+     */
+    @Test
+    public void repeatAfterWindowReports() {
+        LogCoalescer coalescer = new LogCoalescer(WINDOW);
+        coalescer.offer(LoggerConfig.INFO, "Net", "main", 1, 1, 0, mReporter);
+        coalescer.offer(LoggerConfig.INFO, "Net", "main", 1, 1, 1, mReporter);
+        assertFalse(coalescer.offer(LoggerConfig.INFO, "Net", "main", 1, 1, WINDOW, mReporter));
+        assertEquals(1, mReports.size());
+        assertEquals(LoggerConfig.INFO + " Net main:1 x2", mReports.get(0));
+        assertFalse(coalescer.hasPending());
+    }
+
+    @Test
+    public void forceSweepReportsAll() {
+        LogCoalescer coalescer = new LogCoalescer(WINDOW);
+        coalescer.offer(LoggerConfig.INFO, "Net", "main", 1, 1, 0, mReporter);
+        coalescer.offer(LoggerConfig.INFO, "Net", "main", 1, 1, 0, mReporter);
+        coalescer.offer(LoggerConfig.ERROR, "Db", "io", 2, 1, 0, mReporter);
+        coalescer.offer(LoggerConfig.ERROR, "Db", "io", 2, 1, 0, mReporter);
+        coalescer.offer(LoggerConfig.ERROR, "Db", "io", 2, 1, 0, mReporter);
+        coalescer.sweep(0, true, mReporter);
+        assertEquals(2, mReports.size());
+        assertTrue(mReports.contains(LoggerConfig.INFO + " Net main:1 x1"));
+        assertTrue(mReports.contains(LoggerConfig.ERROR + " Db io:2 x2"));
+        assertFalse(coalescer.hasPending());
+    }
+
+    /**
+     * 到了检查时间只有第一次调用得到 true
+     * Only the first call gets true once a sweep is due
+     */
+    @Test
+    public void sweepDueOnce() {
+        LogCoalescer coalescer = new LogCoalescer(WINDOW);
+        long now = System.currentTimeMillis() + coalescer.getSweepInterval();
+        assertTrue(coalescer.isSweepDue(now));
+        assertFalse(coalescer.isSweepDue(now));
+        assertTrue(coalescer.isSweepDue(now + coalescer.getSweepInterval()));
+    }
+
+    @Test
+    public void logcatRepeatedMessage() {
+        LoggerFactory.init(new LoggerConfig.Builder()
+                .context(new ContextWrapper(null) {
+                    @Override
+                    public Context getApplicationContext() {
+                        return this;
+                    }
+                })
+                .logcatEnabled(true)
+                .logFileEnabled(false)
+                .callerInfoEnabled(false)
+                .coalesceRepeatsEnabled(true)
+                .build());
+        ILogger logger = LoggerFactory.getLogger("Repeat");
+        for (int i = 0; i < 3; i++) {
+            logger.info("tick");
+        }
+        logger.info("tock");
+
+        String header = "[" + Thread.currentThread().getName() + "] ";
+        List<ShadowLog.LogItem> items = ShadowLog.getLogsForTag("Repeat");
+        assertEquals(3, items.size());
+        assertEquals(header + "tick", items.get(0).msg);
+        assertEquals(header + "********(last message repeated 2 times)********", items.get(1).msg);
+        assertEquals(header + "tock", items.get(2).msg);
+    }
+}
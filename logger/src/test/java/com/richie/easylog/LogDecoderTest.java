@@ -0,0 +1,136 @@
+package com.richie.easylog;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * 二进制日志编码后解码，应与文本日志的格式一致，时间按设备时区输出
+ * Binary log encoded then decoded should match text log layout, with times in the device time zone
+ *
+ * @author Richie on 2026.10.17
+ */
+public class LogDecoderTest {
+    private static final int UTC_OFFSET_8 = (int) TimeUnit.HOURS.toMillis(8);
+    private TimeZone mDefaultTimeZone;
+    private BinaryLogEncoder mEncoder;
+    private ObjectFormatter mFormatter;
+    private ByteArrayOutputStream mFile;
+
+    @Before
+    public void setUp() {
+        // 解码机器和设备不在同一时区
+        mDefaultTimeZone = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+        mEncoder = new BinaryLogEncoder();
+        mFormatter = new ObjectFormatter(16, 4, 1024, 4096, LoggerConfig.BYTES_FORMAT_HEX,
+                Collections.<Class<?>, ObjectRenderer<?>>emptyMap());
+        mFile = new ByteArrayOutputStream();
+    }
+
+    @After
+    public void tearDown() {
+        TimeZone.setDefault(mDefaultTimeZone);
+    }
+
+    @Test
+    public void roundTrip() throws IOException {
+        mEncoder.startFile("Device: test", UTC_OFFSET_8);
+        flushEncoder();
+        encodeEvent(LogRecord.event(LoggerConfig.INFO, "Main", 0, "main", 12,
+                "open {} of {}, ratio {}, ok {}, {} {} {}", new Object[]{"文件", 3L, 0.5, true, 'c', null, new int[]{1, 2}},
+                null));
+        // 时间倒退也能还原
+        encodeEvent(LogRecord.event(LoggerConfig.WARN, "Main", -1, "worker", LoggerUtils.NO_LINE_NUMBER,
+                "no params", null, null));
+        mEncoder.encodeText("\ntext record");
+        flushEncoder();
+
+        assertEquals("Device: test\n\n"
+                        + "\n1970-01-01 08:00:00:000 || Main || [main](12) open 文件 of 3, ratio 0.5, ok true, c null [1, 2]"
+                        + "\n1970-01-01 07:59:59:999 || Main || [worker] no params"
+                        + "\ntext record",
+                decode());
+    }
+
+    @Test
+    public void negativeUtcOffset() throws IOException {
+        mEncoder.startFile("Device: test", (int) -TimeUnit.MINUTES.toMillis(3 * 60 + 30));
+        flushEncoder();
+        encodeEvent(LogRecord.event(LoggerConfig.DEBUG, "Main", TimeUnit.DAYS.toMillis(1), "main", 1,
+                "{}", new Object[]{-7}, null));
+
+        assertEquals("Device: test\n\n\n1970-01-01 20:30:00:000 || Main || [main](1) -7", decode());
+    }
+
+    /**
+     * 版本 1 的文件没有 UTC 偏移，按解码机器的时区输出
+     * Version 1 files have no UTC offset and are decoded in local time zone
+     */
+    @Test
+    public void versionWithoutOffset() throws IOException {
+        mFile.write(BinaryLogFormat.MAGIC);
+        mFile.write(BinaryLogFormat.VERSION_NO_OFFSET);
+        encodeEvent(LogRecord.event(LoggerConfig.ERROR, "Main", 1500, "main", 3, "done", null, null));
+
+        StringBuilder expected = new StringBuilder("\n");
+        TimestampFormatter.RECORD.formatMillis(1500, expected);
+        assertEquals(expected.append(" || Main || [main](3) done").toString(), decode());
+    }
+
+    /**
+     * 丢弃的事件不写入文件，其字典项撤销后重新定义
+     * A discarded event is not written, its dictionary entries are rolled back and defined again
+     */
+    @Test
+    public void discardedEvent() throws IOException {
+        mEncoder.startFile("Device: test", UTC_OFFSET_8);
+        flushEncoder();
+        mEncoder.encodeEvent(LogRecord.event(LoggerConfig.INFO, "Net", 1000, "io", 1, "lost", null, null),
+                mFormatter, false);
+        mEncoder.discardEvent();
+        encodeEvent(LogRecord.event(LoggerConfig.INFO, "Net", 2000, "io", 2, "kept", null, null));
+
+        assertEquals("Device: test\n\n\n1970-01-01 08:00:02:000 || Net || [io](2) kept", decode());
+    }
+
+    @Test
+    public void rejectsOtherFiles() {
+        mFile.write('L');
+        mFile.write('O');
+        mFile.write('G');
+        mFile.write('!');
+        try {
+            decode();
+            fail();
+        } catch (IOException expected) {
+            assertEquals("Not a binary log file", expected.getMessage());
+        }
+    }
+
+    private void encodeEvent(LogRecord record) {
+        mEncoder.encodeEvent(record, mFormatter, false);
+        flushEncoder();
+    }
+
+    private void flushEncoder() {
+        mFile.write(mEncoder.getBuffer(), 0, mEncoder.getLength());
+    }
+
+    private String decode() throws IOException {
+        StringWriter output = new StringWriter();
+        LogDecoder.decode(new ByteArrayInputStream(mFile.toByteArray()), output);
+        return output.toString();
+    }
+}
@@ -0,0 +1,204 @@
+package com.richie.easylog;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.os.SystemClock;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 写线程的二进制文件输出，每条日志都立即刷盘，等待解码结果出现期望的内容
+ * Binary file output of the writer thread, every record is flushed at once and the test waits until the decoded
+ * file contains the expected text
+ *
+ * @author Richie on 2026.10.17
+ */
+public class LogFileWriterTest {
+    private static final long TIMEOUT = 5000;
+    private static final int MAX = Integer.MAX_VALUE;
+    @Rule
+    public TemporaryFolder mFolder = new TemporaryFolder();
+    private LogFileWriter mWriter;
+
+    @Before
+    public void setUp() {
+        init(0, false);
+        mWriter = new LogFileWriter(16);
+        mWriter.start();
+    }
+
+    /**
+     * 参数渲染抛出的异常不会结束写线程
+     * An exception thrown while rendering a param doesn't stop the writer thread
+     */
+    @Test
+    public void survivesThrowingParam() throws IOException {
+        Object param = new Object() {
+            @Override
+            public String toString() {
+                throw new IllegalStateException("broken toString");
+            }
+        };
+        mWriter.enqueue(event("before {}", param));
+        mWriter.enqueue(event("after {}", 1));
+
+        String log = awaitLog("after 1");
+        assertTrue(log, log.contains("before java.lang.IllegalStateException: broken toString"));
+    }
+
+    /**
+     * 同一文件中重复的堆栈只写第一行和引用
+     * A repeated stack trace in the same file is written as its first line and a reference
+     */
+    @Test
+    public void repeatedTraceIsReference() throws IOException {
+        ThrowableRenderer.Trace trace = ThrowableRenderer.render(new IOException("disk full"), MAX, MAX);
+        mWriter.enqueue(event("first", trace));
+        mWriter.enqueue(event("second", trace));
+
+        String log = awaitLog("second");
+        String header = "#" + Long.toHexString(trace.fingerprint) + " java.io.IOException: disk full";
+        assertEquals(1, count(log, header + "\n\tat "));
+        assertEquals(1, count(log, header + " (same stack trace as above)"));
+    }
+
+    /**
+     * 新文件重新记录已写入的堆栈，每个文件都有完整的堆栈
+     * Written traces are tracked per file, so every file has the full stack trace
+     */
+    @Test
+    public void traceIsWrittenOncePerFile() throws IOException {
+        // 每个批次写完都滚动到新文件
+        init(1, false);
+        ThrowableRenderer.Trace trace = ThrowableRenderer.render(new IOException("disk full"), MAX, MAX);
+        mWriter.enqueue(event("first", trace));
+        awaitLog("first");
+        mWriter.enqueue(event("second", trace));
+
+        String log = awaitLog("second");
+        String header = "#" + Long.toHexString(trace.fingerprint) + " java.io.IOException: disk full";
+        assertEquals(2, count(log, header + "\n\tat "));
+        assertEquals(0, count(log, "(same stack trace as above)"));
+    }
+
+    /**
+     * 运行时关闭合并，下一个批次先写出未输出的重复次数
+     * Coalescing turned off at runtime, the next batch writes the pending repeat count first
+     */
+    @Test
+    public void coalescingOffFlushesRepeats() throws IOException {
+        init(0, true);
+        sync("coalescing on");
+        for (int i = 0; i < 3; i++) {
+            mWriter.enqueue(event("tick {}", 1));
+        }
+        String log = sync("ticks written");
+        assertEquals(1, count(log, "tick 1"));
+        assertEquals(0, count(log, "repeated"));
+
+        init(0, false);
+        sync("coalescing off");
+        log = sync("done");
+        int repeated = log.indexOf("********(last message repeated 2 times)********");
+        assertTrue(log, repeated > log.indexOf("ticks written") && repeated < log.indexOf("done"));
+    }
+
+    private void init(long maxSegmentSize, boolean coalesceRepeatsEnabled) {
+        LoggerFactory.init(new LoggerConfig.Builder()
+                .context(new ContextWrapper(null) {
+                    @Override
+                    public Context getApplicationContext() {
+                        return this;
+                    }
+                })
+                .logcatEnabled(false)
+                .logFileEnabled(true)
+                .logFireDir(mFolder.getRoot().getPath())
+                .fileFormat(LoggerConfig.FILE_FORMAT_BINARY)
+                .flushLevel(LoggerConfig.VERBOSE)
+                .maxSegmentSize(maxSegmentSize)
+                .coalesceRepeatsEnabled(coalesceRepeatsEnabled)
+                .build());
+    }
+
+    private static LogRecord event(String message, Object param) {
+        return LogRecord.event(LoggerConfig.INFO, "Writer", System.currentTimeMillis(), "main", 1, message,
+                new Object[]{param}, null);
+    }
+
+    private static LogRecord event(String message, ThrowableRenderer.Trace trace) {
+        return LogRecord.event(LoggerConfig.ERROR, "Writer", System.currentTimeMillis(), "main", 1, message, null,
+                trace);
+    }
+
+    /**
+     * 写线程在等待队列前读取配置，新配置从下一个批次开始生效。用其他 tag 的日志等待，不会结束 "Writer" 的重复
+     * The writer reads the config before waiting on the queue, so a new config applies from the next batch. Waits
+     * with a record of another tag, which doesn't end the run of "Writer"
+     */
+    private String sync(String message) throws IOException {
+        mWriter.enqueue(LogRecord.event(LoggerConfig.INFO, "Sync", System.currentTimeMillis(), "main", 1, message,
+                null, null));
+        return awaitLog(message);
+    }
+
+    private static int count(String text, String part) {
+        int count = 0;
+        for (int i = text.indexOf(part); i >= 0; i = text.indexOf(part, i + part.length())) {
+            count++;
+        }
+        return count;
+    }
+
+    private String awaitLog(String expected) throws IOException {
+        long deadline = SystemClock.elapsedRealtime() + TIMEOUT;
+        String log = "";
+        while (SystemClock.elapsedRealtime() < deadline) {
+            log = readLog();
+            if (log.contains(expected)) {
+                return log;
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        fail("\"" + expected + "\" not found in:\n" + log);
+        return log;
+    }
+
+    private String readLog() throws IOException {
+        StringWriter output = new StringWriter();
+        File[] files = mFolder.getRoot().listFiles();
+        if (files != null) {
+            Arrays.sort(files);
+            for (File file : files) {
+                if (file.getName().endsWith(LogStorage.BINARY_LOG_FILE_SUFFIX) && file.length() > 0) {
+                    InputStream input = new FileInputStream(file);
+                    try {
+                        LogDecoder.decode(input, output);
+                    } finally {
+                        input.close();
+                    }
+                }
+            }
+        }
+        return output.toString();
+    }
+}
@@ -0,0 +1,121 @@
+package com.richie.easylog;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 限流和采样规则的匹配、突发和丢弃计数。速率为每秒 1 条，测试在 1 秒内不会得到新的令牌
+ * Matching, burst and suppressed counts of limit and sampling rules. The rate is 1 per second, so no token is
+ * refilled during a test
+ *
+ * @author Richie on 2026.10.17
+ */
+public class LogLimiterTest {
+    private static final long REPORT_INTERVAL = 60000;
+
+    @Test
+    public void burstThenSuppressed() {
+        LogLimiter limiter = limiter("Net", rateRule(LoggerConfig.LIMIT_SCOPE_TAG, 5));
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire("Net", "request " + i));
+        }
+        assertFalse(limiter.tryAcquire("Net", "request"));
+        assertFalse(limiter.tryAcquire("Net", "request"));
+
+        assertEquals(Collections.singletonMap("Net", 2L), limiter.takeSuppressed());
+        assertNull(limiter.takeSuppressed());
+    }
+
+    @Test
+    public void tagsWithoutRuleAreUnlimited() {
+        LogLimiter limiter = limiter("Net", rateRule(LoggerConfig.LIMIT_SCOPE_TAG, 1));
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire("Main", "message"));
+        }
+        assertNull(limiter.takeSuppressed());
+    }
+
+    @Test
+    public void messageScope() {
+        LogLimiter limiter = limiter("Net", rateRule(LoggerConfig.LIMIT_SCOPE_MESSAGE, 1));
+        assertTrue(limiter.tryAcquire("Net", "connect {}"));
+        assertTrue(limiter.tryAcquire("Net", "read {}"));
+        assertFalse(limiter.tryAcquire("Net", "connect {}"));
+        assertFalse(limiter.tryAcquire("Net", "read {}"));
+        // 没有消息时按 tag 限流
+        assertTrue(limiter.tryAcquire("Net", null));
+        assertFalse(limiter.tryAcquire("Net", null));
+    }
+
+    @Test
+    public void sampling() {
+        LogLimiter.Rule rule = new LogLimiter.Rule();
+        rule.mSampleRate = 3;
+        LogLimiter limiter = limiter("Sensor", rule);
+        int accepted = 0;
+        for (int i = 0; i < 30; i++) {
+            if (limiter.tryAcquire("Sensor", "value {}")) {
+                accepted++;
+            }
+        }
+        assertEquals(10, accepted);
+        assertEquals(Collections.singletonMap("Sensor", 20L), limiter.takeSuppressed());
+    }
+
+    /**
+     * 精确匹配优先，其次是最长的前缀
+     * Exact match first, then the longest prefix
+     */
+    @Test
+    public void ruleMatching() {
+        Map<String, LogLimiter.Rule> rules = new LinkedHashMap<>();
+        rules.put("*", rateRule(LoggerConfig.LIMIT_SCOPE_TAG, 1));
+        rules.put("Net*", rateRule(LoggerConfig.LIMIT_SCOPE_TAG, 2));
+        rules.put("NetCache*", rateRule(LoggerConfig.LIMIT_SCOPE_TAG, 3));
+        rules.put("NetCacheDisk", rateRule(LoggerConfig.LIMIT_SCOPE_TAG, 4));
+        LogLimiter limiter = new LogLimiter(rules, REPORT_INTERVAL);
+
+        assertEquals(1, acquireAll(limiter, "Main"));
+        assertEquals(2, acquireAll(limiter, "NetHttp"));
+        assertEquals(3, acquireAll(limiter, "NetCacheMemory"));
+        assertEquals(4, acquireAll(limiter, "NetCacheDisk"));
+    }
+
+    @Test
+    public void reportDue() {
+        LogLimiter limiter = new LogLimiter(Collections.singletonMap("Net", rateRule(LoggerConfig.LIMIT_SCOPE_TAG, 1)), 0);
+        assertTrue(limiter.isReportDue());
+        limiter = limiter("Net", rateRule(LoggerConfig.LIMIT_SCOPE_TAG, 1));
+        assertFalse(limiter.isReportDue());
+    }
+
+    private static int acquireAll(LogLimiter limiter, String tag) {
+        int accepted = 0;
+        for (int i = 0; i < 10; i++) {
+            if (limiter.tryAcquire(tag, "message")) {
+                accepted++;
+            }
+        }
+        return accepted;
+    }
+
+    private static LogLimiter limiter(String tag, LogLimiter.Rule rule) {
+        return new LogLimiter(Collections.singletonMap(tag, rule), REPORT_INTERVAL);
+    }
+
+    private static LogLimiter.Rule rateRule(int scope, int burst) {
+        LogLimiter.Rule rule = new LogLimiter.Rule();
+        rule.mScope = scope;
+        rule.mPermitsPerSecond = 1;
+        rule.mBurst = burst;
+        return rule;
+    }
+}
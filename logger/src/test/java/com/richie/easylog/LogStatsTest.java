@@ -0,0 +1,75 @@
+package com.richie.easylog;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 运行统计的计数，统计跨配置累计，只比较前后的差值
+ * Counts of runtime statistics, which accumulate across configs, so only deltas are compared
+ *
+ * @author Richie on 2026.10.17
+ */
+public class LogStatsTest {
+    private ILogger mLogger;
+
+    @Before
+    public void setUp() {
+        LoggerFactory.init(new LoggerConfig.Builder()
+                .context(new ContextWrapper(null) {
+                    @Override
+                    public Context getApplicationContext() {
+                        return this;
+                    }
+                })
+                .logcatEnabled(true)
+                .callerInfoEnabled(false)
+                .logLevel(LoggerConfig.DEBUG)
+                .statsEnabled(true)
+                .build());
+        mLogger = LoggerFactory.getLogger("Stats");
+    }
+
+    @Test
+    public void countsRecordsPerLevelAndTag() {
+        LogStats before = LoggerFactory.getStats();
+        mLogger.debug("one");
+        mLogger.info("two");
+        mLogger.info("three");
+        mLogger.verbose("below level");
+        LogStats after = LoggerFactory.getStats();
+
+        assertEquals(3, after.getRecords() - before.getRecords());
+        assertEquals(1, after.getRecords(LoggerConfig.DEBUG) - before.getRecords(LoggerConfig.DEBUG));
+        assertEquals(2, after.getRecords(LoggerConfig.INFO) - before.getRecords(LoggerConfig.INFO));
+        assertEquals(0, after.getRecords(LoggerConfig.VERBOSE) - before.getRecords(LoggerConfig.VERBOSE));
+        assertEquals(3, after.getTagRecords().get("Stats") - tagRecords(before, "Stats"));
+    }
+
+    /**
+     * logcat 的字节数按 UTF-8 计算，不是字符数
+     * Logcat bytes are counted in UTF-8, not in chars
+     */
+    @Test
+    public void logcatBytesAreUtf8() {
+        String message = "日志 log 😀";
+        String line = "[" + Thread.currentThread().getName() + "] " + message;
+        LogStats before = LoggerFactory.getStats();
+        mLogger.info(message);
+        LogStats after = LoggerFactory.getStats();
+
+        LogStats.Sink logcatBefore = before.getSink(LogStats.SINK_LOGCAT);
+        LogStats.Sink logcatAfter = after.getSink(LogStats.SINK_LOGCAT);
+        assertEquals(1, logcatAfter.getRecords() - logcatBefore.getRecords());
+        assertEquals(line.getBytes(LogFileSink.UTF_8).length, logcatAfter.getBytes() - logcatBefore.getBytes());
+    }
+
+    private static long tagRecords(LogStats stats, String tag) {
+        Long count = stats.getTagRecords().get(tag);
+        return count != null ? count : 0;
+    }
+}
@@ -0,0 +1,178 @@
+package com.richie.easylog;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLog;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 长消息按 logcat 的字节上限分段，用 Robolectric 的 ShadowLog 取得每次输出。每个测试使用不同的 tag
+ * Long messages are split under the byte limit of logcat, each print is captured by ShadowLog of Robolectric.
+ * Every test uses its own tag
+ *
+ * @author Richie on 2026.10.17
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class LogcatChunkTest {
+    /**
+     * 与 LoggerUtils.MAX_LOGCAT_BYTES 相同
+     * same as LoggerUtils.MAX_LOGCAT_BYTES
+     */
+    private static final int MAX_LOGCAT_BYTES = 4000;
+    private String mHeader;
+
+    @Before
+    public void setUp() {
+        LoggerFactory.init(new LoggerConfig.Builder()
+                .context(new ContextWrapper(null) {
+                    @Override
+                    public Context getApplicationContext() {
+                        return this;
+                    }
+                })
+                .logcatEnabled(true)
+                .logFileEnabled(false)
+                .callerInfoEnabled(false)
+                .logLevel(LoggerConfig.VERBOSE)
+                .build());
+        mHeader = "[" + Thread.currentThread().getName() + "] ";
+    }
+
+    @Test
+    public void shortMessageIsNotSplit() {
+        LoggerFactory.getLogger("Short").info("short message");
+        List<ShadowLog.LogItem> items = ShadowLog.getLogsForTag("Short");
+        assertEquals(1, items.size());
+        assertEquals(mHeader + "short message", items.get(0).msg);
+    }
+
+    @Test
+    public void multiByteBody() {
+        String body = repeat("日志abc", 2000);
+        LoggerFactory.getLogger("MultiByte").info(body);
+        assertEquals(body, join(chunks("MultiByte"), ""));
+    }
+
+    /**
+     * 分段不会拆开代理对
+     * A split never falls inside a surrogate pair
+     */
+    @Test
+    public void surrogatePairs() {
+        String body = "a" + repeat("😀", 3000);
+        LoggerFactory.getLogger("Surrogate").info(body);
+        List<String> parts = chunks("Surrogate");
+        for (String part : parts) {
+            assertFalse(Character.isLowSurrogate(part.charAt(0)));
+            assertFalse(Character.isHighSurrogate(part.charAt(part.length() - 1)));
+        }
+        assertEquals(body, join(parts, ""));
+    }
+
+    @Test
+    public void longLineWithoutBreaks() {
+        String body = repeat("0123456789", 1000);
+        LoggerFactory.getLogger("LongLine").info(body);
+        List<String> parts = chunks("LongLine");
+        assertEquals(3, parts.size());
+        assertEquals(body, join(parts, ""));
+    }
+
+    /**
+     * 后半段有换行时在换行处断开，换行本身不输出
+     * A chunk ends at a line break in its second half, the line break itself is not printed
+     */
+    @Test
+    public void prefersLineBreaks() {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            if (i > 0) {
+                body.append('\n');
+            }
+            body.append("line ").append(i).append(' ').append(repeat("-", 50));
+        }
+        LoggerFactory.getLogger("Lines").info(body.toString());
+        List<String> parts = chunks("Lines");
+        assertTrue(parts.size() > 1);
+        for (String part : parts) {
+            assertTrue(part, part.startsWith("line "));
+            assertTrue(part, part.endsWith("-"));
+        }
+        assertEquals(body.toString(), join(parts, "\n"));
+    }
+
+    /**
+     * 堆栈随消息一起分段，只输出一次，不作为 Throwable 交给 Log
+     * The stack trace is split along with the message and printed once, it's not passed to Log as a Throwable
+     */
+    @Test
+    public void stackTraceIsAttachedOnce() {
+        Exception exception = deep(300);
+        LoggerFactory.getLogger("Trace").error("request failed", exception);
+        for (ShadowLog.LogItem item : ShadowLog.getLogsForTag("Trace")) {
+            assertNull(item.throwable);
+        }
+        String text = join(chunks("Trace"), "");
+        String first = "java.lang.IllegalStateException: deep";
+        assertEquals(text.indexOf(first), text.lastIndexOf(first));
+        assertTrue(text, text.startsWith("request failed\n" + first + "\n"));
+        StackTraceElement[] frames = exception.getStackTrace();
+        assertTrue(text, text.contains("\tat " + frames[frames.length - 1] + "\n"));
+    }
+
+    /**
+     * 取出 tag 的所有分段，检查字节上限和序号，返回去掉头部和序号后的内容
+     * Take all chunks of the tag, check the byte limit and index, return their content without header and index
+     */
+    private List<String> chunks(String tag) {
+        List<ShadowLog.LogItem> items = ShadowLog.getLogsForTag(tag);
+        assertTrue(items.size() > 1);
+        List<String> parts = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            String message = items.get(i).msg;
+            assertTrue(message.getBytes(LogFileSink.UTF_8).length + " bytes",
+                    message.getBytes(LogFileSink.UTF_8).length <= MAX_LOGCAT_BYTES);
+            String prefix = mHeader + "********(" + (i + 1) + ")********";
+            assertTrue(message, message.startsWith(prefix));
+            parts.add(message.substring(prefix.length()));
+        }
+        return parts;
+    }
+
+    private static String join(List<String> parts, String separator) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < parts.size(); i++) {
+            if (i > 0) {
+                sb.append(separator);
+            }
+            sb.append(parts.get(i));
+        }
+        return sb.toString();
+    }
+
+    private static String repeat(String text, int count) {
+        StringBuilder sb = new StringBuilder(text.length() * count);
+        for (int i = 0; i < count; i++) {
+            sb.append(text);
+        }
+        return sb.toString();
+    }
+
+    private static Exception deep(int depth) {
+        return depth == 0 ? new IllegalStateException("deep") : deep(depth - 1);
+    }
+}
@@ -0,0 +1,110 @@
+package com.richie.easylog;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 内存映射输出的落盘和恢复。进程被杀用不关闭的输出模拟，映射缓冲中的数据由内核写入缓冲文件
+ * Draining and recovery of the mapped sink. A killed process is simulated by a sink which is never closed, the
+ * mapped data reaches the buffer file through the kernel
+ *
+ * @author Richie on 2026.10.17
+ */
+public class MappedFileSinkTest {
+    private static final int BUFFER_SIZE = LogFileSink.MIN_BUFFER_SIZE;
+    @Rule
+    public TemporaryFolder mFolder = new TemporaryFolder();
+    private File mBufferFile;
+    private File mLogFile;
+
+    @Before
+    public void setUp() {
+        mBufferFile = new File(mFolder.getRoot(), MappedFileSink.BUFFER_FILE_NAME);
+        mLogFile = new File(mFolder.getRoot(), "app.log");
+    }
+
+    @Test
+    public void recoversUnflushedTail() throws IOException {
+        MappedFileSink sink = new MappedFileSink(mBufferFile, mLogFile, BUFFER_SIZE);
+        sink.write("flushed\n");
+        sink.flush();
+        sink.write("日志 not flushed\n");
+        assertEquals("flushed\n", read(mLogFile));
+
+        MappedFileSink.recover(mBufferFile);
+        assertEquals("flushed\n日志 not flushed\n", read(mLogFile));
+        // 恢复后位置清零，不会重复追加
+        MappedFileSink.recover(mBufferFile);
+        assertEquals("flushed\n日志 not flushed\n", read(mLogFile));
+    }
+
+    /**
+     * 新进程打开输出时，先把上次的数据追加到上次的日志文件
+     * When the next process opens the sink, data of last process goes to its own log file first
+     */
+    @Test
+    public void recoversIntoPreviousLogFile() throws IOException {
+        MappedFileSink killed = new MappedFileSink(mBufferFile, mLogFile, BUFFER_SIZE);
+        killed.write("last process\n");
+
+        File newLogFile = new File(mFolder.getRoot(), "app_2.log");
+        MappedFileSink sink = new MappedFileSink(mBufferFile, newLogFile, BUFFER_SIZE);
+        sink.write("this process\n");
+        sink.close();
+
+        assertEquals("last process\n", read(mLogFile));
+        assertEquals("this process\n", read(newLogFile));
+    }
+
+    @Test
+    public void drainsWhenBufferIsFull() throws IOException {
+        StringBuilder expected = new StringBuilder();
+        MappedFileSink sink = new MappedFileSink(mBufferFile, mLogFile, BUFFER_SIZE);
+        for (int i = 0; i < 1000; i++) {
+            String line = "line " + i + '\n';
+            sink.write(line);
+            expected.append(line);
+        }
+        byte[] binary = new byte[BUFFER_SIZE * 2 + 1];
+        for (int i = 0; i < binary.length; i++) {
+            binary[i] = 'b';
+            expected.append('b');
+        }
+        sink.write(binary, 0, binary.length);
+        sink.close();
+
+        assertEquals(expected.toString(), read(mLogFile));
+        assertEquals(expected.length(), sink.takeDrainedBytes());
+    }
+
+    @Test
+    public void ignoresForeignBufferFile() throws IOException {
+        FileOutputStream fos = new FileOutputStream(mBufferFile);
+        fos.write(new byte[BUFFER_SIZE]);
+        fos.close();
+
+        MappedFileSink.recover(mBufferFile);
+        MappedFileSink.recover(new File(mFolder.getRoot(), "missing.mmap"));
+        assertEquals(1, mFolder.getRoot().list().length);
+    }
+
+    private static String read(File file) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            byte[] data = new byte[(int) raf.length()];
+            raf.readFully(data);
+            return new String(data, LogFileSink.UTF_8);
+        } finally {
+            raf.close();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.richie.easylog;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 占位符和转义的渲染结果与 SLF4J 的 MessageFormatter 一致
+ * Rendering of placeholders and escapes matches MessageFormatter of SLF4J
+ *
+ * @author Richie on 2026.10.17
+ */
+public class MessageTemplateTest {
+
+    @Test
+    public void placeholders() {
+        assertEquals("a 1 b 2", render("a {} b {}", 1, 2));
+        assertEquals("12", render("{}{}", 1, 2));
+        assertEquals("no placeholder", render("no placeholder", 1));
+        assertEquals("", render("", 1));
+    }
+
+    @Test
+    public void missingAndExtraParams() {
+        assertEquals("a 1 b {}", render("a {} b {}", 1));
+        assertEquals("a 1", render("a {}", 1, 2));
+        assertEquals("a null b null", render("a {} b {}", (Object[]) null));
+        assertEquals("a null", render("a {}", (Object) null));
+    }
+
+    @Test
+    public void escapedPlaceholder() {
+        assertEquals("a {} b 1", render("a \\{} b {}", 1));
+        assertEquals("{}", render("\\{}", 1));
+        assertEquals("\\ a", render("\\ {}", "a"));
+    }
+
+    @Test
+    public void escapedBackslash() {
+        assertEquals("a \\1", render("a \\\\{}", 1));
+        assertEquals("a \\\\1", render("a \\\\\\{}", 1));
+        assertEquals("a {} b \\1 c 2", render("a \\{} b \\\\{} c {}", 1, 2));
+    }
+
+    @Test
+    public void placeholderCount() {
+        assertEquals(2, MessageTemplate.get("a \\{} b \\\\{} c {}").getPlaceholderCount());
+        assertEquals(0, MessageTemplate.get("\\{}").getPlaceholderCount());
+    }
+
+    /**
+     * 缓存按引用匹配，内容相同的不同字符串得到相同结果
+     * Cache matches by identity, equal strings of different instances render the same
+     */
+    @Test
+    public void equalFormatsOfDifferentInstances() {
+        String format = "value {}";
+        String copy = new String(format);
+        assertEquals("value 1", render(format, 1));
+        assertEquals("value 2", render(copy, 2));
+        assertEquals("value 3", render(format, 3));
+    }
+
+    private static String render(String format, Object... params) {
+        StringBuilder sb = new StringBuilder();
+        MessageTemplate.get(format).render(sb, params, MessageTemplate.PLAIN_APPENDER);
+        return sb.toString();
+    }
+}
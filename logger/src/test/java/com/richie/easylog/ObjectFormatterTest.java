@@ -0,0 +1,79 @@
+package com.richie.easylog;
+
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 参数输出的元素数、字节数和单个参数长度的截断
+ * Truncation of param output by element count, byte count and length per param
+ *
+ * @author Richie on 2026.10.17
+ */
+public class ObjectFormatterTest {
+
+    @Test
+    public void arrays() {
+        ObjectFormatter formatter = formatter(3, 1024);
+        assertEquals("[1, 2, 3 ... (2 more)]", append(formatter, new int[]{1, 2, 3, 4, 5}));
+        ObjectFormatter shallow = new ObjectFormatter(8, 2, 8, 1024, LoggerConfig.BYTES_FORMAT_DECIMAL,
+                Collections.<Class<?>, ObjectRenderer<?>>emptyMap());
+        assertEquals("[[1], [[...]]]", append(shallow, new Object[]{new int[]{1}, new Object[]{new int[]{2}}}));
+        assertEquals("byte[4]{0a0b0c ... (1 more)}", append(formatter, new byte[]{10, 11, 12, 13}));
+    }
+
+    /**
+     * 单个参数超过长度上限时截断，字符串不受限制
+     * A param longer than the length limit is truncated, strings are not limited
+     */
+    @Test
+    public void maxLength() {
+        ObjectFormatter formatter = formatter(1024, 10);
+        Object longObject = new Object() {
+            @Override
+            public String toString() {
+                return "0123456789abcdef";
+            }
+        };
+        assertEquals("0123456789 ... (6 more)", append(formatter, longObject));
+        assertEquals("0123456789abcdef", append(formatter, "0123456789abcdef"));
+        assertEquals("012345678 ... (3 more)", append(formatter, new StringBuilder("012345678😀x")));
+        assertEquals("0123456789", append(formatter, new StringBuilder("0123456789")));
+    }
+
+    /**
+     * 数组达到长度上限后不再输出后续元素
+     * An array stops rendering elements once the length limit is reached
+     */
+    @Test
+    public void maxLengthStopsArray() {
+        ObjectFormatter formatter = formatter(1024, 8);
+        final int[] rendered = new int[1];
+        Object element = new Object() {
+            @Override
+            public String toString() {
+                rendered[0]++;
+                return "item";
+            }
+        };
+        Object[] array = new Object[100];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = element;
+        }
+        assertEquals("[item, i ... (", append(formatter, array).substring(0, 14));
+        assertEquals(2, rendered[0]);
+    }
+
+    private static ObjectFormatter formatter(int maxElements, int maxLength) {
+        return new ObjectFormatter(maxElements, 8, 3, maxLength, LoggerConfig.BYTES_FORMAT_HEX,
+                Collections.<Class<?>, ObjectRenderer<?>>emptyMap());
+    }
+
+    private static String append(ObjectFormatter formatter, Object param) {
+        StringBuilder sb = new StringBuilder("prefix ");
+        formatter.append(sb, param);
+        return sb.substring("prefix ".length());
+    }
+}
@@ -0,0 +1,97 @@
+package com.richie.easylog;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 环形缓冲只保留最近的日志，按时间顺序写出并覆盖目标文件
+ * The ring buffer keeps the latest records only, and dumps them in order overwriting the target file
+ *
+ * @author Richie on 2026.10.17
+ */
+public class RingBufferAppenderTest {
+    @Rule
+    public TemporaryFolder mFolder = new TemporaryFolder();
+    private File mDumpFile;
+
+    @Before
+    public void setUp() {
+        LoggerFactory.init(new LoggerConfig.Builder()
+                .context(new ContextWrapper(null) {
+                    @Override
+                    public Context getApplicationContext() {
+                        return this;
+                    }
+                })
+                .logcatEnabled(false)
+                .build());
+        mDumpFile = new File(mFolder.getRoot(), "crash/crash.log");
+    }
+
+    @Test
+    public void dumpsLatestRecordsInOrder() throws IOException {
+        RingBufferAppender ringBuffer = new RingBufferAppender(3, mDumpFile);
+        for (int i = 1; i <= 5; i++) {
+            ringBuffer.record(event("record " + i));
+        }
+        String dump = read(ringBuffer.dump());
+        assertFalse(dump, dump.contains("record 2"));
+        int third = dump.indexOf("record 3");
+        int fourth = dump.indexOf("record 4");
+        int fifth = dump.indexOf("record 5");
+        assertTrue(dump, 0 < third && third < fourth && fourth < fifth);
+
+        // 再次写出覆盖原有内容
+        ringBuffer.record(event("日志 6 😀"));
+        String again = read(ringBuffer.dump());
+        assertEquals(again.indexOf("record 4"), again.lastIndexOf("record 4"));
+        assertTrue(again, again.contains("日志 6 😀"));
+        assertFalse(again, again.contains("record 3"));
+    }
+
+    /**
+     * 超过写出缓冲区大小的日志也完整写出
+     * Records larger than the dump buffer are written in full
+     */
+    @Test
+    public void dumpsRecordsLargerThanBuffer() throws IOException {
+        RingBufferAppender ringBuffer = new RingBufferAppender(4, mDumpFile);
+        StringBuilder message = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            message.append("数据").append(i);
+        }
+        ringBuffer.record(event(message.toString()));
+        ringBuffer.record(event("tail"));
+        String dump = read(ringBuffer.dump());
+        assertTrue(dump.contains(message));
+        assertTrue(dump, dump.indexOf("tail") > dump.indexOf(message.toString()));
+    }
+
+    private static LogEvent event(String message) {
+        return new LogEvent(LoggerConfig.INFO, "Ring", System.currentTimeMillis(), "main", 1, message, null);
+    }
+
+    private static String read(File file) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            byte[] data = new byte[(int) raf.length()];
+            raf.readFully(data);
+            return new String(data, LogFileSink.UTF_8);
+        } finally {
+            raf.close();
+        }
+    }
+}
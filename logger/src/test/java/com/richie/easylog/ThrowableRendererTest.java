@@ -0,0 +1,145 @@
+package com.richie.easylog;
+
+import android.util.Log;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.IOException;
+import java.net.UnknownHostException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 堆栈渲染的格式和指纹。同一位置创建的异常帧相同，指纹也应相同。使用 Robolectric 的 SDK 版本以输出 Suppressed
+ * Layout and fingerprint of rendered stack traces. Throwables created at the same place have the same frames and
+ * should get the same fingerprint. Runs with the SDK version of Robolectric so that suppressed exceptions are
+ * rendered
+ *
+ * @author Richie on 2026.10.17
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class ThrowableRendererTest {
+    private static final int UNLIMITED = Integer.MAX_VALUE;
+
+    /**
+     * 原因和 Suppressed 的格式、与外层相同的帧省略都与 Log.getStackTraceString 一致
+     * Causes, suppressed exceptions and elision of common frames match Log.getStackTraceString
+     */
+    @Test
+    public void matchesLogStackTraceString() {
+        Exception exception = nested("request failed", 3);
+        exception.addSuppressed(nested("close failed", 2));
+
+        ThrowableRenderer.Trace trace = ThrowableRenderer.render(exception, UNLIMITED, UNLIMITED);
+        assertEquals(Log.getStackTraceString(exception), trace.text);
+        assertTrue(trace.text, trace.text.contains("\n\tSuppressed: java.lang.IllegalStateException: close failed\n"));
+        assertTrue(trace.text, trace.text.contains("\n\tCaused by: java.io.IOException: close failed 1\n"));
+    }
+
+    @Test
+    public void fingerprintIsStableAcrossInstances() {
+        long[] fingerprints = new long[2];
+        for (int i = 0; i < fingerprints.length; i++) {
+            fingerprints[i] = ThrowableRenderer.render(nested("failed", 2), UNLIMITED, UNLIMITED).fingerprint;
+        }
+        assertEquals(fingerprints[0], fingerprints[1]);
+
+        long otherMessage = ThrowableRenderer.render(nested("other", 2), UNLIMITED, UNLIMITED).fingerprint;
+        assertNotEquals(fingerprints[0], otherMessage);
+    }
+
+    @Test
+    public void suppressedChangesFingerprint() {
+        Exception[] exceptions = new Exception[2];
+        for (int i = 0; i < exceptions.length; i++) {
+            exceptions[i] = nested("failed", 1);
+        }
+        exceptions[1].addSuppressed(new IOException("close failed"));
+        assertNotEquals(ThrowableRenderer.render(exceptions[0], UNLIMITED, UNLIMITED).fingerprint,
+                ThrowableRenderer.render(exceptions[1], UNLIMITED, UNLIMITED).fingerprint);
+    }
+
+    @Test
+    public void maxFrames() {
+        Exception exception = nested("failed", 1);
+        int frames = exception.getStackTrace().length;
+        String text = ThrowableRenderer.render(exception, 2, UNLIMITED).text;
+
+        String[] lines = text.split("\n");
+        assertEquals("java.lang.IllegalStateException: failed", lines[0]);
+        assertTrue(lines[1], lines[1].startsWith("\tat "));
+        assertTrue(lines[2], lines[2].startsWith("\tat "));
+        assertEquals("\t... " + (frames - 2) + " more", lines[3]);
+        assertEquals("Caused by: java.io.IOException: failed 1", lines[4]);
+    }
+
+    /**
+     * 截断的原因用常量标记参与指纹，截断部分不同的异常指纹相同
+     * Truncated causes take part in the fingerprint as a constant marker, so throwables differing only in the
+     * truncated part get the same fingerprint
+     */
+    @Test
+    public void maxCauses() {
+        ThrowableRenderer.Trace[] traces = new ThrowableRenderer.Trace[2];
+        for (int i = 0; i < traces.length; i++) {
+            Exception truncated = cause("truncated " + i, null);
+            traces[i] = ThrowableRenderer.render(new IllegalStateException("failed", cause("kept", truncated)),
+                    UNLIMITED, 1);
+        }
+        String text = traces[0].text;
+        assertTrue(text, text.contains("\nCaused by: java.io.IOException: kept\n"));
+        assertTrue(text, !text.contains("truncated"));
+        assertTrue(text, text.endsWith("\n\t... more causes omitted\n"));
+        assertEquals(traces[0].fingerprint, traces[1].fingerprint);
+
+        assertEquals("java.lang.IllegalStateException: failed\n",
+                ThrowableRenderer.render(nested("failed", 1), 0, 0).text.split("\t")[0]);
+    }
+
+    @Test
+    public void circularCauses() {
+        long[] fingerprints = new long[2];
+        String text = null;
+        for (int i = 0; i < fingerprints.length; i++) {
+            IOException first = new IOException("first");
+            IOException second = new IOException("second", first);
+            first.initCause(second);
+            ThrowableRenderer.Trace trace = ThrowableRenderer.render(first, 1, UNLIMITED);
+            fingerprints[i] = trace.fingerprint;
+            text = trace.text;
+        }
+        assertEquals(fingerprints[0], fingerprints[1]);
+        assertTrue(text, text.startsWith("java.io.IOException: first\n"));
+        assertTrue(text, text.contains("\nCaused by: java.io.IOException: second\n"));
+        assertTrue(text, text.endsWith("\n\t[CIRCULAR REFERENCE: java.io.IOException: first]\n"));
+    }
+
+    @Test
+    public void unknownHostIsEmpty() {
+        ThrowableRenderer.Trace trace = ThrowableRenderer.render(
+                new IOException("request failed", new UnknownHostException("example.com")), UNLIMITED, UNLIMITED);
+        assertTrue(trace.isEmpty());
+    }
+
+    /**
+     * 创建 depth 层的原因链，最内层的原因最先创建
+     * Create a cause chain of depth levels, the innermost cause is created first
+     */
+    private static Exception nested(String message, int depth) {
+        Exception cause = null;
+        for (int i = 1; i <= depth; i++) {
+            cause = cause(message + " " + i, cause);
+        }
+        return new IllegalStateException(message, cause);
+    }
+
+    private static Exception cause(String message, Exception cause) {
+        return new IOException(message, cause);
+    }
+}
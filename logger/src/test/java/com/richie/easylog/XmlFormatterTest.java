@@ -0,0 +1,75 @@
+package com.richie.easylog;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * XML 缩进，使用 Robolectric 提供的 Android 解析器
+ * XML indenting with the Android parser provided by Robolectric
+ *
+ * @author Richie on 2026.10.17
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class XmlFormatterTest {
+    private static final int MAX_LENGTH = 10000;
+    private static final int MAX_DEPTH = 10;
+
+    /**
+     * 前缀和命名空间声明按原样输出
+     * Prefixes and namespace declarations are kept as is
+     */
+    @Test
+    public void soapEnvelope() {
+        String xml = "<?xml version=\"1.0\" encoding=\"utf-8\"?>"
+                + "<soap:Envelope xmlns:soap=\"http://www.w3.org/2003/05/soap-envelope\" xmlns:m=\"http://example.com/stock\">"
+                + "<soap:Header/>"
+                + "<soap:Body><m:GetPrice m:unit=\"usd\"><m:Item>Apple</m:Item></m:GetPrice></soap:Body>"
+                + "</soap:Envelope>";
+        assertEquals("XML:"
+                        + "\n<?xml version=\"1.0\" encoding=\"utf-8\"?>"
+                        + "\n<soap:Envelope xmlns:soap=\"http://www.w3.org/2003/05/soap-envelope\" xmlns:m=\"http://example.com/stock\">"
+                        + "\n  <soap:Header/>"
+                        + "\n  <soap:Body>"
+                        + "\n    <m:GetPrice m:unit=\"usd\">"
+                        + "\n      <m:Item>Apple</m:Item>"
+                        + "\n    </m:GetPrice>"
+                        + "\n  </soap:Body>"
+                        + "\n</soap:Envelope>",
+                XmlFormatter.format(xml, MAX_LENGTH, MAX_DEPTH));
+    }
+
+    @Test
+    public void nodesAndEscapes() {
+        String xml = "<note id=\"a&amp;b\"><!--comment--><to>Tove &lt;3</to><![CDATA[<raw>]]></note>";
+        assertEquals("XML:"
+                        + "\n<note id=\"a&amp;b\">"
+                        + "\n  <!--comment-->"
+                        + "\n  <to>Tove &lt;3</to><![CDATA[<raw>]]></note>",
+                XmlFormatter.format(xml, MAX_LENGTH, MAX_DEPTH));
+    }
+
+    @Test
+    public void collapsesDeepElements() {
+        assertEquals("XML:\n<a>\n  <b>\n    <c>...</c>\n  </b>\n</a>",
+                XmlFormatter.format("<a><b><c><d>text</d></c></b></a>", MAX_LENGTH, 2));
+    }
+
+    @Test
+    public void truncatesLongOutput() {
+        String formatted = XmlFormatter.format("<a><b>0123456789</b></a>", 12, MAX_DEPTH);
+        assertEquals("XML:\n<a>\n  <\n********(truncated, max length 12)********", formatted);
+    }
+
+    @Test
+    public void invalidXml() {
+        String formatted = XmlFormatter.format("<a><b></a>", MAX_LENGTH, MAX_DEPTH);
+        assertTrue(formatted, formatted.startsWith("Invalid XML: "));
+        assertTrue(formatted, formatted.endsWith("\n<a><b></a>"));
+    }
+}